@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Starts the server with the given command and reports the time from launch until the first
+# MCP tool call over SSE has returned. Runs entirely on localhost.
+#
+#   scripts/time-to-first-tool-call.sh java -jar target/mcp-server-0.0.1-SNAPSHOT.jar
+#   scripts/time-to-first-tool-call.sh java -XX:SharedArchiveFile=target/app/application.jsa \
+#       -Dspring.aot.enabled=true -jar target/app/mcp-server-0.0.1-SNAPSHOT.jar
+#   scripts/time-to-first-tool-call.sh target/mcp-server
+set -euo pipefail
+
+if [ $# -eq 0 ]; then
+  echo "usage: $0 <command that starts the server>" >&2
+  exit 2
+fi
+
+PORT=${SERVER_PORT:-18081}
+BASE="http://localhost:${PORT}"
+STREAM=$(mktemp)
+trap 'kill "${SERVER_PID:-}" "${SSE_PID:-}" 2>/dev/null || true; rm -f "$STREAM"' EXIT
+
+millis() { date +%s%3N; }
+
+START=$(millis)
+SERVER_PORT=$PORT AUDIT_DIR=${AUDIT_DIR:-$(mktemp -d)} "$@" > "${SERVER_LOG:-/dev/null}" 2>&1 &
+SERVER_PID=$!
+
+# Connect the SSE stream as soon as the port accepts connections
+until grep -q '^event:endpoint' "$STREAM" 2>/dev/null; do
+  kill -0 "$SERVER_PID" 2>/dev/null || { echo "server exited before accepting connections" >&2; exit 1; }
+  if [ -z "${SSE_PID:-}" ] || ! kill -0 "$SSE_PID" 2>/dev/null; then
+    curl -sN "${BASE}/sse" > "$STREAM" 2>/dev/null &
+    SSE_PID=$!
+  fi
+  sleep 0.01
+done
+CONNECTED=$(millis)
+ENDPOINT=$(grep -A1 '^event:endpoint' "$STREAM" | sed -n 's/^data://p' | head -1 | tr -d '\r')
+
+post() {
+  curl -s -o /dev/null -H 'Content-Type: application/json' -d "$1" "${BASE}${ENDPOINT}"
+}
+post '{"jsonrpc":"2.0","id":1,"method":"initialize","params":{"protocolVersion":"2024-11-05","capabilities":{},"clientInfo":{"name":"startup-probe","version":"1.0"}}}'
+post '{"jsonrpc":"2.0","method":"notifications/initialized"}'
+post '{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"getAccounts","arguments":{"accountsRequest":{"customerId":"Aman"}}}}'
+
+until grep -q '"id":2' "$STREAM"; do
+  sleep 0.005
+done
+END=$(millis)
+
+echo "sse connected after $((CONNECTED - START)) ms, first tool call returned after $((END - START)) ms"
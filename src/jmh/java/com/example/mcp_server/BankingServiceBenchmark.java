@@ -0,0 +1,91 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.GetFinancialOverviewResponse;
+import com.example.mcp_server.BankingService.ValidationResult;
+import com.example.mcp_server.EnhancedBankingRecords.CompleteRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.InitiateRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceExecutionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link BankingService}. The tool methods are measured end to end, including the
+ * hop to the tool scheduler; the helpers are called directly. Run with
+ * {@code ./mvnw -Pjmh test-compile exec:exec} (GC profiler on by default).
+ * {@code initiateRemittance} leaves state behind on every call, so it has its own
+ * {@link RemittanceInitiationBenchmark}. The price feed runs, so the overview is read while
+ * portfolios are being revalued.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BankingServiceBenchmark {
+
+    private static final String PENDING_KYC_TRANSACTION = "REMBENCH-KYC";
+
+    private ConfigurableApplicationContext context;
+    private BankingService bankingService;
+
+    // International transfer for a BASIC-KYC customer: stays pending until KYC is done
+    private final InitiateRemittanceRequest internationalTransfer = new InitiateRemittanceRequest(
+            "Aman", "ACC001", "Ravi Bhatt", "India", "SBI", "IN12345678901234",
+            new BigDecimal("2500"), "USD", "Family Support", "Brother");
+    private final CompleteRemittanceRequest completePendingKyc = new CompleteRemittanceRequest(PENDING_KYC_TRANSACTION, "Aman");
+    private final BigDecimal feeAmount = new BigDecimal("12500.00");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("app.investments.price-feed.enabled=true");
+        bankingService = context.getBean(BankingService.class);
+        // completeRemittance on this transaction re-validates and leaves it pending, so every
+        // invocation takes the same path
+        bankingService.validateRemittance(PENDING_KYC_TRANSACTION, internationalTransfer);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RemittanceExecutionResponse completeRemittance() {
+        return bankingService.completeRemittance(completePendingKyc, null).block();
+    }
+
+    @Benchmark
+    public ValidationResult validateTransaction() {
+        return bankingService.validateTransaction("Aman", PENDING_KYC_TRANSACTION, "NEEDS_KYC");
+    }
+
+    @Benchmark
+    public BigDecimal calculateRemittanceFees() {
+        return bankingService.calculateRemittanceFees(feeAmount, "USD");
+    }
+
+    @Benchmark
+    public BigDecimal getExchangeRate() {
+        return bankingService.getExchangeRate("USD", "EUR");
+    }
+
+    @Benchmark
+    public GetFinancialOverviewResponse getFinancialOverview() {
+        return bankingService.getFinancialOverview("Aman", null).block();
+    }
+}
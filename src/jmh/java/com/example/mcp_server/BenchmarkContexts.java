@@ -0,0 +1,32 @@
+package com.example.mcp_server;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.Stream;
+
+/**
+ * Boots the application once per benchmark fork, without the web server, MCP transport or
+ * audit writer, so only the service code under test is measured.
+ */
+final class BenchmarkContexts {
+
+    // Passed as command-line arguments: default properties would lose to application.yml
+    private static final String[] SETTINGS = {
+            "spring.main.web-application-type=none",
+            "spring.ai.mcp.server.enabled=false",
+            "app.audit.enabled=false",
+            "spring.main.banner-mode=off",
+            "logging.level.root=WARN"
+    };
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        String[] args = Stream.concat(Stream.of(SETTINGS), Stream.of(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(McpServerApplication.class).run(args);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.custom.CachingJwtDecoder;
+import com.example.mcp_server.custom.RefreshingJwkSetSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of bearer token verification: a full RS256 signature check and claim
+ * validation against the (already fetched) JWK set, versus a token served from
+ * {@link CachingJwtDecoder}. Keys come from a {@link JwtIssuerStub} on localhost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecodingBenchmark {
+
+    private RefreshingJwkSetSource jwkSetSource;
+    private ReactiveJwtDecoder uncached;
+    private ReactiveJwtDecoder cached;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtIssuerStub issuer = JwtIssuerStub.get();
+        jwkSetSource = new RefreshingJwkSetSource(WebClient.create(), issuer.jwkSetUri(),
+                Duration.ofMinutes(5), Duration.ofSeconds(30));
+        jwkSetSource.start();
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withJwkSource(jwkSetSource).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(JwtIssuerStub.ISSUER));
+        uncached = decoder;
+        cached = new CachingJwtDecoder(decoder, Duration.ofMinutes(10), 10_000);
+        token = issuer.token("Aman", BankingService.ROLE_ACCOUNTS_READ, BankingService.ROLE_PAYMENTS);
+        // Fetches the key set before measuring
+        uncached.decode(token).block(Duration.ofSeconds(10));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jwkSetSource.stop();
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return uncached.decode(token).block();
+    }
+
+    @Benchmark
+    public Jwt cached() {
+        return cached.decode(token).block();
+    }
+}
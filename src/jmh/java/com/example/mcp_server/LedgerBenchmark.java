@@ -0,0 +1,70 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.Ledger.Leg;
+import com.example.mcp_server.Ledger.Shortfall;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Posting a currency conversion journal, each benchmark thread converting for its own
+ * customer through the shared FX position and fee accounts. Run with {@code -t 1}, {@code -t 4},
+ * ... to see how throughput scales with cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedLedger {
+
+        final Ledger ledger = new Ledger(1000, new SimpleMeterRegistry());
+        final AtomicInteger customers = new AtomicInteger();
+    }
+
+    @State(Scope.Thread)
+    public static class Customer {
+
+        List<Leg> toUsd;
+        List<Leg> toAed;
+        boolean flip;
+
+        @Setup(Level.Trial)
+        public void setUp(SharedLedger shared) {
+            Ledger ledger = shared.ledger;
+            int customer = shared.customers.incrementAndGet();
+            String aed = "ACCAED_" + customer;
+            String usd = "ACCUSD_" + customer;
+            ledger.openAccount(aed, "AED", 1_000_000_00, 0, 0);
+            ledger.openAccount(usd, "USD", 1_000_000_00, 0, 0);
+            String aedPosition = ledger.houseAccount(Ledger.FX_POSITION, "AED");
+            String usdPosition = ledger.houseAccount(Ledger.FX_POSITION, "USD");
+            toUsd = List.of(Leg.debit(aed, 367_50), Leg.credit(aedPosition, 365_66), Leg.credit(Ledger.FEE_INCOME, 1_84),
+                    Leg.debit(usdPosition, 99_50), Leg.credit(usd, 99_50));
+            toAed = List.of(Leg.debit(usd, 100_00), Leg.credit(usdPosition, 100_00),
+                    Leg.debit(aedPosition, 367_50), Leg.credit(aed, 367_50));
+        }
+    }
+
+    @Benchmark
+    public Shortfall convert(SharedLedger shared, Customer customer) {
+        customer.flip = !customer.flip;
+        return shared.ledger.post("FX", "Conversion", customer.flip ? customer.toUsd : customer.toAed);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.PortfolioValuation.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code positions} positions over 100,000 portfolios and 2,000 instruments: applying a price
+ * tick (about 500 portfolios hold each instrument), and reading one portfolio's totals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PortfolioValuationBenchmark {
+
+    private static final int PORTFOLIOS = 100_000;
+    private static final int INSTRUMENTS = 2_000;
+
+    @Param({"1000000"})
+    public int positions;
+
+    private final PortfolioValuation valuation = new PortfolioValuation();
+    private final String[] symbols = new String[INSTRUMENTS];
+    private final String[] customers = new String[PORTFOLIOS];
+    private BigDecimal[] prices;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < INSTRUMENTS; i++) {
+            symbols[i] = "SYM" + i;
+            valuation.listInstrument(symbols[i], new BigDecimal("25.00"));
+        }
+        for (int i = 0; i < PORTFOLIOS; i++) {
+            customers[i] = "C" + i;
+        }
+        BigDecimal quantity = new BigDecimal("100");
+        BigDecimal purchasePrice = new BigDecimal("24.00");
+        LocalDate purchased = LocalDate.of(2023, 1, 1);
+        Random random = new Random(42);
+        for (int i = 0; i < positions; i++) {
+            String symbol = symbols[random.nextInt(INSTRUMENTS)];
+            valuation.addPosition(customers[i % PORTFOLIOS], new Position("INV" + i, "STOCK", symbol, symbol,
+                    quantity, purchasePrice, purchased, "MEDIUM"));
+        }
+        prices = new BigDecimal[1_000];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = BigDecimal.valueOf(2_000 + i, 2);
+        }
+    }
+
+    @Benchmark
+    public void tick() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        valuation.updatePrice(symbols[random.nextInt(INSTRUMENTS)], prices[random.nextInt(prices.length)]);
+    }
+
+    @Benchmark
+    public PortfolioValuation.Totals totals() {
+        return valuation.totals(customers[ThreadLocalRandom.current().nextInt(PORTFOLIOS)]);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.ScreeningIndex.Entry;
+import com.example.mcp_server.ScreeningIndex.Match;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recipient screening against a synthetic watch list of {@code names} two- to four-word names
+ * built from random syllables: a clear name, an exact hit inside a longer name, and a hit
+ * with a typo in each of two tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RecipientScreeningBenchmark {
+
+    private static final String[] SYLLABLES = {"ka", "ri", "mo", "ten", "sa", "vel", "dor", "an", "li", "bro",
+            "ste", "fa", "nu", "gor", "hal", "ze", "qui", "pa", "ron", "mi", "tav", "es", "ul", "wen"};
+
+    @Param("1000000")
+    public int names;
+
+    private ScreeningIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Entry> entries = new ArrayList<>(names + 1);
+        for (int i = 0; i < names; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int word = 2 + random.nextInt(3); word > 0; word--) {
+                for (int syllable = 2 + random.nextInt(2); syllable > 0; syllable--) {
+                    name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                }
+                name.append(' ');
+            }
+            entries.add(new Entry(name.toString(), null));
+        }
+        entries.add(new Entry("Viktor Blackwood", "Russia"));
+        index = ScreeningIndex.build(entries, 4);
+    }
+
+    @Benchmark
+    public Match clear() {
+        return index.screen("Jane Catherine Doe", "Russia");
+    }
+
+    @Benchmark
+    public Match exact() {
+        return index.screen("Mr Viktor Blackwood Jr", "Russia");
+    }
+
+    @Benchmark
+    public Match fuzzy() {
+        return index.screen("Viktr Blackwod", "Russia");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.GetAccountsRequest;
+import com.example.mcp_server.BankingRecords.GetAccountsResponse;
+import com.example.mcp_server.BankingRecords.GetFinancialOverviewResponse;
+import com.example.mcp_server.BankingRecords.GetTransactionsRequest;
+import com.example.mcp_server.BankingRecords.GetTransactionsResponse;
+import com.example.mcp_server.EnhancedBankingRecords.InitiateRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceValidationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.util.json.JsonParser;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the main tool responses, using the same mapper the tool specifications use
+ * for results, plus decoding of a remittance request from its MCP arguments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordEncodingBenchmark {
+
+    private GetAccountsResponse accounts;
+    private GetTransactionsResponse transactions;
+    private GetFinancialOverviewResponse financialOverview;
+    private RemittanceValidationResponse remittanceValidation;
+    private Map<String, Object> remittanceArguments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        try (ConfigurableApplicationContext context = BenchmarkContexts.start()) {
+            BankingService bankingService = context.getBean(BankingService.class);
+            accounts = bankingService.getAccounts(new GetAccountsRequest("Aman", null, null), null).block();
+            transactions = bankingService.getTransactions(new GetTransactionsRequest("ACC001", null, null, null, null, null, null), null).block();
+            financialOverview = bankingService.getFinancialOverview("Aman", null).block();
+            InitiateRemittanceRequest request = new InitiateRemittanceRequest(
+                    "Aman", "ACC001", "Ravi Bhatt", "India", "SBI", "IN12345678901234",
+                    new BigDecimal("20000"), "USD", "Family Support", "Brother");
+            remittanceValidation = bankingService.validateRemittance("REMBENCH", request);
+            remittanceArguments = JsonParser.fromJson(JsonParser.toJson(request), Map.class);
+        }
+    }
+
+    @Benchmark
+    public String encodeAccounts() {
+        return JsonParser.toJson(accounts);
+    }
+
+    @Benchmark
+    public String encodeTransactions() {
+        return JsonParser.toJson(transactions);
+    }
+
+    @Benchmark
+    public String encodeFinancialOverview() {
+        return JsonParser.toJson(financialOverview);
+    }
+
+    @Benchmark
+    public String encodeRemittanceValidation() {
+        return JsonParser.toJson(remittanceValidation);
+    }
+
+    @Benchmark
+    public InitiateRemittanceRequest decodeRemittanceRequest() {
+        return JsonParser.getObjectMapper().convertValue(remittanceArguments, InitiateRemittanceRequest.class);
+    }
+}
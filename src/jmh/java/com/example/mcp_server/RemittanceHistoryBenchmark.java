@@ -0,0 +1,62 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of history for a customer with {@code transfers} remittances, one a minute, for a
+ * random week, with and without a status filter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RemittanceHistoryBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final String[] STATUSES = {"PROCESSING", "COMPLETED", "FAILED", "VALIDATED"};
+
+    @Param({"50000"})
+    public int transfers;
+
+    private RemittanceHistoryStore store;
+
+    @Setup
+    public void setUp() {
+        store = new RemittanceHistoryStore(transfers, "");
+        for (int i = 0; i < transfers; i++) {
+            store.record("Sarah", new RemittanceTransaction("REM" + i, "REF" + i, "Maria Garcia", "Philippines",
+                    new BigDecimal("100.00"), "AED", STATUSES[i % STATUSES.length], new BigDecimal("15.00"),
+                    START.plusMinutes(i), null, "Family Support"));
+        }
+    }
+
+    @Benchmark
+    public RemittanceHistoryStore.Page weekPage() {
+        LocalDateTime from = START.plusMinutes(ThreadLocalRandom.current().nextInt(transfers));
+        return store.query("Sarah", from, from.plusDays(7), null, 20, null);
+    }
+
+    @Benchmark
+    public RemittanceHistoryStore.Page weekPageByStatus() {
+        LocalDateTime from = START.plusMinutes(ThreadLocalRandom.current().nextInt(transfers));
+        return store.query("Sarah", from, from.plusDays(7), "FAILED", 20, null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.EnhancedBankingRecords.InitiateRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceValidationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code initiateRemittance} end to end. Every call stages a remittance that stays open and adds
+ * it to the lifecycle tracker and the history, so each iteration starts from a fresh context
+ * and runs a fixed batch of {@value #INITIATIONS} calls, well below the tracking and history
+ * caps; the score is the time per batch. Velocity rules are off here and measured in
+ * {@link VelocityMonitorBenchmark}; initiation only checks transfer limits, so they never trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = RemittanceInitiationBenchmark.INITIATIONS)
+@Measurement(iterations = 10, batchSize = RemittanceInitiationBenchmark.INITIATIONS)
+@Fork(1)
+public class RemittanceInitiationBenchmark {
+
+    static final int INITIATIONS = 1000;
+
+    // Domestic transfer below the biometric threshold: validates without extra steps
+    private final InitiateRemittanceRequest domesticTransfer = new InitiateRemittanceRequest(
+            "Sarah", "ACC004", "Jane Doe", "UAE", "ENBD", "AE070331234567890123456",
+            new BigDecimal("1000"), "AED", "Family Support", "Sister");
+
+    private ConfigurableApplicationContext context;
+    private BankingService bankingService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        context = BenchmarkContexts.start("app.remittance.velocity.enabled=false");
+        bankingService = context.getBean(BankingService.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RemittanceValidationResponse initiateRemittance() {
+        return bankingService.initiateRemittance(domesticTransfer, null).block();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Transaction;
+import com.example.mcp_server.SpendingAnalytics.GroupBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregating a customer with {@code rows} transactions over five years, 12 categories and
+ * 1,000 merchants: sum by category per month, and average ticket per merchant for one year.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpendingAnalyticsBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+    @Param({"2000000"})
+    public int rows;
+
+    private final SpendingAnalytics analytics = new SpendingAnalytics();
+
+    @Setup
+    public void setUp() {
+        BigDecimal[] amounts = new BigDecimal[100];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(-(i * 37 + 5), 1);
+        }
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime date = START.plusDays(i % 1826);
+            analytics.add("Aman", new Transaction("TXN", "ACC001", i % 20 == 0 ? "CREDIT" : "DEBIT",
+                    amounts[i % amounts.length], "AED", "Purchase", "Merchant" + (i % 1000), "CATEGORY" + (i % 12),
+                    date, date, "POSTED", "REF", BigDecimal.ZERO, "CARD", "Dubai", "MCC5411", "AUTH", BigDecimal.ONE));
+        }
+    }
+
+    @Benchmark
+    public SpendingAnalytics.Totals categoryByMonth() {
+        return analytics.aggregate("Aman", GroupBy.CATEGORY_MONTH, null, null);
+    }
+
+    @Benchmark
+    public SpendingAnalytics.Totals merchantsInYear() {
+        return analytics.aggregate("Aman", GroupBy.MERCHANT, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.custom.AuthorizedTool;
+import com.example.mcp_server.custom.ReactiveToolSpecifications;
+import com.example.mcp_server.custom.ToolAuthorizationFilter;
+import com.example.mcp_server.custom.ToolRolesResolver.Grant;
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.tool.annotation.Tool;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link AuthorizedTool} enforcement on a call whose credentials are already cached:
+ * the same trivial tool invoked through a chain with and without {@link ToolAuthorizationFilter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolAuthorizationBenchmark {
+
+    public static class Tools {
+
+        @Tool(description = "Reads a balance")
+        @AuthorizedTool({BankingService.ROLE_ACCOUNTS_READ, BankingService.ROLE_PAYMENTS})
+        public Mono<String> balance() {
+            return Mono.just("1000.00");
+        }
+    }
+
+    private final CallToolRequest request = new CallToolRequest("balance", Map.of());
+    private final McpAsyncServerExchange exchange = new McpAsyncServerExchange("session-1", null, null, null,
+            McpTransportContext.create(Map.of(ToolAuthorizationFilter.CREDENTIALS_KEY, "Bearer token")));
+
+    private AsyncToolSpecification open;
+    private AsyncToolSpecification authorized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        open = ReactiveToolSpecifications.builder()
+                .toolObjects(new Tools())
+                .scheduler(Schedulers.immediate())
+                .build()
+                .get(0);
+        ToolAuthorizationFilter filter = new ToolAuthorizationFilter(
+                credentials -> Mono.just(Grant.of(Set.of(BankingService.ROLE_ACCOUNTS_READ, BankingService.ROLE_PAYMENTS))),
+                Duration.ofHours(1), 1000);
+        authorized = ReactiveToolSpecifications.builder()
+                .toolObjects(new Tools())
+                .scheduler(Schedulers.immediate())
+                .filters(List.of(filter))
+                .build()
+                .get(0);
+    }
+
+    @Benchmark
+    public CallToolResult withoutAuthorization() {
+        return open.callHandler().apply(exchange, request).block();
+    }
+
+    @Benchmark
+    public CallToolResult withAuthorization() {
+        return authorized.callHandler().apply(exchange, request).block();
+    }
+}
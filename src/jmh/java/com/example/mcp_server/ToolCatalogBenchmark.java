@@ -0,0 +1,66 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.custom.ToolCatalogJsonMapper;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse;
+import io.modelcontextprotocol.spec.McpSchema.ListToolsResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of a {@code tools/list} response for the banking tools, as the server sends it to
+ * each session: plain Jackson versus {@link ToolCatalogJsonMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolCatalogBenchmark {
+
+    private final McpJsonMapper plain = McpJsonMapper.getDefault();
+    private final McpJsonMapper cached = new ToolCatalogJsonMapper(plain);
+
+    private List<McpSchema.Tool> tools;
+    private int requestId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        try (ConfigurableApplicationContext context = BenchmarkContexts.start()) {
+            List<AsyncToolSpecification> specifications = context.getBean("bankingTools", List.class);
+            tools = specifications.stream().map(AsyncToolSpecification::tool).toList();
+        }
+    }
+
+    @Benchmark
+    public String plainToolsList() throws IOException {
+        return plain.writeValueAsString(toolsListResponse());
+    }
+
+    @Benchmark
+    public String cachedToolsList() throws IOException {
+        return cached.writeValueAsString(toolsListResponse());
+    }
+
+    // A new result over the same tool instances per request, as McpAsyncServer builds it
+    private JSONRPCResponse toolsListResponse() {
+        return new JSONRPCResponse(McpSchema.JSONRPC_VERSION, ++requestId, new ListToolsResult(tools.stream().toList(), null), null);
+    }
+}
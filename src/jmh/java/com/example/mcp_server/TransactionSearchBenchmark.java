@@ -0,0 +1,62 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searching a customer with {@code transactions} card transactions spread over 200 merchants:
+ * a merchant prefix over all time, and a category within one month.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionSearchBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[] CATEGORIES = {"GROCERIES", "DINING", "SHOPPING", "TRANSPORT", "UTILITIES"};
+
+    @Param({"100000"})
+    public int transactions;
+
+    private final TransactionSearchIndex index = new TransactionSearchIndex();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < transactions; i++) {
+            int merchant = i % 200;
+            LocalDateTime date = START.plusMinutes(i * 7L);
+            index.add("Aman", new Transaction("TXN" + i, "ACC001", "DEBIT", new BigDecimal("-42.50"), "AED",
+                    "Purchase - MERCHANT" + merchant + " DUBAI", "Merchant" + merchant + " LLC",
+                    CATEGORIES[merchant % CATEGORIES.length], date, date, "POSTED", "REF" + i, BigDecimal.ZERO,
+                    "CARD", "Dubai", "MCC" + (5000 + merchant), "AUTH" + i, BigDecimal.ONE));
+        }
+    }
+
+    @Benchmark
+    public TransactionSearchIndex.Result merchantPrefix() {
+        return index.search("Aman", "merchant17", null, null, 20);
+    }
+
+    @Benchmark
+    public TransactionSearchIndex.Result categoryInMonth() {
+        return index.search("Aman", "dining", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), 20);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.VelocityMonitor.Breach;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the velocity rules on one remittance initiation: record the transfer for the
+ * customer and the recipient and evaluate all twelve rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VelocityMonitorBenchmark {
+
+    private static final String[] CUSTOMERS = {"Aman", "Sarah", "Ahmed", "Fatima", "Omar"};
+
+    private VelocityMonitor monitor;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Limits high enough that the benchmark measures evaluation, not breach logging
+        MockEnvironment environment = new MockEnvironment().withProperty("app.remittance.velocity.action", "BLOCK");
+        for (String scope : new String[]{"customer", "recipient"}) {
+            for (String window : new String[]{"1m", "1h", "24h"}) {
+                environment.withProperty("app.remittance.velocity." + scope + ".count." + window, String.valueOf(Long.MAX_VALUE / 2))
+                        .withProperty("app.remittance.velocity." + scope + ".amount." + window, "1000000000000");
+            }
+        }
+        monitor = new VelocityMonitor(environment, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Breach recordInitiation() {
+        int i = next++;
+        return monitor.recordInitiation(CUSTOMERS[i % CUSTOMERS.length], "AE07033123456789012345" + (i & 7), 100_00);
+    }
+}
@@ -446,4 +446,86 @@ public class BankingRecords {
             LocalDateTime responseTime
     ) {
     }
-}
\ No newline at end of file
+
+    // Spending Breakdown Records
+    public record GetSpendingBreakdownRequest(
+            String customerId,
+            Integer days,
+            LocalDate toDate
+    ) {
+    }
+
+    public record CategorySpending(
+            String category,
+            BigDecimal totalDebits,
+            BigDecimal totalCredits,
+            Integer transactionCount,
+            BigDecimal percentageOfSpending
+    ) {
+    }
+
+    public record GetSpendingBreakdownResponse(
+            String customerId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            BigDecimal totalDebits,
+            BigDecimal totalCredits,
+            List<CategorySpending> categories,
+            String status,
+            String message
+    ) {
+    }
+
+    public record SearchTransactionsRequest(
+            String customerId,
+            String query,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Integer limit
+    ) {
+    }
+
+    public record SearchTransactionsResponse(
+            String customerId,
+            String query,
+            Integer totalMatches,
+            BigDecimal totalDebits,
+            BigDecimal totalCredits,
+            List<Transaction> transactions,
+            String status,
+            String message
+    ) {
+    }
+
+    public record SpendingAnalyticsRequest(
+            String customerId,
+            String groupBy,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) {
+    }
+
+    public record SpendingGroup(
+            String category,
+            String merchant,
+            String month,
+            BigDecimal totalSpent,
+            Integer transactionCount,
+            BigDecimal averageTicket,
+            BigDecimal percentageOfSpending
+    ) {
+    }
+
+    public record SpendingAnalyticsResponse(
+            String customerId,
+            String groupBy,
+            LocalDate fromDate,
+            LocalDate toDate,
+            BigDecimal totalSpent,
+            Integer transactionCount,
+            List<SpendingGroup> groups,
+            String status,
+            String message
+    ) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.custom.ToolRuntimeHints;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the native image: the banking tools, every record they exchange
+ * (including those only reachable through nested collections), the remittance history file
+ * lines, the simulation templates and the bundled screening watch list.
+ */
+class BankingRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ToolRuntimeHints.registerToolObject(hints, BankingService.class);
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        binding.registerReflectionHints(hints.reflection(), BankingRecords.class.getDeclaredClasses());
+        binding.registerReflectionHints(hints.reflection(), EnhancedBankingRecords.class.getDeclaredClasses());
+        binding.registerReflectionHints(hints.reflection(), RemittanceHistoryStore.HistoryLine.class);
+        hints.resources().registerPattern("templates/*.html");
+        hints.resources().registerPattern("screening/*.txt");
+    }
+}
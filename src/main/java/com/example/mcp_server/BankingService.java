@@ -2,26 +2,75 @@ package com.example.mcp_server;
 
 import com.example.mcp_server.BankingRecords.*;
 import com.example.mcp_server.EnhancedBankingRecords.*;
+import com.example.mcp_server.RemittanceLifecycleTracker.Stage;
+import com.example.mcp_server.TransactionLimitsStore.LimitUsage;
+import com.example.mcp_server.custom.AuthorizedTool;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class BankingService {
 
+    // Roles checked by ToolAuthorizationFilter when app.security.tool-authorization.enabled=true
+    public static final String ROLE_ACCOUNTS_READ = "ACCOUNTS_READ";
+    public static final String ROLE_PAYMENTS = "PAYMENTS";
+
     @Value("${app.server.url}")
     private String serverUrl;
 
+    @Value("${app.remittance.bulk.max-transfers:500}")
+    private int maxBulkTransfers;
+
+    // Validated remittances awaiting completion are kept like their tracked lifecycles
+    @Value("${app.remittance.tracking.max-tracked:10000}")
+    private int maxStagedRemittances;
+
+    @Value("${app.remittance.tracking.retention:24h}")
+    private Duration stagedRemittanceRetention;
+
+    // Default currency accounts (AED for everyone, USD only for some), opened in the ledger at startup
+    private static final Map<String, List<String>> DEFAULT_CURRENCY_ACCOUNTS = Map.of(
+            "Aman", List.of("AED"),
+            "Sarah", List.of("AED", "USD"),
+            "Ahmed", List.of("AED"),
+            "Fatima", List.of("AED", "USD"),
+            "Omar", List.of("AED")
+    );
+    private static final BigDecimal CURRENCY_ACCOUNT_OPENING_BALANCE = new BigDecimal("2500.00");
+    private static final BigDecimal CONVERSION_FEE_RATE = new BigDecimal("0.005"); // 0.5%
+    // Transfers above this amount need an ELEVATED token (biometric verification)
+    private static final BigDecimal HIGH_VALUE_THRESHOLD = new BigDecimal("15000");
+    // Initiation outcomes that end the remittance; the others wait for verification or completion
+    private static final Set<String> REJECTED_AT_INITIATION = Set.of("FAILED", "COMPLIANCE_REVIEW", "LIMIT_EXCEEDED",
+            "VELOCITY_LIMIT_EXCEEDED");
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 200;
+
     // Map to store multiple customers' data
     private static final Map<String, String> CUSTOMER_MAP = Map.of(
             "Aman", "Aman Bhatt",
@@ -34,10 +83,43 @@ public class BankingService {
     // Simulation state storage for enhanced features
     private final Map<String, String> customerKycStatus = new ConcurrentHashMap<>();
     private final Map<String, String> customerTokenStatus = new ConcurrentHashMap<>();
-    private final Map<String, Set<String>> customerCurrencyAccounts = new ConcurrentHashMap<>();
+    // Currency account registry: customer -> currency -> ledger account id
+    private final Map<String, Map<String, String>> currencyAccounts = new ConcurrentHashMap<>();
     private final Map<String, String> pendingTransactions = new ConcurrentHashMap<>();
+    // Validated remittance requests by transaction id, consumed against the limits and posted
+    // to the ledger on completion
+    private final Map<String, StagedRemittance> remittanceRequests = new ConcurrentHashMap<>();
+    // Transaction, batch and reference number suffixes: unique within the process, and across
+    // restarts unless more than a thousand were issued per millisecond of uptime
+    private final AtomicLong idSequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final FinancialAggregateStore financialAggregates;
+    private final TransactionRollups transactionRollups;
+    private final Scheduler toolScheduler;
+    private final RemittanceLifecycleTracker remittanceLifecycle;
+    private final TransactionLimitsStore transactionLimits;
+    private final VelocityMonitor velocityMonitor;
+    private final RecipientScreening recipientScreening;
+    private final Ledger ledger;
+    private final RemittanceHistoryStore remittanceHistory;
+    private final TransactionSearchIndex transactionSearch;
+    private final SpendingAnalytics spendingAnalytics;
+    private final PortfolioValuation portfolioValuation;
+
+    // Package-private (like validateTransaction, which returns it) for the JMH benchmarks
+    record ValidationResult(String status, String message, String nextAction, String pendingRequirements) {
+    }
+
+    private record StagedRemittance(InitiateRemittanceRequest request, long stagedAtNanos) {
+
+        private boolean expired(long cutoffNanos) {
+            return stagedAtNanos - cutoffNanos < 0;
+        }
+    }
 
-    private record ValidationResult(String status, String message, String nextAction, String pendingRequirements) {
+    // One transfer of a bulk remittance: AED amounts, or the result that rejected it
+    private record BulkLine(int index, BulkRemittanceTransfer transfer, BigDecimal fees, long amount, long feesInAed,
+                            BulkRemittanceLineResult rejection) {
     }
 
     // Initialize default states
@@ -55,78 +137,226 @@ public class BankingService {
         customerTokenStatus.put("Ahmed", "BASIC");
         customerTokenStatus.put("Fatima", "BASIC");
         customerTokenStatus.put("Omar", "ELEVATED");
+    }
+
+    /**
+     * Seeds the materialized financial aggregates from the current account and loan data and
+     * the portfolio valuation from the booked positions, so the overview can serve precomputed
+     * metrics from the first call, and opens each deposit account in the ledger with its
+     * opening balances.
+     */
+    @PostConstruct
+    void seedFinancialAggregates() {
+        for (String customerId : CUSTOMER_MAP.keySet()) {
+            GetCustomerProfileResponse profile = getCustomerProfileData(customerId);
+            if (profile.customerProfile() != null) {
+                financialAggregates.updateMonthlyIncome(customerId, profile.customerProfile().employmentInfo().monthlyIncome());
+            }
+
+            for (Account account : getAccountsData(customerId).accounts()) {
+                Balance balance = openingBalanceData(account.accountId()).balance();
+                if (balance == null) {
+                    continue;
+                }
+                if ("CREDIT".equals(account.accountType())) {
+                    financialAggregates.updateCreditBalance(customerId, account.accountId(), balance.currentBalance());
+                    CreditCardDetails card = getCreditCardDetailsData(account.accountId()).creditCardDetails();
+                    if (card != null) {
+                        financialAggregates.updateUpcomingPayment(customerId, account.accountId(), card.paymentDueDate(),
+                                "Credit Card Minimum Payment", card.minimumPayment());
+                    }
+                } else {
+                    ledger.openAccount(account.accountId(), balance.currency(), Money.toMinor(balance.currentBalance()),
+                            Money.toMinor(balance.pendingBalance()), Money.toMinor(balance.overdraftLimit()));
+                    financialAggregates.updateDepositBalance(customerId, account.accountId(), balance.currentBalance());
+                }
+                for (Transaction transaction : getTransactionsData(account.accountId()).transactions()) {
+                    recordTransaction(customerId, transaction);
+                }
+            }
+
+            for (Loan loan : getLoansData(customerId).loans()) {
+                financialAggregates.updateLoanBalance(customerId, loan.loanId(), loan.currentBalance());
+                financialAggregates.updateUpcomingPayment(customerId, loan.loanId(), loan.nextPaymentDate(),
+                        loanPaymentDescription(loan.loanType()), loan.nextPaymentAmount());
+            }
 
-        // Default currency accounts (AED for everyone, USD only for some)
-        customerCurrencyAccounts.put("Aman", new HashSet<>(Set.of("AED")));
-        customerCurrencyAccounts.put("Sarah", new HashSet<>(Set.of("AED", "USD")));
-        customerCurrencyAccounts.put("Ahmed", new HashSet<>(Set.of("AED")));
-        customerCurrencyAccounts.put("Fatima", new HashSet<>(Set.of("AED", "USD")));
-        customerCurrencyAccounts.put("Omar", new HashSet<>(Set.of("AED")));
+            for (Investment investment : openingInvestmentsData(customerId)) {
+                portfolioValuation.listInstrument(investment.symbol(), investment.currentPrice());
+                portfolioValuation.addPosition(customerId, new PortfolioValuation.Position(investment.investmentId(),
+                        investment.instrumentType(), investment.instrumentName(), investment.symbol(),
+                        investment.quantity(), investment.purchasePrice(), investment.purchaseDate(),
+                        investment.riskLevel()));
+            }
+
+            for (String currency : DEFAULT_CURRENCY_ACCOUNTS.getOrDefault(customerId, List.of())) {
+                openCurrencyAccount(customerId, currency, Money.toMinor(CURRENCY_ACCOUNT_OPENING_BALANCE));
+            }
+        }
+    }
+
+    /**
+     * Opens a {@code currency} account for the customer unless they already have one, and
+     * returns its id.
+     */
+    public String openCurrencyAccount(String customerId, String currency) {
+        return openCurrencyAccount(customerId, currency.toUpperCase(Locale.ROOT), 0);
+    }
+
+    private String openCurrencyAccount(String customerId, String currency, long openingBalance) {
+        String accountId = "ACC" + currency + "_" + customerId;
+        // In the ledger before the registry, so a registered account always has a balance
+        ledger.openAccount(accountId, currency, openingBalance, 0, 0);
+        String registered = currencyAccounts.computeIfAbsent(customerId, id -> new ConcurrentHashMap<>())
+                .putIfAbsent(currency, accountId);
+        if (registered == null) {
+            // Counted in the customer's assets like any other deposit account
+            refreshDepositBalance(customerId, accountId);
+        }
+        return registered != null ? registered : accountId;
+    }
+
+    // HOME_LOAN -> "Home Loan Payment"
+    private String loanPaymentDescription(String loanType) {
+        StringBuilder description = new StringBuilder();
+        for (String word : loanType.split("_")) {
+            description.append(word.charAt(0)).append(word.substring(1).toLowerCase()).append(' ');
+        }
+        return description.append("Payment").toString();
+    }
+
+    // Tool bodies run on the dedicated tool scheduler so they never block the Netty event loop
+    private <T> Mono<T> offload(Callable<T> work) {
+        return Mono.fromCallable(work).subscribeOn(toolScheduler);
     }
 
     // ======== ORIGINAL BANKING TOOLS ========
 
     @Tool(description = "Retrieve a list of accounts for a customer")
-    public GetAccountsResponse getAccounts(GetAccountsRequest accountsRequest, ToolContext context) {
-        log.info("Retrieving accounts for customerId: {}", accountsRequest.customerId());
-        return getAccountsData(accountsRequest.customerId());
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetAccountsResponse> getAccounts(GetAccountsRequest accountsRequest, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving accounts for customerId: {}", accountsRequest.customerId());
+            return getAccountsData(accountsRequest.customerId());
+        });
     }
 
     @Tool(description = "Retrieve the balance for a specific account")
-    public GetBalanceByAccountResponse getBalanceByAccount(GetBalanceByAccountRequest balanceByAccountRequest, ToolContext context) {
-        log.info("Retrieving balance for accountId: {}", balanceByAccountRequest.accountId());
-        return getBalanceByAccountData(balanceByAccountRequest.accountId());
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetBalanceByAccountResponse> getBalanceByAccount(GetBalanceByAccountRequest balanceByAccountRequest, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving balance for accountId: {}", balanceByAccountRequest.accountId());
+            return getBalanceByAccountData(balanceByAccountRequest.accountId());
+        });
     }
 
     @Tool(description = "Retrieve transactions for a specific account")
-    public GetTransactionsResponse getTransactions(GetTransactionsRequest transactionsRequest, ToolContext context) {
-        log.info("Retrieving transactions for accountId: {}", transactionsRequest.accountId());
-        return getTransactionsData(transactionsRequest.accountId());
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetTransactionsResponse> getTransactions(GetTransactionsRequest transactionsRequest, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving transactions for accountId: {}", transactionsRequest.accountId());
+            return getTransactionsData(transactionsRequest.accountId());
+        });
     }
 
     @Tool(description = "Retrieve the customer profile for a specific customer")
-    public GetCustomerProfileResponse getCustomerProfile(GetCustomerProfileRequest customerProfileRequest, ToolContext context) {
-        log.info("Retrieving customer profile for customerId: {}", customerProfileRequest.customerId());
-        return getCustomerProfileData(customerProfileRequest.customerId());
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetCustomerProfileResponse> getCustomerProfile(GetCustomerProfileRequest customerProfileRequest, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving customer profile for customerId: {}", customerProfileRequest.customerId());
+            return getCustomerProfileData(customerProfileRequest.customerId());
+        });
     }
 
     @Tool(description = "Retrieve all loans for a specific customer")
-    public GetLoansResponse getLoans(GetLoansRequest loansRequest, ToolContext context) {
-        log.info("Retrieving loans for customerId: {}", loansRequest.customerId());
-        return getLoansData(loansRequest.customerId());
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetLoansResponse> getLoans(GetLoansRequest loansRequest, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving loans for customerId: {}", loansRequest.customerId());
+            return getLoansData(loansRequest.customerId());
+        });
     }
 
     @Tool(description = "Retrieve payment schedule for a specific loan")
-    public GetLoanPaymentScheduleResponse getLoanPaymentSchedule(GetLoanPaymentScheduleRequest loanPaymentScheduleRequest, Integer numberOfPayments, ToolContext context) {
-        log.info("Retrieving payment schedule for loanId: {} with {} payments", loanPaymentScheduleRequest.loanId(), numberOfPayments);
-        return getLoanPaymentScheduleData(loanPaymentScheduleRequest.loanId(), numberOfPayments);
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetLoanPaymentScheduleResponse> getLoanPaymentSchedule(GetLoanPaymentScheduleRequest loanPaymentScheduleRequest, Integer numberOfPayments, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving payment schedule for loanId: {} with {} payments", loanPaymentScheduleRequest.loanId(), numberOfPayments);
+            return getLoanPaymentScheduleData(loanPaymentScheduleRequest.loanId(), numberOfPayments);
+        });
     }
 
     @Tool(description = "Retrieve credit card details for a specific account")
-    public GetCreditCardDetailsResponse getCreditCardDetails(GetCreditCardDetailsRequest creditCardDetailsRequest, ToolContext context) {
-        log.info("Retrieving credit card details for accountId: {}", creditCardDetailsRequest.accountId());
-        return getCreditCardDetailsData(creditCardDetailsRequest.accountId());
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetCreditCardDetailsResponse> getCreditCardDetails(GetCreditCardDetailsRequest creditCardDetailsRequest, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving credit card details for accountId: {}", creditCardDetailsRequest.accountId());
+            return getCreditCardDetailsData(creditCardDetailsRequest.accountId());
+        });
     }
 
     @Tool(description = "Get complete financial overview including all accounts, loans, credit cards, investments, transaction summaries, and financial metrics in a single call")
-    public GetFinancialOverviewResponse getFinancialOverview(String customerId, ToolContext context) {
-        log.info("Retrieving comprehensive financial overview for customerId: {}", customerId);
-        return getFinancialOverviewData(customerId);
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetFinancialOverviewResponse> getFinancialOverview(String customerId, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving comprehensive financial overview for customerId: {}", customerId);
+            return getFinancialOverviewData(customerId);
+        });
     }
 
     @Tool(description = "Retrieve investment portfolio for a specific customer")
-    public GetInvestmentPortfolioResponse getInvestmentPortfolio(GetInvestmentPortfolioRequest investmentPortfolioRequest, ToolContext context) {
-        log.info("Retrieving investment portfolio for customerId: {}", investmentPortfolioRequest.customerId());
-        return getInvestmentPortfolioData(investmentPortfolioRequest.customerId());
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetInvestmentPortfolioResponse> getInvestmentPortfolio(GetInvestmentPortfolioRequest investmentPortfolioRequest, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving investment portfolio for customerId: {}", investmentPortfolioRequest.customerId());
+            return getInvestmentPortfolioData(investmentPortfolioRequest.customerId());
+        });
+    }
+
+    @Tool(description = "Break down a customer's spending by category over a trailing window of days (default 30), ending at the given date or the customer's latest activity")
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<GetSpendingBreakdownResponse> getSpendingBreakdown(GetSpendingBreakdownRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Retrieving spending breakdown for customerId: {}", request.customerId());
+            return getSpendingBreakdownData(request.customerId(), request.days(), request.toDate());
+        });
+    }
+
+    @Tool(description = "Search a customer's transactions across all their accounts by merchant, description or category words, "
+            + "e.g. 'carrefour' or 'dining'. Words match by prefix and all must match; optionally limit to a date range. "
+            + "Returns the newest matches (limit, default 20) and the totals over every match")
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<SearchTransactionsResponse> searchTransactions(SearchTransactionsRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Searching transactions for customerId: {}", request.customerId());
+            return searchTransactionsData(request);
+        });
+    }
+
+    @Tool(description = "Analyse a customer's spending (debits) across their whole transaction history, grouped by "
+            + "CATEGORY, MERCHANT, MONTH or CATEGORY_MONTH, optionally within a date range. Each group has its total, "
+            + "transaction count, average ticket and share of spending")
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<SpendingAnalyticsResponse> analyzeSpending(SpendingAnalyticsRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Analysing spending for customerId: {} by {}", request.customerId(), request.groupBy());
+            return analyzeSpendingData(request);
+        });
     }
 
     // ======== REMITTANCE TOOLS ========
 
 
     @Tool(description = "Check the status of a pending remittance transaction")
-    public PendingTransactionStatusResponse checkPendingTransaction(String transactionId, ToolContext context) {
-        log.info("Checking pending transaction status: {}", transactionId);
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<PendingTransactionStatusResponse> checkPendingTransaction(String transactionId, ToolContext context) {
+        return offload(() -> {
+            log.debug("Checking pending transaction status: {}", transactionId);
+            return checkPendingTransactionStatus(transactionId);
+        });
+    }
 
+    private PendingTransactionStatusResponse checkPendingTransactionStatus(String transactionId) {
         String pendingData = pendingTransactions.get(transactionId);
 
         if (pendingData == null) {
@@ -164,12 +394,23 @@ public class BankingService {
     }
 
     @Tool(description = "Initiate an international remittance transfer")
-    public RemittanceValidationResponse initiateRemittance(InitiateRemittanceRequest request, ToolContext context) {
-        log.info("Initiating remittance for customer: {} to {}", request.customerId(), request.recipientCountry());
-
-        // Generate transaction ID
-        String transactionId = "REM" + System.currentTimeMillis();
+    @AuthorizedTool(ROLE_PAYMENTS)
+    public Mono<RemittanceValidationResponse> initiateRemittance(InitiateRemittanceRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Initiating remittance for customer: {} to {}", request.customerId(), request.recipientCountry());
+            // Generate transaction ID
+            String transactionId = nextId("REM");
+            RemittanceValidationResponse response = remittanceLifecycle.observe(Stage.INITIATE, transactionId,
+                    request.customerId(), () -> validateRemittance(transactionId, request));
+            if (REJECTED_AT_INITIATION.contains(response.status())) {
+                remittanceLifecycle.finish(transactionId, response.status());
+            }
+            return response;
+        });
+    }
 
+    // Package-private so benchmarks can stage pending remittances without lifecycle tracking
+    RemittanceValidationResponse validateRemittance(String transactionId, InitiateRemittanceRequest request) {
         // Check ALL requirements upfront
         String kycStatus = customerKycStatus.getOrDefault(request.customerId(), "BASIC");
         String tokenStatus = customerTokenStatus.getOrDefault(request.customerId(), "BASIC");
@@ -178,14 +419,91 @@ public class BankingService {
         BigDecimal fees = calculateRemittanceFees(request.amount(), request.currency());
         BigDecimal exchangeRate = getExchangeRate(request.currency());
 
+        String sourceError = remittanceSourceError(request.customerId(), request.fromAccountId());
+        if (sourceError != null) {
+            return new RemittanceValidationResponse(
+                    transactionId,
+                    "FAILED",
+                    sourceError,
+                    request.amount(),
+                    request.currency(),
+                    fees,
+                    exchangeRate,
+                    null,
+                    null,
+                    null,
+                    List.of(),
+                    LocalDateTime.now()
+            );
+        }
+
         // Determine requirements
         boolean isInternational = !request.recipientCountry().equalsIgnoreCase("UAE");
-        BigDecimal highValueThreshold = new BigDecimal("15000");
-        boolean isHighValue = request.amount().compareTo(highValueThreshold) > 0;
+        boolean isHighValue = request.amount().compareTo(HIGH_VALUE_THRESHOLD) > 0;
 
         boolean needsKyc = isInternational && "BASIC".equals(kycStatus);
         boolean needsBiometric = isHighValue && "BASIC".equals(tokenStatus);
 
+        ScreeningIndex.Match screeningMatch = recipientScreening.screen(request.recipientName(), request.recipientCountry());
+        if (screeningMatch != null) {
+            log.warn("Remittance {} held: recipient '{}' matches watch-list entry '{}' ({} edits)",
+                    transactionId, request.recipientName(), screeningMatch.listedName(), screeningMatch.edits());
+            recordRemittance(request.customerId(), transactionId, null, request, "COMPLIANCE_REVIEW", fees);
+            return new RemittanceValidationResponse(
+                    transactionId,
+                    "COMPLIANCE_REVIEW",
+                    "This transfer cannot be processed automatically and has been referred for a compliance review. Please contact the bank for assistance.",
+                    request.amount(),
+                    request.currency(),
+                    fees,
+                    exchangeRate,
+                    null,
+                    null,
+                    null,
+                    List.of(),
+                    LocalDateTime.now()
+            );
+        }
+
+        // International transfers run under ENHANCED limits once the required KYC is done
+        long amountInAed = amountInAed(request.amount(), request.currency());
+        LimitUsage exceeded = transactionLimits.check(request.customerId(), needsKyc ? "ENHANCED" : kycStatus, amountInAed);
+        if (exceeded != null) {
+            return new RemittanceValidationResponse(
+                    transactionId,
+                    "LIMIT_EXCEEDED",
+                    limitExceededMessage(exceeded),
+                    request.amount(),
+                    request.currency(),
+                    fees,
+                    exchangeRate,
+                    null,
+                    null,
+                    null,
+                    List.of(),
+                    LocalDateTime.now()
+            );
+        }
+        VelocityMonitor.Breach velocityBreach = velocityMonitor.recordInitiation(request.customerId(),
+                recipientKey(request.recipientAccountNumber()), amountInAed);
+        if (velocityBreach != null) {
+            return new RemittanceValidationResponse(
+                    transactionId,
+                    "VELOCITY_LIMIT_EXCEEDED",
+                    velocityBreach.describe() + ". Please try again later.",
+                    request.amount(),
+                    request.currency(),
+                    fees,
+                    exchangeRate,
+                    null,
+                    null,
+                    null,
+                    List.of(),
+                    LocalDateTime.now()
+            );
+        }
+        stageRemittance(transactionId, request);
+
         String kycUrl = null;
         String biometricUrl = null;
         List<String> requiredDocuments = List.of();
@@ -226,6 +544,7 @@ public class BankingService {
             status = "VALIDATED";
             message = "Transfer validated successfully. You can proceed with the remittance.";
         }
+        recordRemittance(request.customerId(), transactionId, null, request, status, fees);
 
         return new RemittanceValidationResponse(
                 transactionId,
@@ -244,9 +563,20 @@ public class BankingService {
     }
 
     @Tool(description = "Complete a remittance after all verifications are done. Call this when user says 'kyc done' or 'biometric done' or similar confirmation")
-    public RemittanceExecutionResponse completeRemittance(CompleteRemittanceRequest request, ToolContext context) {
-        log.info("Completing remittance {} for customer: {}", request.transactionId(), request.customerId());
+    @AuthorizedTool(ROLE_PAYMENTS)
+    public Mono<RemittanceExecutionResponse> completeRemittance(CompleteRemittanceRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Completing remittance {} for customer: {}", request.transactionId(), request.customerId());
+            RemittanceExecutionResponse response = remittanceLifecycle.observe(Stage.COMPLETE, request.transactionId(),
+                    request.customerId(), () -> executeRemittance(request));
+            if (!"PENDING".equals(response.status())) {
+                remittanceLifecycle.finish(request.transactionId(), response.status());
+            }
+            return response;
+        });
+    }
 
+    private RemittanceExecutionResponse executeRemittance(CompleteRemittanceRequest request) {
         String pendingData = pendingTransactions.get(request.transactionId());
 
         if (pendingData == null) {
@@ -331,8 +661,8 @@ public class BankingService {
         }
     }
 
-    // Comprehensive validation based on original requirements
-    private ValidationResult validateTransaction(String customerId, String transactionId, String originalRequirements) {
+    // Comprehensive validation based on original requirements (package-private for the JMH benchmarks)
+    ValidationResult validateTransaction(String customerId, String transactionId, String originalRequirements) {
         String details = pendingTransactions.get(transactionId);
         if (details == null) {
             return new ValidationResult("FAILED", "Transaction details not found", null, null);
@@ -401,36 +731,359 @@ public class BankingService {
         // Remove from pending and execute
         pendingTransactions.remove(transactionId);
 
-        // Simulate successful execution
-        String referenceNumber = "REF" + System.currentTimeMillis();
+        // Whoever removes the request executes it, so a transfer can't be posted twice
+        StagedRemittance staged = remittanceRequests.remove(transactionId);
+        if (staged == null) {
+            return remittanceFailure(transactionId, "Transaction not found or already executed.");
+        }
+        InitiateRemittanceRequest remittance = staged.request();
+        BigDecimal remittanceFees = calculateRemittanceFees(remittance.amount(), remittance.currency());
+        if (staged.expired(System.nanoTime() - stagedRemittanceRetention.toNanos())) {
+            recordRemittance(customerId, transactionId, null, remittance, "FAILED", remittanceFees);
+            return remittanceFailure(transactionId, "Transaction has expired. Please initiate a new transfer.");
+        }
+        // Checked again before posting, against the customer the pending transaction belongs to
+        String sourceError = remittanceSourceError(customerId, remittance.fromAccountId());
+        if (sourceError != null) {
+            recordRemittance(customerId, transactionId, null, remittance, "FAILED", remittanceFees);
+            return remittanceFailure(transactionId, sourceError);
+        }
+        long amount = amountInAed(remittance.amount(), remittance.currency());
+        long fees = amountInAed(remittanceFees, remittance.currency());
+
+        LimitUsage exceeded = transactionLimits.tryConsume(customerId, customerKycStatus.getOrDefault(customerId, "BASIC"), amount);
+        if (exceeded != null) {
+            recordRemittance(customerId, transactionId, null, remittance, "FAILED", remittanceFees);
+            return remittanceFailure(transactionId, limitExceededMessage(exceeded));
+        }
+        // The limit is only kept for a posted transfer, whatever stops the posting
+        Ledger.Shortfall shortfall = null;
+        boolean posted = false;
+        try {
+            shortfall = ledger.post(transactionId, "Remittance to " + remittance.recipientName(), List.of(
+                    Ledger.Leg.debit(remittance.fromAccountId(), amount + fees),
+                    Ledger.Leg.credit(Ledger.REMITTANCE_CLEARING, amount),
+                    Ledger.Leg.credit(Ledger.FEE_INCOME, fees)));
+            posted = shortfall == null;
+        } finally {
+            if (!posted) {
+                transactionLimits.release(customerId, amount);
+            }
+        }
+        if (shortfall != null) {
+            recordRemittance(customerId, transactionId, null, remittance, "FAILED", remittanceFees);
+            return remittanceFailure(transactionId, String.format(
+                    "Insufficient funds in %s: %s %,.2f available, %s %,.2f required including fees.",
+                    shortfall.accountId(), shortfall.currency(), Money.fromMinor(shortfall.available()),
+                    shortfall.currency(), Money.fromMinor(shortfall.required())));
+        }
+        financialAggregates.updateDepositBalance(customerId, remittance.fromAccountId(),
+                Money.fromMinor(ledger.balance(remittance.fromAccountId())));
+
+        String referenceNumber = nextId("REF");
+        recordPosting(customerId, transactionId, remittance.fromAccountId(), "DEBIT", amount + fees,
+                getExchangeRate(remittance.currency()), "Remittance to " + remittance.recipientName(),
+                remittance.recipientName(), "REMITTANCE", referenceNumber);
+        recordRemittance(customerId, transactionId, referenceNumber, remittance, "PROCESSING", remittanceFees);
 
         return new RemittanceExecutionResponse(
                 transactionId,
                 referenceNumber,
                 "PROCESSING",
                 "Remittance initiated successfully. Funds will be credited to recipient within 1-2 business days.",
-                new BigDecimal("5000.00"), // Example amount
-                new BigDecimal("25.00"), // Example fees
+                Money.fromMinor(amount),
+                Money.fromMinor(fees),
                 "Recipient will receive notification",
                 "1-2 business days",
                 LocalDateTime.now()
         );
     }
 
+    /**
+     * Why {@code accountId} can't fund a remittance of the customer's, or {@code null} if it can:
+     * it must be one of the customer's own deposit accounts, in AED like the remittance legs.
+     * The ACC&lt;currency&gt;_ accounts are only for currency conversions.
+     */
+    private String remittanceSourceError(String customerId, String accountId) {
+        boolean owned = accountId != null && getAccountsData(customerId).accounts().stream()
+                .anyMatch(account -> account.accountId().equals(accountId) && !"CREDIT".equals(account.accountType()));
+        if (!owned || !ledger.hasAccount(accountId)) {
+            return "Source account " + accountId + " not found or cannot send remittances.";
+        }
+        if (!TransactionLimitsStore.CURRENCY.equals(ledger.currency(accountId))) {
+            return "Remittances can only be sent from an " + TransactionLimitsStore.CURRENCY + " account.";
+        }
+        return null;
+    }
+
+    private String nextId(String prefix) {
+        return prefix + idSequence.incrementAndGet();
+    }
+
+    private void stageRemittance(String transactionId, InitiateRemittanceRequest request) {
+        if (remittanceRequests.size() >= maxStagedRemittances) {
+            expireStagedRemittances();
+        }
+        remittanceRequests.put(transactionId, new StagedRemittance(request, System.nanoTime()));
+    }
+
+    // Drops remittances past the retention period, then the oldest tenth if still over capacity
+    // (as RemittanceLifecycleTracker does with their lifecycles), with their pending entries
+    private void expireStagedRemittances() {
+        long cutoff = System.nanoTime() - stagedRemittanceRetention.toNanos();
+        remittanceRequests.entrySet().removeIf(entry -> {
+            if (entry.getValue().expired(cutoff)) {
+                pendingTransactions.remove(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        int excess = remittanceRequests.size() - maxStagedRemittances + Math.max(1, maxStagedRemittances / 10);
+        if (excess > 0) {
+            remittanceRequests.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().stagedAtNanos()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(transactionId -> {
+                        remittanceRequests.remove(transactionId);
+                        pendingTransactions.remove(transactionId);
+                    });
+            log.warn("Too many remittances awaiting completion, expired the oldest {}", excess);
+        }
+    }
+
+    private static RemittanceExecutionResponse remittanceFailure(String transactionId, String message) {
+        return new RemittanceExecutionResponse(
+                transactionId,
+                null,
+                "FAILED",
+                message,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                null,
+                null,
+                LocalDateTime.now()
+        );
+    }
+
+    @Tool(description = "Send a batch of remittances (e.g. payroll) from one account in a single call. Every transfer is validated on its own; the accepted ones are debited together and the result lists the outcome of each line")
+    @AuthorizedTool(ROLE_PAYMENTS)
+    public Mono<BulkRemittanceResponse> submitBulkRemittance(BulkRemittanceRequest request, ToolContext context) {
+        String batchId = nextId("BLK");
+        List<BulkRemittanceTransfer> transfers = request.transfers() == null ? List.of() : request.transfers();
+        if (transfers.isEmpty() || transfers.size() > maxBulkTransfers) {
+            return Mono.just(bulkFailure(batchId, "A batch must contain between 1 and " + maxBulkTransfers + " transfers.", List.of()));
+        }
+        // The source account is checked on the tool scheduler (empty when it can fund the batch)
+        return offload(() -> remittanceSourceError(request.customerId(), request.fromAccountId()))
+                .map(sourceError -> bulkFailure(batchId, sourceError, List.of()))
+                .switchIfEmpty(Mono.defer(() -> submitBulkLines(batchId, request, transfers)));
+    }
+
+    // Lines are independent, so they are validated in parallel; limits and the posting run once
+    // all are back, in line order
+    private Mono<BulkRemittanceResponse> submitBulkLines(String batchId, BulkRemittanceRequest request,
+                                                         List<BulkRemittanceTransfer> transfers) {
+        log.debug("Submitting bulk remittance {} of {} transfers for customer: {}", batchId, transfers.size(), request.customerId());
+        String kycStatus = customerKycStatus.getOrDefault(request.customerId(), "BASIC");
+        String tokenStatus = customerTokenStatus.getOrDefault(request.customerId(), "BASIC");
+        return Flux.range(0, transfers.size())
+                .parallel()
+                .runOn(toolScheduler)
+                .map(index -> validateBulkTransfer(request.customerId(), batchId, index, transfers.get(index), kycStatus, tokenStatus))
+                .sequential()
+                .collectSortedList(Comparator.comparingInt(BulkLine::index))
+                .map(lines -> postBulkRemittance(batchId, request, kycStatus, lines));
+    }
+
+    private BulkLine validateBulkTransfer(String customerId, String batchId, int index, BulkRemittanceTransfer transfer,
+                                          String kycStatus, String tokenStatus) {
+        if (transfer == null || transfer.amount() == null || transfer.amount().signum() <= 0 || transfer.currency() == null
+                || transfer.recipientName() == null || transfer.recipientCountry() == null) {
+            return new BulkLine(index, transfer, BigDecimal.ZERO, 0, 0, bulkLineResult(batchId, index, transfer,
+                    "INVALID", "Recipient name, country, a positive amount and a currency are required.", BigDecimal.ZERO));
+        }
+        BigDecimal fees = calculateRemittanceFees(transfer.amount(), transfer.currency());
+        long amount = amountInAed(transfer.amount(), transfer.currency());
+        String status = null;
+        String message = null;
+        ScreeningIndex.Match screeningMatch = recipientScreening.screen(transfer.recipientName(), transfer.recipientCountry());
+        if (screeningMatch != null) {
+            log.warn("Bulk remittance {} line {} held: recipient '{}' matches watch-list entry '{}' ({} edits)",
+                    batchId, index + 1, transfer.recipientName(), screeningMatch.listedName(), screeningMatch.edits());
+            status = "COMPLIANCE_REVIEW";
+            message = "This transfer cannot be processed automatically and has been referred for a compliance review.";
+        } else if (!transfer.recipientCountry().equalsIgnoreCase("UAE") && "BASIC".equals(kycStatus)) {
+            status = "KYC_REQUIRED";
+            message = "Enhanced KYC verification is required for international transfers. Complete it and resubmit this transfer.";
+        } else if (transfer.amount().compareTo(HIGH_VALUE_THRESHOLD) > 0 && "BASIC".equals(tokenStatus)) {
+            status = "TOKEN_ELEVATION_REQUIRED";
+            message = "Biometric verification is required for transfers above AED 15,000. Complete it and resubmit this transfer.";
+        } else {
+            LimitUsage exceeded = transactionLimits.check(customerId, kycStatus, amount);
+            if (exceeded != null) {
+                status = "LIMIT_EXCEEDED";
+                message = limitExceededMessage(exceeded);
+            }
+        }
+        return new BulkLine(index, transfer, fees, amount, amountInAed(fees, transfer.currency()),
+                status == null ? null : bulkLineResult(batchId, index, transfer, status, message, fees));
+    }
+
+    // Consumes the limits and records velocity line by line, then debits every accepted line with
+    // one journal; a line that is not posted gives both back
+    private BulkRemittanceResponse postBulkRemittance(String batchId, BulkRemittanceRequest request, String kycStatus,
+                                                      List<BulkLine> lines) {
+        long initiatedAt = velocityMonitor.now();
+        BulkRemittanceLineResult[] results = new BulkRemittanceLineResult[lines.size()];
+        List<BulkLine> accepted = new ArrayList<>(lines.size());
+        long amount = 0;
+        long fees = 0;
+        for (BulkLine line : lines) {
+            if (line.rejection() != null) {
+                results[line.index()] = line.rejection();
+                continue;
+            }
+            LimitUsage exceeded = transactionLimits.tryConsume(request.customerId(), kycStatus, line.amount());
+            if (exceeded != null) {
+                results[line.index()] = bulkLineResult(batchId, line.index(), line.transfer(), "LIMIT_EXCEEDED",
+                        limitExceededMessage(exceeded), line.fees());
+                continue;
+            }
+            BulkRemittanceTransfer transfer = line.transfer();
+            VelocityMonitor.Breach velocityBreach = velocityMonitor.recordInitiation(request.customerId(),
+                    recipientKey(transfer.recipientAccountNumber()), line.amount(), initiatedAt);
+            if (velocityBreach != null) {
+                giveBack(request.customerId(), line, initiatedAt);
+                results[line.index()] = bulkLineResult(batchId, line.index(), transfer, "VELOCITY_LIMIT_EXCEEDED",
+                        velocityBreach.describe() + ". Please try again later.", line.fees());
+                continue;
+            }
+            accepted.add(line);
+            amount += line.amount();
+            fees += line.feesInAed();
+        }
+        if (accepted.isEmpty()) {
+            return bulkFailure(batchId, "No transfer in the batch could be accepted.", List.of(results));
+        }
+
+        List<Ledger.Leg> legs = new ArrayList<>(3);
+        legs.add(Ledger.Leg.debit(request.fromAccountId(), amount + fees));
+        legs.add(Ledger.Leg.credit(Ledger.REMITTANCE_CLEARING, amount));
+        if (fees > 0) {
+            legs.add(Ledger.Leg.credit(Ledger.FEE_INCOME, fees));
+        }
+        // As for a single remittance, the limits (and here the velocity) are only kept for a posted batch
+        Ledger.Shortfall shortfall = null;
+        boolean posted = false;
+        try {
+            shortfall = ledger.post(batchId, "Bulk remittance of " + accepted.size() + " transfers", legs);
+            posted = shortfall == null;
+        } finally {
+            if (!posted) {
+                for (BulkLine line : accepted) {
+                    giveBack(request.customerId(), line, initiatedAt);
+                }
+            }
+        }
+        if (shortfall != null) {
+            String message = String.format("Insufficient funds in %s for the batch: %s %,.2f available, %s %,.2f required including fees.",
+                    shortfall.accountId(), shortfall.currency(), Money.fromMinor(shortfall.available()),
+                    shortfall.currency(), Money.fromMinor(shortfall.required()));
+            for (BulkLine line : accepted) {
+                results[line.index()] = bulkLineResult(batchId, line.index(), line.transfer(), "FAILED", message, line.fees());
+            }
+            return bulkFailure(batchId, message, List.of(results));
+        }
+        financialAggregates.updateDepositBalance(request.customerId(), request.fromAccountId(),
+                Money.fromMinor(ledger.balance(request.fromAccountId())));
+
+        String referenceNumber = nextId("REF");
+        for (BulkLine line : accepted) {
+            BulkRemittanceLineResult result = bulkLineResult(batchId, line.index(), line.transfer(), "PROCESSING",
+                    "Funds will be credited to the recipient within 1-2 business days.", line.fees());
+            results[line.index()] = result;
+            BulkRemittanceTransfer transfer = line.transfer();
+            recordPosting(request.customerId(), result.transactionId(), request.fromAccountId(), "DEBIT",
+                    line.amount() + line.feesInAed(), getExchangeRate(transfer.currency()),
+                    "Remittance to " + transfer.recipientName(), transfer.recipientName(), "REMITTANCE", referenceNumber);
+            remittanceHistory.record(request.customerId(), new RemittanceTransaction(
+                    result.transactionId(), referenceNumber, transfer.recipientName(), transfer.recipientCountry(),
+                    transfer.amount(), transfer.currency(), "PROCESSING", line.fees(), LocalDateTime.now(), null,
+                    transfer.purpose()));
+        }
+        int rejected = lines.size() - accepted.size();
+        return new BulkRemittanceResponse(
+                batchId,
+                referenceNumber,
+                rejected == 0 ? "PROCESSING" : "PARTIAL",
+                accepted.size() + " of " + lines.size() + " transfers accepted"
+                        + (rejected == 0 ? "." : "; see the rejected lines for what they need."),
+                accepted.size(),
+                rejected,
+                Money.fromMinor(amount + fees),
+                Money.fromMinor(fees),
+                List.of(results),
+                LocalDateTime.now()
+        );
+    }
+
+    // Undoes a bulk line's limit consumption and velocity initiation
+    private void giveBack(String customerId, BulkLine line, long initiatedAt) {
+        transactionLimits.release(customerId, line.amount());
+        velocityMonitor.withdrawInitiation(customerId, recipientKey(line.transfer().recipientAccountNumber()),
+                line.amount(), initiatedAt);
+    }
+
+    private static BulkRemittanceLineResult bulkLineResult(String batchId, int index, BulkRemittanceTransfer transfer,
+                                                           String status, String message, BigDecimal fees) {
+        return new BulkRemittanceLineResult(
+                index + 1,
+                batchId + "-" + (index + 1),
+                transfer == null ? null : transfer.recipientName(),
+                status,
+                message,
+                transfer == null ? null : transfer.amount(),
+                transfer == null ? null : transfer.currency(),
+                fees
+        );
+    }
+
+    private static BulkRemittanceResponse bulkFailure(String batchId, String message, List<BulkRemittanceLineResult> lines) {
+        return new BulkRemittanceResponse(
+                batchId,
+                null,
+                "FAILED",
+                message,
+                0,
+                lines.size(),
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                lines,
+                LocalDateTime.now()
+        );
+    }
+
     @Tool(description = "Check if customer has an account in specific currency")
-    public CurrencyAccountResponse checkCurrencyAccount(CheckCurrencyAccountRequest request, ToolContext context) {
-        log.info("Checking currency account for customer: {} currency: {}", request.customerId(), request.currency());
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<CurrencyAccountResponse> checkCurrencyAccount(CheckCurrencyAccountRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Checking currency account for customer: {} currency: {}", request.customerId(), request.currency());
+            return findCurrencyAccount(request);
+        });
+    }
 
-        Set<String> currencies = customerCurrencyAccounts.getOrDefault(request.customerId(), new HashSet<>());
-        boolean hasAccount = currencies.contains(request.currency());
+    private CurrencyAccountResponse findCurrencyAccount(CheckCurrencyAccountRequest request) {
+        String accountId = currencyAccounts.getOrDefault(request.customerId(), Map.of()).get(request.currency());
 
-        if (hasAccount) {
+        if (accountId != null) {
             return new CurrencyAccountResponse(
                     request.customerId(),
                     request.currency(),
                     true,
-                    "ACC" + request.currency() + "_" + request.customerId(),
-                    new BigDecimal("2500.00"), // Example balance
+                    accountId,
+                    Money.fromMinor(ledger.snapshot(accountId).available()),
                     "SUCCESS",
                     "Customer has " + request.currency() + " account",
                     null
@@ -451,86 +1104,258 @@ public class BankingService {
         }
     }
 
-    @Tool(description = "Convert currency between customer accounts")
-    public CurrencyConversionResponse convertCurrency(CurrencyConversionRequest request, ToolContext context) {
-        log.info("Converting currency for customer: {} from {} to {}",
-                request.customerId(), request.fromCurrency(), request.toCurrency());
+    @Tool(description = "Convert currency between the customer's currency accounts. The debit and the credit either both "
+            + "post or neither does, and balances show both of them or neither")
+    @AuthorizedTool(ROLE_PAYMENTS)
+    public Mono<CurrencyConversionResponse> convertCurrency(CurrencyConversionRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Converting currency for customer: {} from {} to {}",
+                    request.customerId(), request.fromCurrency(), request.toCurrency());
+            return executeCurrencyConversion(request);
+        });
+    }
 
+    // Debits the source currency account and credits the target in one ledger journal, through
+    // the FX position accounts of both currencies; the fee is taken in the source currency
+    private CurrencyConversionResponse executeCurrencyConversion(CurrencyConversionRequest request) {
         // Check if customer has both currency accounts
-        Set<String> currencies = customerCurrencyAccounts.getOrDefault(request.customerId(), new HashSet<>());
+        Map<String, String> accounts = currencyAccounts.getOrDefault(request.customerId(), Map.of());
+        String fromAccountId = accounts.get(request.fromCurrency());
+        String toAccountId = accounts.get(request.toCurrency());
 
-        if (!currencies.contains(request.fromCurrency()) || !currencies.contains(request.toCurrency())) {
-            return new CurrencyConversionResponse(
-                    null,
-                    "FAILED",
-                    "Customer does not have required currency accounts",
-                    BigDecimal.ZERO,
-                    BigDecimal.ZERO,
-                    BigDecimal.ZERO,
-                    LocalDateTime.now()
-            );
+        if (fromAccountId == null || toAccountId == null) {
+            return conversionFailure("Customer does not have required currency accounts");
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            return conversionFailure("Source and target currencies must differ");
+        }
+        if (request.amount() == null || request.amount().signum() <= 0) {
+            return conversionFailure("Amount must be positive");
         }
 
         BigDecimal exchangeRate = getExchangeRate(request.fromCurrency(), request.toCurrency());
-        BigDecimal convertedAmount = request.amount().multiply(exchangeRate);
-        BigDecimal fees = request.amount().multiply(new BigDecimal("0.005")); // 0.5% fee
+        BigDecimal fees = request.amount().multiply(CONVERSION_FEE_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal convertedAmount = request.amount().subtract(fees).multiply(exchangeRate).setScale(2, RoundingMode.HALF_UP);
+        long amount = Money.toMinor(request.amount());
+        long fee = Money.toMinor(fees);
+        long converted = Money.toMinor(convertedAmount);
+        if (converted <= 0) {
+            return conversionFailure("Amount is too small to convert");
+        }
 
-        String transactionId = "FX" + System.currentTimeMillis();
+        String transactionId = nextId("FX");
+        List<Ledger.Leg> legs = new ArrayList<>(5);
+        legs.add(Ledger.Leg.debit(fromAccountId, amount));
+        legs.add(Ledger.Leg.credit(ledger.houseAccount(Ledger.FX_POSITION, request.fromCurrency()), amount - fee));
+        if (fee > 0) {
+            legs.add(Ledger.Leg.credit(ledger.houseAccount(Ledger.FEE_INCOME, request.fromCurrency()), fee));
+        }
+        legs.add(Ledger.Leg.debit(ledger.houseAccount(Ledger.FX_POSITION, request.toCurrency()), converted));
+        legs.add(Ledger.Leg.credit(toAccountId, converted));
+        String description = "Currency conversion " + request.fromCurrency() + " to " + request.toCurrency();
+        Ledger.Shortfall shortfall = ledger.post(transactionId, description, legs);
+        if (shortfall != null) {
+            return conversionFailure(String.format("Insufficient funds in %s account: %s %,.2f available, %s %,.2f required.",
+                    shortfall.currency(), shortfall.currency(), Money.fromMinor(shortfall.available()),
+                    shortfall.currency(), Money.fromMinor(shortfall.required())));
+        }
+        recordConversionLeg(request.customerId(), transactionId, fromAccountId, "DEBIT",
+                amountInAed(request.amount(), request.fromCurrency()), getExchangeRate(request.fromCurrency()), description);
+        recordConversionLeg(request.customerId(), transactionId, toAccountId, "CREDIT",
+                amountInAed(convertedAmount, request.toCurrency()), getExchangeRate(request.toCurrency()), description);
 
         return new CurrencyConversionResponse(
                 transactionId,
                 "COMPLETED",
                 "Currency conversion completed successfully",
-                convertedAmount.subtract(fees),
+                convertedAmount,
                 exchangeRate,
                 fees,
                 LocalDateTime.now()
         );
     }
 
-    @Tool(description = "Get remittance transaction history")
-    public RemittanceHistoryResponse getRemittanceHistory(RemittanceHistoryRequest request, ToolContext context) {
-        log.info("Getting remittance history for customer: {}", request.customerId());
+    private static CurrencyConversionResponse conversionFailure(String message) {
+        return new CurrencyConversionResponse(
+                null,
+                "FAILED",
+                message,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                LocalDateTime.now()
+        );
+    }
 
-        // Sample transaction history
-        List<RemittanceTransaction> transactions = List.of(
-                new RemittanceTransaction(
-                        "REM001",
-                        "REF2024001",
-                        "John Smith",
-                        "United States",
-                        new BigDecimal("5000.00"),
-                        "USD",
-                        "COMPLETED",
-                        new BigDecimal("25.00"),
-                        LocalDateTime.now().minusDays(5),
-                        LocalDateTime.now().minusDays(3),
-                        "Family Support"
-                ),
-                new RemittanceTransaction(
-                        "REM002",
-                        "REF2024002",
-                        "Maria Garcia",
-                        "Philippines",
-                        new BigDecimal("2000.00"),
-                        "PHP",
-                        "PROCESSING",
-                        new BigDecimal("15.00"),
-                        LocalDateTime.now().minusDays(1),
-                        null,
-                        "Personal Transfer"
-                )
+    @Tool(description = "Get the customer's daily, monthly and yearly transfer limits with current usage and reset dates")
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<CustomerLimitsResponse> getCustomerLimits(CustomerLimitsRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Getting transfer limits for customer: {}", request.customerId());
+            return getCustomerLimitsData(request.customerId());
+        });
+    }
+
+    private CustomerLimitsResponse getCustomerLimitsData(String customerId) {
+        if (!CUSTOMER_MAP.containsKey(customerId)) {
+            return new CustomerLimitsResponse(customerId, List.of(), null, null, "FAILURE", "Customer not found");
+        }
+        String kycLevel = customerKycStatus.getOrDefault(customerId, "BASIC");
+        List<TransactionLimits> limits = new ArrayList<>();
+        for (LimitUsage usage : transactionLimits.usage(customerId, kycLevel)) {
+            limits.add(new TransactionLimits(
+                    usage.period().name(),
+                    Money.fromMinor(usage.used()),
+                    Money.fromMinor(usage.limit()),
+                    TransactionLimitsStore.CURRENCY,
+                    usage.resetDate()
+            ));
+        }
+        return new CustomerLimitsResponse(
+                customerId,
+                limits,
+                kycLevel,
+                customerTokenStatus.getOrDefault(customerId, "BASIC"),
+                "SUCCESS",
+                "Transfer limits retrieved successfully"
         );
+    }
+
+    // Account numbers compare without spaces and case
+    private static String recipientKey(String accountNumber) {
+        return accountNumber == null ? null : accountNumber.replace(" ", "").toUpperCase(Locale.ROOT);
+    }
+
+    private long amountInAed(BigDecimal amount, String currency) {
+        return Money.toMinor(amount.multiply(getExchangeRate(currency)));
+    }
+
+    /**
+     * Records a movement on a customer account that has just been posted to the ledger as a
+     * transaction of that account, so it reaches the same views as the opening history. Amounts
+     * are AED minor units, as in the rest of the transaction data; the running balance is the
+     * account's ledger balance in its own currency.
+     */
+    private void recordPosting(String customerId, String transactionId, String accountId, String transactionType,
+                               long amountInAed, BigDecimal exchangeRate, String description, String merchantName,
+                               String category, String referenceNumber) {
+        recordTransaction(customerId, postedTransaction(transactionId, accountId, transactionType, amountInAed,
+                exchangeRate, description, merchantName, category, referenceNumber));
+        refreshDepositBalance(customerId, accountId);
+    }
+
+    /**
+     * Records one leg of a currency conversion. The money stays with the customer, so the leg is
+     * searchable but is neither income nor spending: it stays out of the aggregates' cash flow
+     * and out of the spending analytics. Only the account's balance is refreshed.
+     */
+    private void recordConversionLeg(String customerId, String transactionId, String accountId, String transactionType,
+                                     long amountInAed, BigDecimal exchangeRate, String description) {
+        transactionSearch.add(customerId, postedTransaction(transactionId, accountId, transactionType, amountInAed,
+                exchangeRate, description, "Currency Exchange", "CURRENCY_EXCHANGE", transactionId));
+        refreshDepositBalance(customerId, accountId);
+    }
+
+    private Transaction postedTransaction(String transactionId, String accountId, String transactionType,
+                                          long amountInAed, BigDecimal exchangeRate, String description,
+                                          String merchantName, String category, String referenceNumber) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Transaction(
+                transactionId,
+                accountId,
+                transactionType,
+                Money.fromMinor("CREDIT".equals(transactionType) ? amountInAed : -amountInAed),
+                "AED",
+                description,
+                merchantName,
+                category,
+                now,
+                now,
+                "POSTED",
+                referenceNumber,
+                Money.fromMinor(ledger.balance(accountId)),
+                "ONLINE",
+                "Mobile Banking",
+                "MCC0000",
+                transactionId,
+                exchangeRate
+        );
+    }
+
+    // The aggregates hold deposit balances in AED, whatever the account's currency. The balance
+    // is read under the aggregate's lock, so concurrent postings can't leave an older one behind.
+    private void refreshDepositBalance(String customerId, String accountId) {
+        BigDecimal toAed = getExchangeRate(ledger.currency(accountId));
+        financialAggregates.refreshDepositBalance(customerId, accountId,
+                () -> Money.fromMinor(ledger.balance(accountId)).multiply(toAed));
+    }
+
+    // Every view built from a customer's transactions: aggregates and rollups, search, spending analytics
+    private void recordTransaction(String customerId, Transaction transaction) {
+        financialAggregates.recordTransaction(customerId, transaction);
+        transactionSearch.add(customerId, transaction);
+        spendingAnalytics.add(customerId, transaction);
+    }
+
+    private static String limitExceededMessage(LimitUsage exceeded) {
+        String period = exceeded.period().name().charAt(0) + exceeded.period().name().substring(1).toLowerCase();
+        return String.format("%s transfer limit of %s %,.2f would be exceeded (%s %,.2f remaining). The limit resets on %s.",
+                period, TransactionLimitsStore.CURRENCY, Money.fromMinor(exceeded.limit()),
+                TransactionLimitsStore.CURRENCY, Money.fromMinor(exceeded.remaining()), exceeded.resetDate());
+    }
+
+    @Tool(description = "Get remittance transaction history, newest first. Optionally filter by date range and status; "
+            + "results are paged (pageSize, default 20) and nextPageToken is passed back as pageToken for the next page")
+    @AuthorizedTool(ROLE_ACCOUNTS_READ)
+    public Mono<RemittanceHistoryResponse> getRemittanceHistory(RemittanceHistoryRequest request, ToolContext context) {
+        return offload(() -> {
+            log.debug("Getting remittance history for customer: {}", request.customerId());
+            return getRemittanceHistoryData(request);
+        });
+    }
+
+    private RemittanceHistoryResponse getRemittanceHistoryData(RemittanceHistoryRequest request) {
+        int pageSize = request.pageSize() == null || request.pageSize() <= 0
+                ? DEFAULT_HISTORY_PAGE_SIZE
+                : Math.min(request.pageSize(), MAX_HISTORY_PAGE_SIZE);
+        RemittanceHistoryStore.Page page;
+        try {
+            page = remittanceHistory.query(request.customerId(), request.fromDate(), request.toDate(),
+                    request.status(), pageSize, request.pageToken());
+        } catch (NumberFormatException e) {
+            return new RemittanceHistoryResponse(request.customerId(), List.of(), 0, null, "FAILED",
+                    "Invalid page token.");
+        }
 
         return new RemittanceHistoryResponse(
                 request.customerId(),
-                transactions,
-                transactions.size(),
+                page.transactions(),
+                page.totalCount(),
+                page.nextPageToken(),
                 "SUCCESS",
                 "Remittance history retrieved successfully"
         );
     }
 
+    // Records the remittance in the customer's history, keeping when it was first recorded
+    private void recordRemittance(String customerId, String transactionId, String referenceNumber,
+                                  InitiateRemittanceRequest remittance, String status, BigDecimal fees) {
+        RemittanceTransaction previous = remittanceHistory.find(customerId, transactionId);
+        remittanceHistory.record(customerId, new RemittanceTransaction(
+                transactionId,
+                referenceNumber,
+                remittance.recipientName(),
+                remittance.recipientCountry(),
+                remittance.amount(),
+                remittance.currency(),
+                status,
+                fees,
+                previous == null ? LocalDateTime.now() : previous.initiatedAt(),
+                null,
+                remittance.purpose()
+        ));
+    }
+
     // Add this record as a nested class or in EnhancedBankingRecords.java
     public record PendingTransactionStatusResponse(
             String transactionId,
@@ -607,8 +1432,9 @@ public class BankingService {
     }
 
     // ======== HELPER METHODS ========
+    // Fee and rate helpers are package-private so the JMH benchmarks can call them directly
 
-    private BigDecimal calculateRemittanceFees(BigDecimal amount, String currency) {
+    BigDecimal calculateRemittanceFees(BigDecimal amount, String currency) {
         BigDecimal feeRate = switch (currency) {
             case "USD" -> new BigDecimal("0.005"); // 0.5%
             case "EUR" -> new BigDecimal("0.006"); // 0.6%
@@ -628,7 +1454,7 @@ public class BankingService {
         };
     }
 
-    private BigDecimal getExchangeRate(String fromCurrency, String toCurrency) {
+    BigDecimal getExchangeRate(String fromCurrency, String toCurrency) {
         if (fromCurrency.equals(toCurrency)) return BigDecimal.ONE;
 
         // Convert to AED first, then to target currency
@@ -764,7 +1590,35 @@ public class BankingService {
         };
     }
 
+    // Opening balances overlaid with the account's current ledger snapshot
     private GetBalanceByAccountResponse getBalanceByAccountData(String accountId) {
+        GetBalanceByAccountResponse opening = openingBalanceData(accountId);
+        Ledger.AccountBalance live = ledger.snapshot(accountId);
+        if (opening.balance() == null || live == null || live.version() == 0) {
+            return opening;
+        }
+        Balance balance = opening.balance();
+        return new GetBalanceByAccountResponse(
+                new Balance(
+                        balance.accountId(),
+                        balance.accountNumber(),
+                        Money.fromMinor(live.current()),
+                        Money.fromMinor(live.available()),
+                        Money.fromMinor(live.held()),
+                        balance.currency(),
+                        LocalDateTime.ofInstant(live.updatedAt(), ZoneId.systemDefault()),
+                        balance.overdraftLimit(),
+                        balance.minimumBalance(),
+                        balance.monthlyInterestEarned(),
+                        balance.yearToDateInterestEarned()
+                ),
+                opening.status(),
+                opening.message(),
+                opening.responseTime()
+        );
+    }
+
+    private GetBalanceByAccountResponse openingBalanceData(String accountId) {
         return switch (accountId) {
             case "ACC001" -> {
                 Balance balance = new Balance(
@@ -1565,7 +2419,7 @@ public class BankingService {
                 CustomerProfile profile = getCustomerProfileData(customerId).customerProfile();
 
                 // Account Summaries
-                List<AccountSummary> accounts = List.of(
+                List<AccountSummary> accounts = Stream.of(
                         new AccountSummary(
                                 "ACC001", "CHECKING", "Premium Checking Account",
                                 new BigDecimal("9350.48"), new BigDecimal("8616.73"), "AED",
@@ -1576,7 +2430,7 @@ public class BankingService {
                                 new BigDecimal("55125.00"), new BigDecimal("55125.00"), "AED",
                                 new BigDecimal("3.25"), "ACTIVE", new BigDecimal("448.12")
                         )
-                );
+                ).map(this::withLiveBalance).toList();
 
                 // Loan Summaries
                 List<LoanSummary> loans = List.of(
@@ -1603,41 +2457,14 @@ public class BankingService {
                 );
 
                 // Investment Summary
-                InvestmentSummary investments = new InvestmentSummary(
-                        new BigDecimal("73405.00"), new BigDecimal("2620.00"),
-                        new BigDecimal("3.70"), 4, "AED"
-                );
-
-                // Transaction Summary (last 30 days)
-                TransactionSummary transactionSummary = new TransactionSummary(
-                        new BigDecimal("8705.07"), // Total debits
-                        new BigDecimal("22000.00"), // Total credits (salary)
-                        new BigDecimal("13294.93"), // Net cash flow
-                        "HOUSING", new BigDecimal("7350.00"), // Top category
-                        1, new BigDecimal("7350.00") // Pending transactions
-                );
-
-                // Financial Metrics
-                BigDecimal totalAssets = new BigDecimal("137880.48"); // Accounts + Investments
-                BigDecimal totalLiabilities = new BigDecimal("1700236.34"); // Loans + Credit Card
-                BigDecimal netWorth = totalAssets.subtract(totalLiabilities);
-
-                FinancialMetrics metrics = new FinancialMetrics(
-                        totalAssets, totalLiabilities, netWorth,
-                        new BigDecimal("22000.00"), // Monthly income
-                        new BigDecimal("8705.07"), // Monthly expenses
-                        new BigDecimal("77.3"), // Debt-to-income ratio (1700236/22000)
-                        new BigDecimal("6.9"), // Liquidity ratio (liquid assets/monthly expenses)
-                        "MODERATE_RISK" // Overall health
-                );
+                InvestmentSummary investments = investmentSummary(customerId);
 
-                // Upcoming Payments
-                UpcomingPayments upcomingPayments = new UpcomingPayments(
-                        List.of("2024-06-10", "2024-06-15", "2024-06-20"),
-                        List.of("Personal Loan Payment", "Home Loan Payment", "Credit Card Minimum Payment"),
-                        List.of(new BigDecimal("1547.25"), new BigDecimal("9525.75"), new BigDecimal("220.54")),
-                        new BigDecimal("11293.54")
-                );
+                // Transaction summary, metrics and upcoming payments are maintained incrementally;
+                // the metrics take the portfolio at the value shown above
+                FinancialAggregateStore.FinancialAggregate aggregate = financialAggregates.get(customerId);
+                TransactionSummary transactionSummary = aggregate.transactionSummary();
+                FinancialMetrics metrics = aggregate.financialMetrics(investments.totalPortfolioValue());
+                UpcomingPayments upcomingPayments = aggregate.upcomingPayments();
 
                 FinancialOverview overview = new FinancialOverview(
                         profile, accounts, loans, creditCards, investments,
@@ -1656,7 +2483,7 @@ public class BankingService {
                 CustomerProfile profile = getCustomerProfileData(customerId).customerProfile();
 
                 // Account Summaries
-                List<AccountSummary> accounts = List.of(
+                List<AccountSummary> accounts = Stream.of(
                         new AccountSummary(
                                 "ACC004", "CHECKING", "Business Current Account",
                                 new BigDecimal("125430.75"), new BigDecimal("118680.75"), "AED",
@@ -1667,7 +2494,7 @@ public class BankingService {
                                 new BigDecimal("485750.25"), new BigDecimal("485750.25"), "AED",
                                 new BigDecimal("2.85"), "ACTIVE", new BigDecimal("1156.75")
                         )
-                );
+                ).map(this::withLiveBalance).toList();
 
                 // Loan Summaries
                 List<LoanSummary> loans = List.of(
@@ -1687,41 +2514,14 @@ public class BankingService {
                 List<CreditCardSummary> creditCards = List.of();
 
                 // Investment Summary
-                InvestmentSummary investments = new InvestmentSummary(
-                        new BigDecimal("54250.00"), new BigDecimal("3400.00"),
-                        new BigDecimal("6.69"), 2, "AED"
-                );
-
-                // Transaction Summary (last 30 days)
-                TransactionSummary transactionSummary = new TransactionSummary(
-                        new BigDecimal("25125.75"), // Total debits
-                        new BigDecimal("85000.00"), // Total credits (business income)
-                        new BigDecimal("59874.25"), // Net cash flow
-                        "BUSINESS_EXPENSE", new BigDecimal("5512.50"), // Top category
-                        0, BigDecimal.ZERO // No pending transactions
-                );
+                InvestmentSummary investments = investmentSummary(customerId);
 
-                // Financial Metrics
-                BigDecimal totalAssets = new BigDecimal("665431.00"); // Accounts + Investments
-                BigDecimal totalLiabilities = new BigDecimal("541125.00"); // Loans only
-                BigDecimal netWorth = totalAssets.subtract(totalLiabilities);
-
-                FinancialMetrics metrics = new FinancialMetrics(
-                        totalAssets, totalLiabilities, netWorth,
-                        new BigDecimal("85000.00"), // Monthly income
-                        new BigDecimal("25125.75"), // Monthly expenses
-                        new BigDecimal("6.4"), // Debt-to-income ratio (541125/85000)
-                        new BigDecimal("24.3"), // Liquidity ratio
-                        "EXCELLENT" // Overall health
-                );
-
-                // Upcoming Payments
-                UpcomingPayments upcomingPayments = new UpcomingPayments(
-                        List.of("2024-06-05", "2024-06-20"),
-                        List.of("Auto Loan Payment", "Business Loan Payment"),
-                        List.of(new BigDecimal("2756.25"), new BigDecimal("5896.75")),
-                        new BigDecimal("8653.00")
-                );
+                // Transaction summary, metrics and upcoming payments are maintained incrementally;
+                // the metrics take the portfolio at the value shown above
+                FinancialAggregateStore.FinancialAggregate aggregate = financialAggregates.get(customerId);
+                TransactionSummary transactionSummary = aggregate.transactionSummary();
+                FinancialMetrics metrics = aggregate.financialMetrics(investments.totalPortfolioValue());
+                UpcomingPayments upcomingPayments = aggregate.upcomingPayments();
 
                 FinancialOverview overview = new FinancialOverview(
                         profile, accounts, loans, creditCards, investments,
@@ -1744,7 +2544,181 @@ public class BankingService {
         };
     }
 
+    // The opening summary with the ledger's balances once the account has moved, as in getBalanceByAccountData
+    private AccountSummary withLiveBalance(AccountSummary summary) {
+        Ledger.AccountBalance live = ledger.snapshot(summary.accountId());
+        if (live == null || live.version() == 0) {
+            return summary;
+        }
+        return new AccountSummary(
+                summary.accountId(),
+                summary.accountType(),
+                summary.accountName(),
+                Money.fromMinor(live.current()),
+                Money.fromMinor(live.available()),
+                summary.currency(),
+                summary.interestRate(),
+                summary.status(),
+                summary.monthlyInterestEarned()
+        );
+    }
+
+    private GetSpendingBreakdownResponse getSpendingBreakdownData(String customerId, Integer days, LocalDate toDate) {
+        if (!CUSTOMER_MAP.containsKey(customerId)) {
+            return new GetSpendingBreakdownResponse(
+                    customerId, null, null, BigDecimal.ZERO, BigDecimal.ZERO, List.of(),
+                    "FAILURE", "Customer not found"
+            );
+        }
+
+        List<String> accountIds = getAccountsData(customerId).accounts().stream().map(Account::accountId).toList();
+        LocalDate windowEnd = toDate != null ? toDate : transactionRollups.latestActivity(accountIds);
+        if (windowEnd == null) {
+            return new GetSpendingBreakdownResponse(
+                    customerId, null, null, BigDecimal.ZERO, BigDecimal.ZERO, List.of(),
+                    "SUCCESS", "No transactions available"
+            );
+        }
+
+        int windowDays = Math.min(days == null || days < 1 ? 30 : days, TransactionRollups.HORIZON_DAYS);
+        LocalDate windowStart = windowEnd.minusDays(windowDays - 1);
+        TransactionRollups.WindowTotals totals = transactionRollups.window(accountIds, windowStart, windowEnd);
+
+        List<CategorySpending> categories = totals.categories().entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().debits(), a.getValue().debits()))
+                .map(entry -> new CategorySpending(
+                        entry.getKey(),
+                        Money.fromMinor(entry.getValue().debits()),
+                        Money.fromMinor(entry.getValue().credits()),
+                        entry.getValue().count(),
+                        totals.debits() == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(entry.getValue().debits() * 100)
+                                .divide(BigDecimal.valueOf(totals.debits()), 2, RoundingMode.HALF_UP)
+                ))
+                .toList();
+
+        return new GetSpendingBreakdownResponse(
+                customerId,
+                windowStart,
+                windowEnd,
+                Money.fromMinor(totals.debits()),
+                Money.fromMinor(totals.credits()),
+                categories,
+                "SUCCESS",
+                "Spending breakdown retrieved successfully"
+        );
+    }
+
+    private SearchTransactionsResponse searchTransactionsData(SearchTransactionsRequest request) {
+        if (!CUSTOMER_MAP.containsKey(request.customerId())) {
+            return new SearchTransactionsResponse(request.customerId(), request.query(), 0, BigDecimal.ZERO,
+                    BigDecimal.ZERO, List.of(), "FAILURE", "Customer not found");
+        }
+        if (TransactionSearchIndex.tokens(request.query()).isEmpty()) {
+            return new SearchTransactionsResponse(request.customerId(), request.query(), 0, BigDecimal.ZERO,
+                    BigDecimal.ZERO, List.of(), "FAILURE", "Query must contain at least one word");
+        }
+        int limit = request.limit() == null || request.limit() <= 0
+                ? DEFAULT_SEARCH_LIMIT
+                : Math.min(request.limit(), MAX_SEARCH_LIMIT);
+        TransactionSearchIndex.Result result = transactionSearch.search(request.customerId(), request.query(),
+                request.fromDate(), request.toDate(), limit);
+
+        return new SearchTransactionsResponse(
+                request.customerId(),
+                request.query(),
+                result.totalMatches(),
+                Money.fromMinor(result.debits()),
+                Money.fromMinor(result.credits()),
+                result.transactions(),
+                "SUCCESS",
+                result.totalMatches() == 0 ? "No matching transactions" : "Transactions retrieved successfully"
+        );
+    }
+
+    private SpendingAnalyticsResponse analyzeSpendingData(SpendingAnalyticsRequest request) {
+        if (!CUSTOMER_MAP.containsKey(request.customerId())) {
+            return new SpendingAnalyticsResponse(request.customerId(), request.groupBy(), request.fromDate(),
+                    request.toDate(), BigDecimal.ZERO, 0, List.of(), "FAILURE", "Customer not found");
+        }
+        SpendingAnalytics.GroupBy groupBy;
+        try {
+            groupBy = request.groupBy() == null
+                    ? SpendingAnalytics.GroupBy.CATEGORY
+                    : SpendingAnalytics.GroupBy.valueOf(request.groupBy().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return new SpendingAnalyticsResponse(request.customerId(), request.groupBy(), request.fromDate(),
+                    request.toDate(), BigDecimal.ZERO, 0, List.of(), "FAILURE",
+                    "groupBy must be one of " + Arrays.toString(SpendingAnalytics.GroupBy.values()));
+        }
+
+        SpendingAnalytics.Totals totals = spendingAnalytics.aggregate(request.customerId(), groupBy,
+                request.fromDate(), request.toDate());
+        // Categories and merchants largest first; anything by month stays chronological
+        Stream<SpendingAnalytics.Group> ordered = groupBy == SpendingAnalytics.GroupBy.CATEGORY
+                || groupBy == SpendingAnalytics.GroupBy.MERCHANT
+                ? totals.groups().stream().sorted(Comparator.comparingLong(SpendingAnalytics.Group::spent).reversed())
+                : totals.groups().stream();
+        List<SpendingGroup> groups = ordered
+                .map(group -> new SpendingGroup(
+                        group.category(),
+                        group.merchant(),
+                        group.month() == null ? null : YearMonth.from(group.month()).toString(),
+                        Money.fromMinor(group.spent()),
+                        group.count(),
+                        Money.fromMinor(group.spent()).divide(BigDecimal.valueOf(group.count()), 2, RoundingMode.HALF_UP),
+                        totals.spent() == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(group.spent() * 100)
+                                .divide(BigDecimal.valueOf(totals.spent()), 2, RoundingMode.HALF_UP)
+                ))
+                .toList();
+
+        return new SpendingAnalyticsResponse(
+                request.customerId(),
+                groupBy.name(),
+                request.fromDate(),
+                request.toDate(),
+                Money.fromMinor(totals.spent()),
+                totals.count(),
+                groups,
+                "SUCCESS",
+                groups.isEmpty() ? "No spending in the requested period" : "Spending analysis retrieved successfully"
+        );
+    }
+
     private GetInvestmentPortfolioResponse getInvestmentPortfolioData(String customerId) {
+        if (!portfolioValuation.hasPortfolio(customerId)) {
+            return new GetInvestmentPortfolioResponse(
+                    customerId,
+                    List.of(),
+                    BigDecimal.ZERO,
+                    BigDecimal.ZERO,
+                    BigDecimal.ZERO,
+                    PortfolioValuation.CURRENCY,
+                    "FAILURE",
+                    "Customer not found or no investments available"
+            );
+        }
+        PortfolioValuation.Totals totals = portfolioValuation.totals(customerId);
+        return new GetInvestmentPortfolioResponse(
+                customerId,
+                portfolioValuation.investments(customerId),
+                totals.marketValue(),
+                totals.gainLoss(),
+                totals.gainLossPercentage(),
+                PortfolioValuation.CURRENCY,
+                "SUCCESS",
+                "Investment portfolio retrieved successfully"
+        );
+    }
+
+    // Constant time: read from the valuation's running totals
+    private InvestmentSummary investmentSummary(String customerId) {
+        PortfolioValuation.Totals totals = portfolioValuation.totals(customerId);
+        return new InvestmentSummary(totals.marketValue(), totals.gainLoss(), totals.gainLossPercentage(),
+                totals.positions(), PortfolioValuation.CURRENCY);
+    }
+
+    // Positions as booked, with the prices they were last marked at before startup
+    private List<Investment> openingInvestmentsData(String customerId) {
         return switch (customerId) {
             case "Aman" -> {
                 List<Investment> investments = List.of(
@@ -1810,16 +2784,7 @@ public class BankingService {
                         )
                 );
 
-                yield new GetInvestmentPortfolioResponse(
-                        "Aman",
-                        investments,
-                        new BigDecimal("73405.00"), // Total portfolio value
-                        new BigDecimal("2620.00"), // Total gain/loss
-                        new BigDecimal("3.70"), // Total gain/loss %
-                        "AED",
-                        "SUCCESS",
-                        "Investment portfolio retrieved successfully"
-                );
+                yield investments;
             }
             case "Sarah" -> {
                 List<Investment> investments = List.of(
@@ -1855,27 +2820,9 @@ public class BankingService {
                         )
                 );
 
-                yield new GetInvestmentPortfolioResponse(
-                        "Sarah",
-                        investments,
-                        new BigDecimal("54250.00"), // Total portfolio value
-                        new BigDecimal("3400.00"), // Total gain/loss
-                        new BigDecimal("6.69"), // Total gain/loss %
-                        "AED",
-                        "SUCCESS",
-                        "Investment portfolio retrieved successfully"
-                );
+                yield investments;
             }
-            default -> new GetInvestmentPortfolioResponse(
-                    customerId,
-                    List.of(),
-                    BigDecimal.ZERO,
-                    BigDecimal.ZERO,
-                    BigDecimal.ZERO,
-                    "AED",
-                    "FAILURE",
-                    "Customer not found or no investments available"
-            );
+            default -> List.of();
         };
     }
 }
\ No newline at end of file
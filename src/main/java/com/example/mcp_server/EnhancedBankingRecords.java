@@ -55,6 +55,48 @@ public class EnhancedBankingRecords {
             LocalDateTime executionTime
     ) {}
 
+    // Bulk Remittance Records
+    public record BulkRemittanceTransfer(
+            String recipientName,
+            String recipientCountry,
+            String recipientBank,
+            String recipientAccountNumber,
+            BigDecimal amount,
+            String currency,
+            String purpose,
+            String relationship
+    ) {}
+
+    public record BulkRemittanceRequest(
+            String customerId,
+            String fromAccountId,
+            List<BulkRemittanceTransfer> transfers
+    ) {}
+
+    public record BulkRemittanceLineResult(
+            int line, // 1-based position in the request
+            String transactionId,
+            String recipientName,
+            String status, // PROCESSING, INVALID, COMPLIANCE_REVIEW, KYC_REQUIRED, TOKEN_ELEVATION_REQUIRED, LIMIT_EXCEEDED, FAILED
+            String message,
+            BigDecimal amount,
+            String currency,
+            BigDecimal fees
+    ) {}
+
+    public record BulkRemittanceResponse(
+            String batchId,
+            String referenceNumber,
+            String status, // PROCESSING, PARTIAL, FAILED
+            String message,
+            Integer acceptedCount,
+            Integer rejectedCount,
+            BigDecimal amountDebited, // accepted transfers and fees, in AED
+            BigDecimal totalFees, // in AED
+            List<BulkRemittanceLineResult> lines,
+            LocalDateTime executionTime
+    ) {}
+
     // Currency Conversion Records
     public record CheckCurrencyAccountRequest(
             String customerId,
@@ -143,7 +185,9 @@ public class EnhancedBankingRecords {
             String customerId,
             LocalDateTime fromDate,
             LocalDateTime toDate,
-            String status
+            String status,
+            Integer pageSize,
+            String pageToken
     ) {}
 
     public record RemittanceTransaction(
@@ -164,6 +208,7 @@ public class EnhancedBankingRecords {
             String customerId,
             List<RemittanceTransaction> transactions,
             Integer totalCount,
+            String nextPageToken,
             String status,
             String message
     ) {}
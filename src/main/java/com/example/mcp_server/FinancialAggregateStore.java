@@ -0,0 +1,276 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.FinancialMetrics;
+import com.example.mcp_server.BankingRecords.Transaction;
+import com.example.mcp_server.BankingRecords.TransactionSummary;
+import com.example.mcp_server.BankingRecords.UpcomingPayments;
+import com.example.mcp_server.TransactionRollups.CategoryTotals;
+import com.example.mcp_server.TransactionRollups.WindowTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Materialized per-customer financial aggregates.
+ * <p>
+ * Every balance, transaction or loan change is applied as a delta to running totals and the
+ * derived {@link FinancialAggregate} is republished immediately, so the financial overview
+ * only ever reads a precomputed snapshot and never walks raw history. Trailing-window
+ * transaction figures come from the daily buckets in {@link TransactionRollups}.
+ * <p>
+ * Investments are not held here: their value moves with every price tick, so the overview
+ * adds the portfolio's running market value from {@link PortfolioValuation} when it reads the
+ * metrics, and a tick never republishes anything.
+ */
+@Component
+@RequiredArgsConstructor
+public class FinancialAggregateStore {
+
+    static final int WINDOW_DAYS = 30;
+    static final String CURRENCY = "AED";
+
+    /**
+     * A customer's published figures; {@code financialMetrics} counts deposits as the only
+     * assets, {@link #financialMetrics(BigDecimal)} adds the investment portfolio.
+     */
+    public record FinancialAggregate(
+            TransactionSummary transactionSummary,
+            FinancialMetrics financialMetrics,
+            UpcomingPayments upcomingPayments
+    ) {
+
+        public FinancialMetrics financialMetrics(BigDecimal investmentValue) {
+            BigDecimal totalAssets = financialMetrics.totalAssets().add(investmentValue);
+            return new FinancialMetrics(
+                    totalAssets,
+                    financialMetrics.totalLiabilities(),
+                    totalAssets.subtract(financialMetrics.totalLiabilities()),
+                    financialMetrics.monthlyIncome(),
+                    financialMetrics.monthlyExpenses(),
+                    financialMetrics.debtToIncomeRatio(),
+                    financialMetrics.liquidityRatio(),
+                    financialMetrics.overallFinancialHealth()
+            );
+        }
+    }
+
+    private record UpcomingPayment(LocalDate dueDate, String description, long amount) {
+    }
+
+    private final Map<String, CustomerAggregate> aggregates = new ConcurrentHashMap<>();
+
+    private final TransactionRollups rollups;
+
+    public FinancialAggregate get(String customerId) {
+        CustomerAggregate aggregate = aggregates.get(customerId);
+        return aggregate == null ? null : aggregate.snapshot;
+    }
+
+    public void updateDepositBalance(String customerId, String accountId, BigDecimal balance) {
+        refreshDepositBalance(customerId, accountId, () -> balance);
+    }
+
+    /**
+     * Like {@link #updateDepositBalance}, but reads the balance while holding the customer's
+     * aggregate, so when two refreshes race the later read is the one kept.
+     */
+    public void refreshDepositBalance(String customerId, String accountId, Supplier<BigDecimal> balance) {
+        CustomerAggregate aggregate = aggregate(customerId);
+        synchronized (aggregate) {
+            long minor = Money.toMinor(balance.get());
+            Long previous = aggregate.depositBalances.put(accountId, minor);
+            aggregate.liquidAssets += minor - (previous == null ? 0L : previous);
+            publish(aggregate);
+        }
+    }
+
+    public void updateCreditBalance(String customerId, String accountId, BigDecimal balance) {
+        CustomerAggregate aggregate = aggregate(customerId);
+        synchronized (aggregate) {
+            long minor = Money.toMinor(balance);
+            Long previous = aggregate.creditBalances.put(accountId, minor);
+            aggregate.liabilities += minor - (previous == null ? 0L : previous);
+            publish(aggregate);
+        }
+    }
+
+    public void updateLoanBalance(String customerId, String loanId, BigDecimal balance) {
+        CustomerAggregate aggregate = aggregate(customerId);
+        synchronized (aggregate) {
+            long minor = Money.toMinor(balance);
+            Long previous = aggregate.loanBalances.put(loanId, minor);
+            aggregate.liabilities += minor - (previous == null ? 0L : previous);
+            publish(aggregate);
+        }
+    }
+
+    public void updateMonthlyIncome(String customerId, BigDecimal monthlyIncome) {
+        CustomerAggregate aggregate = aggregate(customerId);
+        synchronized (aggregate) {
+            aggregate.monthlyIncome = Money.toMinor(monthlyIncome);
+            publish(aggregate);
+        }
+    }
+
+    /**
+     * Registers (or replaces) the next due payment of an obligation such as a loan instalment
+     * or a card minimum payment.
+     */
+    public void updateUpcomingPayment(String customerId, String obligationId, LocalDate dueDate,
+                                      String description, BigDecimal amount) {
+        CustomerAggregate aggregate = aggregate(customerId);
+        synchronized (aggregate) {
+            UpcomingPayment payment = new UpcomingPayment(dueDate, description, Money.toMinor(amount));
+            UpcomingPayment previous = aggregate.upcomingPayments.put(obligationId, payment);
+            aggregate.upcomingTotal += payment.amount() - (previous == null ? 0L : previous.amount());
+            publish(aggregate);
+        }
+    }
+
+    /**
+     * Adds a transaction to the customer's figures. Recording a pending transaction again under
+     * the same id replaces it, and once it is recorded with any other status it stops counting
+     * as pending; it was already added to the daily buckets when first seen. Amounts must be in
+     * {@value #CURRENCY}.
+     */
+    public void recordTransaction(String customerId, Transaction transaction) {
+        if (!CURRENCY.equals(transaction.currency())) {
+            throw new IllegalArgumentException("Financial aggregates are kept in " + CURRENCY + "; transaction "
+                    + transaction.transactionId() + " is in " + transaction.currency());
+        }
+        CustomerAggregate aggregate = aggregate(customerId);
+        synchronized (aggregate) {
+            long amount = Math.abs(Money.toMinor(transaction.amount()));
+            Long pending = "PENDING".equals(transaction.status())
+                    ? aggregate.pending.put(transaction.transactionId(), amount)
+                    : aggregate.pending.remove(transaction.transactionId());
+            if (pending == null) {
+                rollups.record(transaction);
+            } else {
+                aggregate.pendingAmount -= pending;
+            }
+            if ("PENDING".equals(transaction.status())) {
+                aggregate.pendingAmount += amount;
+            }
+            aggregate.accountIds.add(transaction.accountId());
+            publish(aggregate);
+        }
+    }
+
+    private CustomerAggregate aggregate(String customerId) {
+        return aggregates.computeIfAbsent(customerId, id -> new CustomerAggregate());
+    }
+
+    /**
+     * Trailing window anchored at the most recent activity day seen for the customer.
+     */
+    private WindowTotals trailingWindow(CustomerAggregate aggregate) {
+        LocalDate latest = rollups.latestActivity(aggregate.accountIds);
+        if (latest == null) {
+            return new WindowTotals(0, 0, 0, Map.of());
+        }
+        return rollups.window(aggregate.accountIds, latest.minusDays(WINDOW_DAYS - 1), latest);
+    }
+
+    private void publish(CustomerAggregate aggregate) {
+        aggregate.publish(trailingWindow(aggregate));
+    }
+
+    private static final class CustomerAggregate {
+
+        // All amounts are held in minor units
+        private final Map<String, Long> depositBalances = new HashMap<>();
+        private final Map<String, Long> creditBalances = new HashMap<>();
+        private final Map<String, Long> loanBalances = new HashMap<>();
+        private final Map<String, UpcomingPayment> upcomingPayments = new HashMap<>();
+        private final Set<String> accountIds = new HashSet<>();
+        // Pending transaction id -> amount
+        private final Map<String, Long> pending = new HashMap<>();
+
+        private long liquidAssets;
+        private long liabilities;
+        private long monthlyIncome;
+        private long upcomingTotal;
+        private long pendingAmount;
+
+        private volatile FinancialAggregate snapshot;
+
+        private void publish(WindowTotals window) {
+            long debits = window.debits();
+            long credits = window.credits();
+
+            String topCategory = null;
+            long topCategoryAmount = 0;
+            for (Map.Entry<String, CategoryTotals> category : window.categories().entrySet()) {
+                if (category.getValue().debits() > topCategoryAmount) {
+                    topCategory = category.getKey();
+                    topCategoryAmount = category.getValue().debits();
+                }
+            }
+
+            TransactionSummary transactionSummary = new TransactionSummary(
+                    Money.fromMinor(debits),
+                    Money.fromMinor(credits),
+                    Money.fromMinor(credits - debits),
+                    topCategory,
+                    Money.fromMinor(topCategoryAmount),
+                    pending.size(),
+                    Money.fromMinor(pendingAmount)
+            );
+
+            BigDecimal debtToIncome = ratio(liabilities, monthlyIncome);
+            FinancialMetrics financialMetrics = new FinancialMetrics(
+                    Money.fromMinor(liquidAssets),
+                    Money.fromMinor(liabilities),
+                    Money.fromMinor(liquidAssets - liabilities),
+                    Money.fromMinor(monthlyIncome),
+                    Money.fromMinor(debits),
+                    debtToIncome,
+                    ratio(liquidAssets, debits),
+                    financialHealth(debtToIncome)
+            );
+
+            List<UpcomingPayment> payments = new ArrayList<>(upcomingPayments.values());
+            payments.sort((a, b) -> a.dueDate().compareTo(b.dueDate()));
+            UpcomingPayments upcoming = new UpcomingPayments(
+                    payments.stream().map(p -> p.dueDate().toString()).toList(),
+                    payments.stream().map(UpcomingPayment::description).toList(),
+                    payments.stream().map(p -> Money.fromMinor(p.amount())).toList(),
+                    Money.fromMinor(upcomingTotal)
+            );
+
+            snapshot = new FinancialAggregate(transactionSummary, financialMetrics, upcoming);
+        }
+
+        private static BigDecimal ratio(long numerator, long denominator) {
+            if (denominator == 0) {
+                return BigDecimal.ZERO;
+            }
+            return BigDecimal.valueOf(numerator).divide(BigDecimal.valueOf(denominator), 1, RoundingMode.HALF_UP);
+        }
+
+        // Debt-to-income expressed as total liabilities over monthly income
+        private static String financialHealth(BigDecimal debtToIncome) {
+            double dti = debtToIncome.doubleValue();
+            if (dti <= 12) {
+                return "EXCELLENT";
+            } else if (dti <= 36) {
+                return "GOOD";
+            } else if (dti <= 100) {
+                return "MODERATE_RISK";
+            }
+            return "HIGH_RISK";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.mcp_server;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for a market data feed: every {@code app.investments.price-feed.interval} each
+ * priced instrument moves by a random amount of up to {@code max-move-bps} basis points, and the
+ * tick is applied to {@link PortfolioValuation}. It only runs when
+ * {@code app.investments.price-feed.enabled} is set.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvestmentPriceFeed implements SmartLifecycle {
+
+    private static final BigDecimal MINIMUM_PRICE = new BigDecimal("0.0001");
+
+    private final PortfolioValuation valuation;
+
+    @Value("${app.investments.price-feed.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.investments.price-feed.interval:1s}")
+    private Duration interval;
+
+    @Value("${app.investments.price-feed.max-move-bps:25}")
+    private int maxMoveBps;
+
+    private volatile Disposable ticker;
+
+    /**
+     * Moves every instrument once.
+     */
+    public void tick() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (String symbol : valuation.symbols()) {
+            BigDecimal price = valuation.price(symbol);
+            BigDecimal move = BigDecimal.valueOf(random.nextInt(-maxMoveBps, maxMoveBps + 1), 4);
+            BigDecimal next = price.add(price.multiply(move)).setScale(4, RoundingMode.HALF_UP);
+            valuation.updatePrice(symbol, next.max(MINIMUM_PRICE));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ticker = Flux.interval(interval, interval, Schedulers.boundedElastic())
+                .subscribe(tick -> {
+                    try {
+                        tick();
+                    } catch (RuntimeException e) {
+                        log.warn("Price feed tick failed", e);
+                    }
+                });
+    }
+
+    @Override
+    public void stop() {
+        Disposable subscription = ticker;
+        if (subscription != null) {
+            subscription.dispose();
+            ticker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.mcp_server;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Double-entry ledger of the funds moved by the payment tools, in minor units.
+ * <p>
+ * A journal is a set of debit and credit legs that sum to zero in each currency, so a currency
+ * conversion is one journal through the {@link #FX_POSITION} accounts of both currencies. Each
+ * customer account's balance is an immutable, versioned {@link AccountBalance} swapped by
+ * compare-and-set: posting reads the current snapshot, checks it and installs the next
+ * version, retrying if another journal got there first. Journals on different accounts never
+ * touch the same memory, and reading a balance never waits. The version doubles as the
+ * account's entry sequence number.
+ * <p>
+ * Customer accounts have a floor (the negative of their overdraft limit) on their available
+ * balance. A journal that changes one customer account installs its next version with a
+ * single CAS. A journal that changes several, such as a conversion's debit and credit, claims
+ * them in account id order: each gets its next version together with the journal's
+ * {@link Commit}, and keeps showing its previous balance while the commit is open. Once every
+ * debit has cleared its floor, one volatile write releases the commit and all of the journal's
+ * balances become visible at the same instant; if a debit would breach its floor, the claims
+ * are dropped and no account ever shows the journal. A journal that meets an account claimed
+ * by another waits for the release, and since claims are taken in id order they cannot
+ * deadlock. Journals are thus atomic in outcome and in visibility across customer accounts.
+ * <p>
+ * House accounts ({@link #FEE_INCOME}, {@link #REMITTANCE_CLEARING}, {@link #FX_POSITION})
+ * take a leg of nearly every journal, so they are striped instead: a {@link LongAdder} that
+ * spreads concurrent updates over per-core cells and is summed on read. Journals for
+ * different customers thus share no contended memory and scale with cores. House accounts
+ * keep no entries or update time; their postings are visible from the customer side.
+ * <p>
+ * Contention shows in {@code ledger.balance.cas.retries} relative to
+ * {@code ledger.balance.updates}. Each customer account keeps its last
+ * {@code app.ledger.retained-entries} entries for inspection.
+ */
+@Component
+public class Ledger {
+
+    public static final String FEE_INCOME = "GL-FEE-INCOME";
+    public static final String REMITTANCE_CLEARING = "GL-REMITTANCE-CLEARING";
+    public static final String FX_POSITION = "GL-FX-POSITION";
+
+    static final String UPDATES = "ledger.balance.updates";
+    static final String CAS_RETRIES = "ledger.balance.cas.retries";
+    static final String REJECTED = "ledger.journals.rejected";
+
+    public enum Side {
+        DEBIT, CREDIT
+    }
+
+    /**
+     * One side of a journal: {@code amount} (positive, minor units) debited from or credited to
+     * an account.
+     */
+    public record Leg(String accountId, Side side, long amount) {
+
+        public static Leg debit(String accountId, long amount) {
+            return new Leg(accountId, Side.DEBIT, amount);
+        }
+
+        public static Leg credit(String accountId, long amount) {
+            return new Leg(accountId, Side.CREDIT, amount);
+        }
+
+        long signedAmount() {
+            return side == Side.CREDIT ? amount : -amount;
+        }
+    }
+
+    /**
+     * An account's balance after its {@code version}-th posting; {@code updatedAt} is
+     * {@code null} until the first one.
+     */
+    public record AccountBalance(long version, long current, long held, Instant updatedAt) {
+
+        public long available() {
+            return current - held;
+        }
+    }
+
+    /**
+     * A journal's net effect on one account, with the account's sequence number and resulting
+     * balance.
+     */
+    public record Entry(long sequence, String journalId, String narrative, Side side, long amount, long balanceAfter,
+                        Instant postedAt) {
+    }
+
+    /**
+     * Why a journal was rejected: posting it would take {@code accountId} below its floor.
+     */
+    public record Shortfall(String accountId, String currency, long available, long required) {
+    }
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final int retainedEntries;
+    private final Clock clock;
+    private final Counter customerUpdates;
+    private final Counter houseUpdates;
+    private final Counter casRetries;
+    private final Counter rejected;
+
+    @Autowired
+    public Ledger(@Value("${app.ledger.retained-entries:1000}") int retainedEntries, MeterRegistry meterRegistry) {
+        this(retainedEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    Ledger(int retainedEntries, MeterRegistry meterRegistry, Clock clock) {
+        if (retainedEntries < 0) {
+            throw new IllegalArgumentException("app.ledger.retained-entries must not be negative");
+        }
+        this.retainedEntries = retainedEntries;
+        this.clock = clock;
+        this.customerUpdates = Counter.builder(UPDATES)
+                .description("Account balance updates")
+                .tag("account", "customer")
+                .register(meterRegistry);
+        this.houseUpdates = Counter.builder(UPDATES)
+                .description("Account balance updates")
+                .tag("account", "house")
+                .register(meterRegistry);
+        this.casRetries = Counter.builder(CAS_RETRIES)
+                .description("Customer balance updates retried because another journal changed the account first")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED)
+                .description("Journals rejected for insufficient funds")
+                .register(meterRegistry);
+        openHouseAccount(FEE_INCOME, TransactionLimitsStore.CURRENCY);
+        openHouseAccount(REMITTANCE_CLEARING, TransactionLimitsStore.CURRENCY);
+        openHouseAccount(FX_POSITION, TransactionLimitsStore.CURRENCY);
+    }
+
+    /**
+     * Opens a customer account with its opening and held balances; its available balance may
+     * not go below {@code -overdraftLimit}. Does nothing if the account is already open.
+     */
+    public void openAccount(String accountId, String currency, long current, long held, long overdraftLimit) {
+        accounts.putIfAbsent(accountId, new CustomerAccount(accountId, currency, current, held, -overdraftLimit));
+    }
+
+    /**
+     * Opens an internal account without a floor. Does nothing if the account is already open.
+     */
+    public void openHouseAccount(String accountId, String currency) {
+        accounts.putIfAbsent(accountId, new HouseAccount(accountId, currency));
+    }
+
+    /**
+     * The id of house account {@code base} (e.g. {@link #FX_POSITION}) in {@code currency},
+     * opening it if needed: {@code base} itself for AED, {@code base-<currency>} otherwise.
+     */
+    public String houseAccount(String base, String currency) {
+        String accountId = TransactionLimitsStore.CURRENCY.equals(currency) ? base : base + "-" + currency;
+        if (!accounts.containsKey(accountId)) {
+            openHouseAccount(accountId, currency);
+        }
+        return accountId;
+    }
+
+    public boolean hasAccount(String accountId) {
+        return accountId != null && accounts.containsKey(accountId);
+    }
+
+    /**
+     * The currency the account is held in, or {@code null} if it isn't open.
+     */
+    public String currency(String accountId) {
+        Account account = accountId == null ? null : accounts.get(accountId);
+        return account == null ? null : account.currency;
+    }
+
+    /**
+     * The account's current snapshot, or {@code null} if it isn't open. Never blocks.
+     */
+    public AccountBalance snapshot(String accountId) {
+        Account account = accountId == null ? null : accounts.get(accountId);
+        return account == null ? null : account.snapshot();
+    }
+
+    public long balance(String accountId) {
+        return account(accountId).snapshot().current();
+    }
+
+    /**
+     * The retained entries of an account, oldest first. Entries of postings still in flight may
+     * be missing.
+     */
+    public List<Entry> entries(String accountId) {
+        List<Entry> entries = new ArrayList<>();
+        if (!(account(accountId) instanceof CustomerAccount account) || account.recent == null) {
+            return entries;
+        }
+        long head = account.snapshot().version();
+        for (long sequence = Math.max(1, head - retainedEntries + 1); sequence <= head; sequence++) {
+            Entry entry = account.recent.get(slot(sequence));
+            if (entry != null && entry.sequence() == sequence) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Posts a balanced journal. Returns {@code null} once it is posted, or the shortfall that
+     * rejected it.
+     *
+     * @throws IllegalArgumentException if the legs don't balance in every currency or name an
+     *                                  account that isn't open
+     */
+    public Shortfall post(String journalId, String narrative, List<Leg> legs) {
+        Map<Account, Long> changes = netChanges(legs);
+        List<CustomerAccount> customers = new ArrayList<>(changes.size());
+        changes.forEach((account, change) -> {
+            if (account instanceof CustomerAccount customer) {
+                customers.add(customer);
+            }
+        });
+
+        Instant now = clock.instant();
+        if (customers.size() == 1) {
+            CustomerAccount account = customers.get(0);
+            long change = changes.get(account);
+            Shortfall shortfall = account.install(null, journalId, narrative, change, now);
+            if (shortfall != null) {
+                rejected.increment();
+                return shortfall;
+            }
+        } else if (!customers.isEmpty()) {
+            Shortfall shortfall = postTogether(customers, changes, journalId, narrative, now);
+            if (shortfall != null) {
+                rejected.increment();
+                return shortfall;
+            }
+        }
+        changes.forEach((account, change) -> {
+            if (account instanceof HouseAccount house) {
+                house.apply(change);
+            }
+        });
+        return null;
+    }
+
+    // Claims every account in id order, then releases them all with one write
+    private Shortfall postTogether(List<CustomerAccount> customers, Map<Account, Long> changes, String journalId,
+                                   String narrative, Instant now) {
+        customers.sort(Comparator.comparing(account -> account.id));
+        Commit commit = new Commit();
+        State[] claims = new State[customers.size()];
+        for (int i = 0; i < customers.size(); i++) {
+            CustomerAccount account = customers.get(i);
+            Shortfall shortfall = account.install(commit, journalId, narrative, changes.get(account), now);
+            if (shortfall != null) {
+                for (int done = 0; done < i; done++) {
+                    customers.get(done).abandon(claims[done]);
+                }
+                return shortfall;
+            }
+            // Nobody else replaces a claimed state
+            claims[i] = account.state.get();
+        }
+        commit.released = true;
+        for (int i = 0; i < customers.size(); i++) {
+            CustomerAccount account = customers.get(i);
+            account.settle(claims[i], journalId, narrative, changes.get(account), now);
+        }
+        return null;
+    }
+
+    private Map<Account, Long> netChanges(List<Leg> legs) {
+        if (legs.size() < 2) {
+            throw new IllegalArgumentException("A journal needs at least one debit and one credit");
+        }
+        Map<Account, Long> changes = new LinkedHashMap<>();
+        Map<String, Long> sums = new HashMap<>(2);
+        for (Leg leg : legs) {
+            if (leg.amount() <= 0) {
+                throw new IllegalArgumentException("Leg amounts must be positive: " + leg);
+            }
+            Account account = account(leg.accountId());
+            sums.merge(account.currency, leg.signedAmount(), Math::addExact);
+            changes.merge(account, leg.signedAmount(), Math::addExact);
+        }
+        sums.forEach((currency, sum) -> {
+            if (sum != 0) {
+                throw new IllegalArgumentException("Journal does not balance in " + currency
+                        + ": debits and credits differ by " + sum);
+            }
+        });
+        changes.values().removeIf(change -> change == 0);
+        return changes;
+    }
+
+    private Account account(String accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new IllegalArgumentException("No ledger account " + accountId);
+        }
+        return account;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % retainedEntries);
+    }
+
+    /**
+     * A journal's hold on the customer accounts it changes, released once all of them carry
+     * their next balance.
+     */
+    private static final class Commit {
+
+        private volatile boolean released;
+    }
+
+    /**
+     * A customer account's balance and, while a journal changing it is in flight, that
+     * journal's commit and the balance to show until the commit is released.
+     */
+    private record State(AccountBalance balance, AccountBalance before, Commit commit) {
+
+        AccountBalance visible() {
+            return commit == null || commit.released ? balance : before;
+        }
+
+        boolean claimed() {
+            return commit != null && !commit.released;
+        }
+    }
+
+    private abstract static sealed class Account permits CustomerAccount, HouseAccount {
+
+        final String id;
+        final String currency;
+
+        Account(String id, String currency) {
+            this.id = id;
+            this.currency = currency;
+        }
+
+        abstract AccountBalance snapshot();
+    }
+
+    private final class CustomerAccount extends Account {
+
+        private final long floor;
+        private final AtomicReference<State> state;
+        // Entry of sequence n in slot n % retainedEntries, written after its version is visible
+        private final AtomicReferenceArray<Entry> recent;
+
+        private CustomerAccount(String id, String currency, long current, long held, long floor) {
+            super(id, currency);
+            this.floor = floor;
+            this.state = new AtomicReference<>(new State(new AccountBalance(0, current, held, null), null, null));
+            this.recent = retainedEntries > 0 ? new AtomicReferenceArray<>(retainedEntries) : null;
+        }
+
+        @Override
+        AccountBalance snapshot() {
+            return state.get().visible();
+        }
+
+        /**
+         * Installs the next balance, after waiting out any journal that has the account claimed:
+         * visible and recorded at once without a commit, otherwise claimed for {@code commit}
+         * until {@link #settle} or {@link #abandon}. Debits are checked against the floor.
+         */
+        private Shortfall install(Commit commit, String journalId, String narrative, long change, Instant now) {
+            int retries = 0;
+            try {
+                while (true) {
+                    State current = state.get();
+                    if (current.claimed()) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    AccountBalance balance = current.balance();
+                    if (change < 0 && balance.available() + change < floor) {
+                        return new Shortfall(id, currency, balance.available() - floor, -change);
+                    }
+                    AccountBalance next = new AccountBalance(balance.version() + 1,
+                            Math.addExact(balance.current(), change), balance.held(), now);
+                    State installed = commit == null ? new State(next, null, null) : new State(next, balance, commit);
+                    if (state.compareAndSet(current, installed)) {
+                        customerUpdates.increment();
+                        if (commit == null) {
+                            record(next, journalId, narrative, change, now);
+                        }
+                        return null;
+                    }
+                    retries++;
+                }
+            } finally {
+                if (retries > 0) {
+                    casRetries.increment(retries);
+                }
+            }
+        }
+
+        // Drops a claim whose journal was rejected; only its owner can replace a claimed state
+        private void abandon(State claim) {
+            state.set(new State(claim.before(), null, null));
+        }
+
+        // Records a released claim and forgets its commit, unless the next journal has already moved on
+        private void settle(State claim, String journalId, String narrative, long change, Instant now) {
+            state.compareAndSet(claim, new State(claim.balance(), null, null));
+            record(claim.balance(), journalId, narrative, change, now);
+        }
+
+        private void record(AccountBalance balance, String journalId, String narrative, long change, Instant now) {
+            if (recent != null) {
+                recent.set(slot(balance.version()), new Entry(balance.version(), journalId, narrative,
+                        change < 0 ? Side.DEBIT : Side.CREDIT, Math.abs(change), balance.current(), now));
+            }
+        }
+    }
+
+    private final class HouseAccount extends Account {
+
+        private final LongAdder balance = new LongAdder();
+        private final LongAdder postings = new LongAdder();
+
+        private HouseAccount(String id, String currency) {
+            super(id, currency);
+        }
+
+        @Override
+        AccountBalance snapshot() {
+            return new AccountBalance(postings.sum(), balance.sum(), 0, null);
+        }
+
+        private void apply(long change) {
+            balance.add(change);
+            postings.increment();
+            houseUpdates.increment();
+        }
+    }
+}
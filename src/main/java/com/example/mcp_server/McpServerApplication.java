@@ -1,12 +1,20 @@
 package com.example.mcp_server;
 
-import org.springframework.ai.tool.ToolCallbackProvider;
-import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import com.example.mcp_server.custom.ReactiveToolSpecifications;
+import com.example.mcp_server.custom.ToolInvocationFilter;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
 
 @SpringBootApplication
+@ImportRuntimeHints(BankingRuntimeHints.class)
 public class McpServerApplication {
 
 	public static void main(String[] args) {
@@ -14,7 +22,16 @@ public class McpServerApplication {
 	}
 
 	@Bean
-	public ToolCallbackProvider bankingTools(BankingService bankingService) {
-		return MethodToolCallbackProvider.builder().toolObjects(bankingService).build();
+	public List<McpServerFeatures.AsyncToolSpecification> bankingTools(BankingService bankingService, Scheduler toolScheduler,
+																	   ObjectProvider<ToolInvocationFilter> toolFilters,
+																	   Environment environment) {
+		// app.tools.execution.max-concurrency.<toolName> overrides the default per-tool limit
+		int defaultLimit = environment.getProperty("app.tools.execution.max-concurrency.default", Integer.class, 0);
+		return ReactiveToolSpecifications.builder()
+				.toolObjects(bankingService)
+				.scheduler(toolScheduler)
+				.concurrencyLimits(tool -> environment.getProperty("app.tools.execution.max-concurrency." + tool, Integer.class, defaultLimit))
+				.filters(toolFilters.orderedStream().toList())
+				.build();
 	}
 }
@@ -0,0 +1,25 @@
+package com.example.mcp_server;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between BigDecimal amounts used in the tool records and the
+ * long minor units (fils, cents) kept by the in-memory stores.
+ */
+final class Money {
+
+    private Money() {
+    }
+
+    static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+}
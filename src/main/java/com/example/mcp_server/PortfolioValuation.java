@@ -0,0 +1,237 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Investment;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mark-to-market valuation of customers' investment portfolios.
+ * <p>
+ * Each instrument keeps its last price and, per portfolio holding it, the total quantity held.
+ * A price tick adds {@code quantity * (new - old)} to the market value of exactly those
+ * portfolios, so its cost is the number of portfolios holding the instrument, however many
+ * positions exist overall; nothing is ever revalued from scratch. A portfolio's market value
+ * and cost basis are running totals, so reading them is constant time. Positions are priced
+ * on demand from their instrument's last price when a portfolio is listed.
+ * <p>
+ * Quantities are held to 3 decimals and prices to 4, so values are exact {@code long}s in
+ * units of 10<sup>-7</sup> and running totals never drift. Prices are in the portfolio
+ * currency.
+ */
+@Component
+public class PortfolioValuation {
+
+    public static final String CURRENCY = "AED";
+
+    private static final int QUANTITY_SCALE = 3;
+    private static final int PRICE_SCALE = 4;
+    private static final int VALUE_SCALE = QUANTITY_SCALE + PRICE_SCALE;
+
+    /**
+     * A position as booked: what was bought, how much of it and at what price.
+     */
+    public record Position(String investmentId, String instrumentType, String instrumentName, String symbol,
+                           BigDecimal quantity, BigDecimal purchasePrice, LocalDate purchaseDate, String riskLevel) {
+    }
+
+    public record Totals(BigDecimal marketValue, BigDecimal costBasis, int positions) {
+
+        public BigDecimal gainLoss() {
+            return marketValue.subtract(costBasis);
+        }
+
+        public BigDecimal gainLossPercentage() {
+            if (costBasis.signum() == 0) {
+                return BigDecimal.ZERO;
+            }
+            return gainLoss().multiply(BigDecimal.valueOf(100)).divide(costBasis, 2, RoundingMode.HALF_UP);
+        }
+    }
+
+    private final Map<String, Instrument> instruments = new ConcurrentHashMap<>();
+    private final Map<String, Portfolio> portfolios = new ConcurrentHashMap<>();
+
+    /**
+     * Starts pricing {@code symbol} at {@code price}; does nothing if it is already priced.
+     */
+    public void listInstrument(String symbol, BigDecimal price) {
+        instruments.computeIfAbsent(symbol, s -> new Instrument(toLong(price, PRICE_SCALE)));
+    }
+
+    /**
+     * Applies a price tick: revalues the portfolios holding {@code symbol} and nothing else.
+     */
+    public void updatePrice(String symbol, BigDecimal price) {
+        Instrument instrument = instrument(symbol);
+        long newPrice = toLong(price, PRICE_SCALE);
+        synchronized (instrument) {
+            long change = newPrice - instrument.price;
+            if (change == 0) {
+                return;
+            }
+            for (int i = 0; i < instrument.holderCount; i++) {
+                instrument.holders[i].value.addAndGet(Math.multiplyExact(instrument.quantities[i], change));
+            }
+            instrument.price = newPrice;
+        }
+    }
+
+    public BigDecimal price(String symbol) {
+        Instrument instrument = instruments.get(symbol);
+        return instrument == null ? null : BigDecimal.valueOf(instrument.price, PRICE_SCALE);
+    }
+
+    public Set<String> symbols() {
+        return instruments.keySet();
+    }
+
+    /**
+     * Books a position into the customer's portfolio at the instrument's current price.
+     */
+    public void addPosition(String customerId, Position position) {
+        Instrument instrument = instrument(position.symbol());
+        Portfolio portfolio = portfolios.computeIfAbsent(customerId, id -> new Portfolio());
+        long quantity = toLong(position.quantity(), QUANTITY_SCALE);
+        Holding holding = new Holding(position, instrument, quantity);
+        synchronized (portfolio) {
+            portfolio.holdings.add(holding);
+        }
+        portfolio.cost.addAndGet(Math.multiplyExact(quantity, toLong(position.purchasePrice(), PRICE_SCALE)));
+        // Under the instrument lock so no tick is missed or applied twice
+        synchronized (instrument) {
+            instrument.hold(portfolio, quantity);
+            portfolio.value.addAndGet(Math.multiplyExact(quantity, instrument.price));
+        }
+    }
+
+    public boolean hasPortfolio(String customerId) {
+        return portfolios.containsKey(customerId);
+    }
+
+    /**
+     * The customer's market value, cost basis and position count, without touching any position.
+     */
+    public Totals totals(String customerId) {
+        Portfolio portfolio = portfolios.get(customerId);
+        if (portfolio == null) {
+            return new Totals(BigDecimal.ZERO.setScale(2), BigDecimal.ZERO.setScale(2), 0);
+        }
+        int positions;
+        synchronized (portfolio) {
+            positions = portfolio.holdings.size();
+        }
+        return new Totals(money(portfolio.value.get()), money(portfolio.cost.get()), positions);
+    }
+
+    /**
+     * The customer's positions, each valued at its instrument's last price.
+     */
+    public List<Investment> investments(String customerId) {
+        Portfolio portfolio = portfolios.get(customerId);
+        if (portfolio == null) {
+            return List.of();
+        }
+        List<Holding> holdings;
+        synchronized (portfolio) {
+            holdings = List.copyOf(portfolio.holdings);
+        }
+        List<Investment> investments = new ArrayList<>(holdings.size());
+        for (Holding holding : holdings) {
+            Position position = holding.position();
+            long price = holding.instrument().price;
+            BigDecimal marketValue = money(Math.multiplyExact(holding.quantity(), price));
+            BigDecimal cost = money(Math.multiplyExact(holding.quantity(), toLong(position.purchasePrice(), PRICE_SCALE)));
+            BigDecimal gainLoss = marketValue.subtract(cost);
+            investments.add(new Investment(
+                    position.investmentId(),
+                    position.instrumentType(),
+                    position.instrumentName(),
+                    position.symbol(),
+                    position.quantity(),
+                    displayPrice(price),
+                    marketValue,
+                    position.purchasePrice(),
+                    gainLoss,
+                    cost.signum() == 0 ? BigDecimal.ZERO
+                            : gainLoss.multiply(BigDecimal.valueOf(100)).divide(cost, 2, RoundingMode.HALF_UP),
+                    position.purchaseDate(),
+                    CURRENCY,
+                    position.riskLevel()
+            ));
+        }
+        return investments;
+    }
+
+    private Instrument instrument(String symbol) {
+        Instrument instrument = instruments.get(symbol);
+        if (instrument == null) {
+            throw new IllegalArgumentException("Instrument not priced: " + symbol);
+        }
+        return instrument;
+    }
+
+    private static long toLong(BigDecimal amount, int scale) {
+        return amount.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // At least 2 decimals, up to 4 when the tick has them
+    private static BigDecimal displayPrice(long price) {
+        BigDecimal exact = BigDecimal.valueOf(price, PRICE_SCALE).stripTrailingZeros();
+        return exact.scale() < 2 ? exact.setScale(2) : exact;
+    }
+
+    private static BigDecimal money(long value) {
+        return BigDecimal.valueOf(value, VALUE_SCALE).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record Holding(Position position, Instrument instrument, long quantity) {
+    }
+
+    private static final class Portfolio {
+
+        private final AtomicLong value = new AtomicLong();
+        private final AtomicLong cost = new AtomicLong();
+        // Guarded by this
+        private final List<Holding> holdings = new ArrayList<>();
+    }
+
+    private static final class Instrument {
+
+        private volatile long price;
+        // Guarded by this: the quantity each holding portfolio has in total
+        private final Map<Portfolio, Integer> holderIndex = new HashMap<>();
+        private Portfolio[] holders = new Portfolio[4];
+        private long[] quantities = new long[4];
+        private int holderCount;
+
+        private Instrument(long price) {
+            this.price = price;
+        }
+
+        private void hold(Portfolio portfolio, long quantity) {
+            Integer index = holderIndex.get(portfolio);
+            if (index != null) {
+                quantities[index] += quantity;
+                return;
+            }
+            if (holderCount == holders.length) {
+                holders = Arrays.copyOf(holders, holderCount * 2);
+                quantities = Arrays.copyOf(quantities, holderCount * 2);
+            }
+            holders[holderCount] = portfolio;
+            quantities[holderCount] = quantity;
+            holderIndex.put(portfolio, holderCount++);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.ScreeningIndex.Entry;
+import com.example.mcp_server.ScreeningIndex.Match;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Screens remittance recipients against the watch list in {@code app.screening.watch-list}.
+ * <p>
+ * The list is a text file with one name per line, optionally followed by {@code |country}
+ * to list it only for recipients in that country; blank lines and lines starting with
+ * {@code #} are ignored. It is compiled into a {@link ScreeningIndex} at startup and
+ * recompiled in the background whenever the file's modification time changes (checked every
+ * {@code reload-interval}); the new index replaces the old one with a single volatile write,
+ * so screening never waits for a reload.
+ */
+@Component
+@Slf4j
+public class RecipientScreening implements SmartLifecycle {
+
+    private final Resource watchList;
+    private final Duration reloadInterval;
+    private final int fuzzyMinLength;
+
+    private volatile ScreeningIndex index;
+    private volatile long loadedModified = Long.MIN_VALUE;
+    private volatile Disposable reloader;
+
+    public RecipientScreening(@Value("${app.screening.watch-list:classpath:screening/watch-list.txt}") Resource watchList,
+                              @Value("${app.screening.reload-interval:1m}") Duration reloadInterval,
+                              @Value("${app.screening.fuzzy-min-token-length:4}") int fuzzyMinLength) {
+        this.watchList = watchList;
+        this.reloadInterval = reloadInterval;
+        this.fuzzyMinLength = fuzzyMinLength;
+        this.index = ScreeningIndex.build(List.of(), fuzzyMinLength);
+    }
+
+    /**
+     * The closest watch-list entry the recipient's name matches and that is listed for the
+     * recipient's country, or {@code null} if it is clear.
+     */
+    public Match screen(String recipientName, String recipientCountry) {
+        return index.screen(recipientName, recipientCountry);
+    }
+
+    /**
+     * Recompiles the index from the watch list if the file changed since the last load.
+     */
+    public synchronized void reload() {
+        long modified = lastModified();
+        if (modified == loadedModified) {
+            return;
+        }
+        long start = System.nanoTime();
+        ScreeningIndex loaded;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(watchList.getInputStream(), StandardCharsets.UTF_8))) {
+            List<Entry> entries = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int separator = line.indexOf('|');
+                entries.add(separator < 0
+                        ? new Entry(line, null)
+                        : new Entry(line.substring(0, separator).strip(), line.substring(separator + 1).strip()));
+            }
+            loaded = ScreeningIndex.build(entries, fuzzyMinLength);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load watch list {}, keeping {} screened names", watchList, index.size(), e);
+            return;
+        }
+        index = loaded;
+        loadedModified = modified;
+        log.info("Loaded {} watch-list names from {} in {} ms", index.size(), watchList,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    private long lastModified() {
+        try {
+            return watchList.lastModified();
+        } catch (IOException e) {
+            return 0L; // e.g. inside a jar: loaded once
+        }
+    }
+
+    @Override
+    public void start() {
+        reload();
+        reloader = Flux.interval(reloadInterval, reloadInterval, Schedulers.boundedElastic())
+                .subscribe(tick -> reload());
+    }
+
+    @Override
+    public void stop() {
+        Disposable subscription = reloader;
+        if (subscription != null) {
+            subscription.dispose();
+            reloader = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return reloader != null;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceTransaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.util.json.JsonParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Remittances per customer, ordered by initiation time, for {@code getRemittanceHistory}.
+ * <p>
+ * Each customer has a {@link ConcurrentSkipListMap} keyed by initiation time (millis, with a
+ * per-customer sequence in the low bits to keep keys unique) plus one such map per status,
+ * so a date-range query, with or without a status, seeks straight to the newest match and
+ * walks only the page it returns; {@code totalCount} still counts every match in the range.
+ * Recording a transaction again (e.g. when it executes) replaces it in place and moves it
+ * between status maps. Writers of one customer are serialized; readers never lock. Only the
+ * newest {@code max-per-customer} transactions are kept.
+ * <p>
+ * With {@code app.remittance.history.file} set, every record is also appended to that file
+ * as an NDJSON line and the file is replayed at startup, so history survives restarts. Replay
+ * then rewrites the file with one line per transaction still held, dropping superseded
+ * statuses, evicted transactions and any line cut short by a crash.
+ */
+@Component
+@Slf4j
+public class RemittanceHistoryStore implements SmartLifecycle {
+
+    private static final int SEQUENCE_BITS = 20;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * One page of a query, newest first; pass {@code nextPageToken} back for the next one.
+     */
+    public record Page(List<RemittanceTransaction> transactions, int totalCount, String nextPageToken) {
+    }
+
+    // One line of the history file
+    record HistoryLine(String customerId, RemittanceTransaction transaction) {
+    }
+
+    private final Map<String, CustomerHistory> customers = new ConcurrentHashMap<>();
+    private final int maxPerCustomer;
+    private final Path file;
+    private BufferedWriter writer;
+    private volatile boolean running;
+
+    public RemittanceHistoryStore(@Value("${app.remittance.history.max-per-customer:100000}") int maxPerCustomer,
+                                  @Value("${app.remittance.history.file:}") String file) {
+        if (maxPerCustomer <= 0) {
+            throw new IllegalArgumentException("app.remittance.history.max-per-customer must be positive");
+        }
+        this.maxPerCustomer = maxPerCustomer;
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    /**
+     * Adds the transaction to the customer's history, or replaces the one with the same id.
+     * A replacement keeps its original position, whatever its {@code initiatedAt}.
+     */
+    public void record(String customerId, RemittanceTransaction transaction) {
+        index(customerId, transaction);
+        if (file != null) {
+            append(new HistoryLine(customerId, transaction));
+        }
+    }
+
+    /**
+     * The customer's transactions initiated within {@code [from, to]} (either bound may be
+     * {@code null}) with the given status ({@code null} for any), newest first.
+     */
+    public Page query(String customerId, LocalDateTime from, LocalDateTime to, String status, int pageSize,
+                      String pageToken) {
+        CustomerHistory history = customers.get(customerId);
+        if (history == null) {
+            return new Page(List.of(), 0, null);
+        }
+        NavigableMap<Long, RemittanceTransaction> index = status == null || status.isBlank()
+                ? history.all
+                : history.byStatus.get(status.toUpperCase(Locale.ROOT));
+        if (index == null) {
+            return new Page(List.of(), 0, null);
+        }
+        long low = from == null ? Long.MIN_VALUE : millis(from) << SEQUENCE_BITS;
+        long high = to == null ? Long.MAX_VALUE : (millis(to) << SEQUENCE_BITS) | SEQUENCE_MASK;
+        NavigableMap<Long, RemittanceTransaction> range = index.subMap(low, true, high, true).descendingMap();
+        int totalCount = range.size();
+        if (pageToken != null && !pageToken.isBlank()) {
+            range = range.tailMap(Long.parseLong(pageToken), false);
+        }
+
+        List<RemittanceTransaction> page = new ArrayList<>(Math.min(pageSize, totalCount));
+        Long last = null;
+        for (Map.Entry<Long, RemittanceTransaction> entry : range.entrySet()) {
+            if (page.size() == pageSize) {
+                return new Page(page, totalCount, Long.toString(last));
+            }
+            page.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page(page, totalCount, null);
+    }
+
+    /**
+     * The customer's transaction with the given id, or {@code null}.
+     */
+    public RemittanceTransaction find(String customerId, String transactionId) {
+        CustomerHistory history = customers.get(customerId);
+        if (history == null) {
+            return null;
+        }
+        Long key;
+        synchronized (history) {
+            key = history.keys.get(transactionId);
+        }
+        return key == null ? null : history.all.get(key);
+    }
+
+    int size(String customerId) {
+        CustomerHistory history = customers.get(customerId);
+        return history == null ? 0 : history.all.size();
+    }
+
+    private void index(String customerId, RemittanceTransaction transaction) {
+        CustomerHistory history = customers.computeIfAbsent(customerId, id -> new CustomerHistory());
+        synchronized (history) {
+            Long key = history.keys.get(transaction.transactionId());
+            if (key == null) {
+                key = (millis(transaction.initiatedAt()) << SEQUENCE_BITS) | (history.sequence++ & SEQUENCE_MASK);
+                history.keys.put(transaction.transactionId(), key);
+            } else {
+                RemittanceTransaction previous = history.all.get(key);
+                if (previous != null) {
+                    history.statusIndex(previous.status()).remove(key);
+                }
+            }
+            history.all.put(key, transaction);
+            history.statusIndex(transaction.status()).put(key, transaction);
+
+            while (history.all.size() > maxPerCustomer) {
+                Map.Entry<Long, RemittanceTransaction> oldest = history.all.pollFirstEntry();
+                history.statusIndex(oldest.getValue().status()).remove(oldest.getKey());
+                history.keys.remove(oldest.getValue().transactionId());
+            }
+        }
+    }
+
+    private static long millis(LocalDateTime time) {
+        return (time == null ? LocalDateTime.now() : time).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private synchronized void append(HistoryLine line) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(JsonParser.toJson(line));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.error("Failed to append to remittance history file {}", file, e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (file != null) {
+            try {
+                if (Files.exists(file)) {
+                    replay();
+                } else if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot open remittance history file " + file, e);
+            }
+        }
+        running = true;
+    }
+
+    private void replay() throws IOException {
+        int lines = 0;
+        boolean stale = false;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    stale = true;
+                    continue;
+                }
+                try {
+                    HistoryLine history = JsonParser.fromJson(line, HistoryLine.class);
+                    index(history.customerId(), history.transaction());
+                    lines++;
+                } catch (RuntimeException e) {
+                    // e.g. a line cut short by a crash
+                    log.warn("Skipping unreadable remittance history line in {}: {}", file, e.getMessage());
+                    stale = true;
+                }
+            }
+        }
+        log.info("Replayed {} remittance history records from {}", lines, file);
+        int kept = customers.values().stream().mapToInt(history -> history.all.size()).sum();
+        if (stale || kept < lines) {
+            compact(kept);
+        }
+    }
+
+    // Replaces the file with the current records, oldest first per customer, so a later replay
+    // assigns them the same order
+    private void compact(int kept) throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compacting");
+        try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, CustomerHistory> customer : customers.entrySet()) {
+                for (RemittanceTransaction transaction : customer.getValue().all.values()) {
+                    out.write(JsonParser.toJson(new HistoryLine(customer.getKey(), transaction)));
+                    out.newLine();
+                }
+            }
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Compacted remittance history file {} to {} records", file, kept);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Failed to close remittance history file {}", file, e);
+            }
+            writer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static final class CustomerHistory {
+
+        private final NavigableMap<Long, RemittanceTransaction> all = new ConcurrentSkipListMap<>();
+        private final Map<String, NavigableMap<Long, RemittanceTransaction>> byStatus = new ConcurrentHashMap<>();
+        // Guarded by this
+        private final Map<String, Long> keys = new HashMap<>();
+        private long sequence;
+
+        private NavigableMap<Long, RemittanceTransaction> statusIndex(String status) {
+            return byStatus.computeIfAbsent(status == null ? "UNKNOWN" : status.toUpperCase(Locale.ROOT),
+                    s -> new ConcurrentSkipListMap<>());
+        }
+    }
+}
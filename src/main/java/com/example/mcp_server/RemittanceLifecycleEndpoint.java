@@ -0,0 +1,40 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.RemittanceLifecycleTracker.LatencySummary;
+import com.example.mcp_server.RemittanceLifecycleTracker.Timeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/remittances}: where remittance time-to-complete goes, stage by stage.
+ * {@code /actuator/remittances/{transactionId}} returns the timeline of a single remittance.
+ */
+@Component
+@Endpoint(id = "remittances")
+@RequiredArgsConstructor
+public class RemittanceLifecycleEndpoint {
+
+    public record RemittanceLatencyReport(
+            int activeRemittances,
+            Map<String, LatencySummary> stageWaits,
+            Map<String, LatencySummary> timeToComplete
+    ) {
+    }
+
+    private final RemittanceLifecycleTracker tracker;
+
+    @ReadOperation
+    public RemittanceLatencyReport latencies() {
+        return new RemittanceLatencyReport(tracker.activeCount(), tracker.stageLatencies(), tracker.timeToComplete());
+    }
+
+    @ReadOperation
+    public Timeline timeline(@Selector String transactionId) {
+        return tracker.timeline(transactionId);
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.mcp_server;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Correlates the hops of a remittance by transactionId.
+ * <p>
+ * {@link Stage#INITIATE} opens a {@code remittance} observation that stays open until the
+ * remittance completes or fails; every later hop (verification pages, the simulation REST
+ * completion calls, {@code completeRemittance}) runs in a child {@code remittance.stage}
+ * observation, so with a tracing bridge the whole lifecycle lands in a single trace. The time
+ * spent waiting between hops is recorded per stage and served by {@link RemittanceLifecycleEndpoint}.
+ */
+@Component
+@Slf4j
+public class RemittanceLifecycleTracker {
+
+    static final String STAGE_WAIT = "remittance.stage.wait";
+    static final String TIME_TO_COMPLETE = "remittance.time.to.complete";
+
+    public enum Stage {
+        INITIATE,
+        KYC_PAGE,
+        KYC_COMPLETION,
+        BIOMETRIC_PAGE,
+        BIOMETRIC_COMPLETION,
+        COMPLETE
+    }
+
+    public record StageEvent(Stage stage, Instant at, long sinceInitiatedMillis, long sincePreviousMillis) {
+    }
+
+    public record Timeline(String transactionId, String customerId, Instant initiatedAt, String outcome,
+                           List<StageEvent> events) {
+    }
+
+    public record LatencySummary(long count, double meanMillis, double maxMillis, Map<String, Double> percentilesMillis) {
+    }
+
+    private final ObservationRegistry observationRegistry;
+    private final int maxTracked;
+    private final Duration retention;
+
+    private final Map<String, Lifecycle> lifecycles = new ConcurrentHashMap<>();
+    // Most recent remittance per customer, for completion calls that arrive without a transactionId
+    private final Map<String, String> latestByCustomer = new ConcurrentHashMap<>();
+    private final Map<Stage, Timer> stageWaits = new EnumMap<>(Stage.class);
+    private final Map<String, Timer> timeToComplete = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RemittanceLifecycleTracker(ObservationRegistry observationRegistry, MeterRegistry meterRegistry,
+                                      @Value("${app.remittance.tracking.max-tracked:10000}") int maxTracked,
+                                      @Value("${app.remittance.tracking.retention:24h}") Duration retention) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.maxTracked = maxTracked;
+        this.retention = retention;
+        for (Stage stage : Stage.values()) {
+            stageWaits.put(stage, Timer.builder(STAGE_WAIT)
+                    .description("Time from the previous remittance hop to this one")
+                    .tag("stage", stage.name())
+                    .publishPercentiles(0.5, 0.9, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs one hop of the remittance inside a child span of its lifecycle and records when the
+     * hop happened. {@link Stage#INITIATE} starts the lifecycle. Unknown transactions are still
+     * observed, just not correlated.
+     */
+    public <T> T observe(Stage stage, String transactionId, String customerId, Supplier<T> work) {
+        Lifecycle lifecycle = stage == Stage.INITIATE
+                ? start(transactionId, customerId)
+                : lifecycles.get(transactionId);
+
+        Observation observation = Observation.createNotStarted("remittance.stage", observationRegistry)
+                .contextualName("remittance " + stage.name().toLowerCase())
+                .lowCardinalityKeyValue("stage", stage.name())
+                .highCardinalityKeyValue("remittance.transaction.id", String.valueOf(transactionId));
+        if (lifecycle != null) {
+            observation.parentObservation(lifecycle.observation);
+        }
+        T result = observation.observe(work);
+        if (lifecycle != null) {
+            lifecycle.record(stage, stageWaits.get(stage));
+        }
+        return result;
+    }
+
+    /**
+     * Closes the lifecycle with a terminal outcome (e.g. {@code PROCESSING} or {@code FAILED}).
+     */
+    public void finish(String transactionId, String outcome) {
+        Lifecycle lifecycle = lifecycles.get(transactionId);
+        if (lifecycle == null || !lifecycle.finish(outcome)) {
+            return;
+        }
+        timeToComplete.computeIfAbsent(outcome, o -> Timer.builder(TIME_TO_COMPLETE)
+                        .description("Time from remittance initiation to its terminal outcome")
+                        .tag("outcome", o)
+                        .publishPercentiles(0.5, 0.9, 0.99)
+                        .register(meterRegistry))
+                .record(lifecycle.elapsedNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The given transactionId, or the customer's most recent open remittance when none was sent.
+     */
+    public String resolve(String transactionId, String customerId) {
+        if (transactionId != null && !transactionId.isBlank()) {
+            return transactionId;
+        }
+        String latest = latestByCustomer.get(customerId);
+        if (latest == null) {
+            return null;
+        }
+        Lifecycle lifecycle = lifecycles.get(latest);
+        return lifecycle != null && lifecycle.outcome == null ? latest : null;
+    }
+
+    public Timeline timeline(String transactionId) {
+        Lifecycle lifecycle = lifecycles.get(transactionId);
+        return lifecycle == null ? null : lifecycle.timeline();
+    }
+
+    public Map<String, LatencySummary> stageLatencies() {
+        Map<String, LatencySummary> summaries = new LinkedHashMap<>();
+        stageWaits.forEach((stage, timer) -> summaries.put(stage.name(), summarize(timer)));
+        return summaries;
+    }
+
+    public Map<String, LatencySummary> timeToComplete() {
+        Map<String, LatencySummary> summaries = new LinkedHashMap<>();
+        timeToComplete.forEach((outcome, timer) -> summaries.put(outcome, summarize(timer)));
+        return summaries;
+    }
+
+    public int activeCount() {
+        int active = 0;
+        for (Lifecycle lifecycle : lifecycles.values()) {
+            if (lifecycle.outcome == null) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    private Lifecycle start(String transactionId, String customerId) {
+        if (lifecycles.size() >= maxTracked) {
+            evict();
+        }
+        Observation root = Observation.createNotStarted("remittance", observationRegistry)
+                .contextualName("remittance " + transactionId)
+                .highCardinalityKeyValue("remittance.transaction.id", transactionId)
+                .highCardinalityKeyValue("customer.id", String.valueOf(customerId))
+                .start();
+        Lifecycle lifecycle = new Lifecycle(transactionId, customerId, root);
+        lifecycles.put(transactionId, lifecycle);
+        if (customerId != null) {
+            latestByCustomer.put(customerId, transactionId);
+        }
+        return lifecycle;
+    }
+
+    // Drops lifecycles past the retention period, then the oldest tenth if still over capacity, so
+    // a full tracker sorts once per maxTracked / 10 new remittances rather than on every one
+    private void evict() {
+        long cutoff = System.nanoTime() - retention.toNanos();
+        lifecycles.values().removeIf(lifecycle -> {
+            if (lifecycle.startNanos - cutoff < 0) {
+                lifecycle.finish("ABANDONED");
+                return true;
+            }
+            return false;
+        });
+        int excess = lifecycles.size() - maxTracked + Math.max(1, maxTracked / 10);
+        if (excess > 0) {
+            lifecycles.values().stream()
+                    .sorted(Comparator.comparingLong(lifecycle -> lifecycle.startNanos))
+                    .limit(excess)
+                    .toList()
+                    .forEach(lifecycle -> {
+                        lifecycle.finish("ABANDONED");
+                        lifecycles.remove(lifecycle.transactionId);
+                    });
+            log.warn("Remittance tracking over capacity, evicted {} lifecycles", excess);
+        }
+    }
+
+    private static LatencySummary summarize(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            percentiles.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return new LatencySummary(snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS),
+                snapshot.max(TimeUnit.MILLISECONDS), percentiles);
+    }
+
+    private static final class Lifecycle {
+
+        private final String transactionId;
+        private final String customerId;
+        private final Observation observation;
+        private final Instant initiatedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final List<StageEvent> events = new ArrayList<>();
+        private long lastNanos = startNanos;
+        private volatile String outcome;
+
+        private Lifecycle(String transactionId, String customerId, Observation observation) {
+            this.transactionId = transactionId;
+            this.customerId = customerId;
+            this.observation = observation;
+        }
+
+        private synchronized void record(Stage stage, Timer stageWait) {
+            long now = System.nanoTime();
+            long sincePrevious = now - lastNanos;
+            lastNanos = now;
+            stageWait.record(sincePrevious, TimeUnit.NANOSECONDS);
+            events.add(new StageEvent(stage, Instant.now(),
+                    TimeUnit.NANOSECONDS.toMillis(now - startNanos), TimeUnit.NANOSECONDS.toMillis(sincePrevious)));
+            observation.event(Observation.Event.of("remittance." + stage.name().toLowerCase()));
+        }
+
+        private synchronized boolean finish(String outcome) {
+            if (this.outcome != null) {
+                return false;
+            }
+            this.outcome = outcome;
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.stop();
+            return true;
+        }
+
+        private synchronized long elapsedNanos() {
+            return lastNanos - startNanos;
+        }
+
+        private synchronized Timeline timeline() {
+            return new Timeline(transactionId, customerId, initiatedAt, outcome, List.copyOf(events));
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package com.example.mcp_server;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable screening index over a watch list of names.
+ * <p>
+ * Names are normalized (accents stripped, lower case, punctuation to spaces, honorifics
+ * dropped) and split into tokens, and every distinct token is interned as an int. The listed
+ * names become patterns of token ids in an Aho-Corasick automaton, so one pass over the
+ * recipient's tokens finds every listed name that occurs in it as a phrase. For fuzzy matching
+ * each recipient token also offers the listed tokens within one edit (insertion, deletion,
+ * substitution or transposition): candidates come from a deletion-neighbourhood table kept as
+ * one sorted {@code long[]} and are confirmed with a bounded edit distance, and the automaton
+ * is run over all candidates at once by tracking the set of reachable states. Tokens shorter
+ * than {@code fuzzyMinLength} must match exactly.
+ * <p>
+ * A name listed with a country only matches recipients in that country (compared without
+ * case); the same name may be listed for several countries, and a name listed without one
+ * matches everywhere.
+ */
+final class ScreeningIndex {
+
+    /**
+     * A listed name found in the screened name, with the listed country it matched on
+     * ({@code null} if listed for every country); {@code edits} is 0 for an exact match.
+     */
+    record Match(String listedName, String country, int edits) {
+    }
+
+    record Entry(String name, String country) {
+    }
+
+    // A listed name with its countries; null countries means it is listed for every country
+    private record Listing(String name, List<String> countries) {
+
+        private boolean covers(String country) {
+            return countries == null || country == null || listedCountry(country) != null;
+        }
+
+        private String listedCountry(String country) {
+            if (countries == null || country == null) {
+                return null;
+            }
+            String wanted = country.strip();
+            for (String listed : countries) {
+                if (listed.equalsIgnoreCase(wanted)) {
+                    return listed;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final Set<String> HONORIFICS = Set.of("mr", "mrs", "ms", "miss", "dr", "sir", "sheikh");
+    private static final int ROOT = 0;
+    private static final int HASH_SHIFT = 24;
+    private static final int MAX_TOKENS = 1 << HASH_SHIFT;
+
+    private final Map<String, Integer> tokenIds;
+    private final String[] tokens;
+    private final long[] neighbourhood;
+    private final int fuzzyMinLength;
+
+    // Automaton: transitions keyed by (state, token); per state its failure link, the entry
+    // ending there (-1 if none) and the nearest state on the failure chain with an entry
+    private final LongIntMap transitions;
+    private final int[] failure;
+    private final int[] entryAt;
+    private final int[] outputLink;
+    private final int[] depth;
+    private final Listing[] entries;
+
+    private ScreeningIndex(Map<String, Integer> tokenIds, String[] tokens, long[] neighbourhood, int fuzzyMinLength,
+                           LongIntMap transitions, int[] failure, int[] entryAt, int[] outputLink, int[] depth,
+                           Listing[] entries) {
+        this.tokenIds = tokenIds;
+        this.tokens = tokens;
+        this.neighbourhood = neighbourhood;
+        this.fuzzyMinLength = fuzzyMinLength;
+        this.transitions = transitions;
+        this.failure = failure;
+        this.entryAt = entryAt;
+        this.outputLink = outputLink;
+        this.depth = depth;
+        this.entries = entries;
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    /**
+     * The closest listed name contained in {@code name} and listed for {@code country}, or
+     * {@code null} if there is none. A {@code null} country matches every listing.
+     */
+    Match screen(String name, String country) {
+        List<String> query = normalize(name);
+        if (query.isEmpty() || entries.length == 0) {
+            return null;
+        }
+        int[] active = {ROOT};
+        int activeCount = 1;
+        int[] next = new int[16];
+        Match best = null;
+        for (int position = 0; position < query.size(); position++) {
+            int[] candidates = candidates(query.get(position));
+            int nextCount = 0;
+            for (int a = 0; a < activeCount; a++) {
+                for (int candidate : candidates) {
+                    int state = step(active[a], candidate);
+                    if (state == ROOT || contains(next, nextCount, state)) {
+                        continue;
+                    }
+                    if (nextCount == next.length) {
+                        next = Arrays.copyOf(next, nextCount * 2);
+                    }
+                    next[nextCount++] = state;
+                    for (int output = entryAt[state] >= 0 ? state : outputLink[state]; output > 0; output = outputLink[output]) {
+                        if (!entries[entryAt[output]].covers(country)) {
+                            continue;
+                        }
+                        Match match = match(query, position, output, country);
+                        if (best == null || match.edits() < best.edits()) {
+                            best = match;
+                        }
+                    }
+                }
+            }
+            // Every position can also start a new match
+            if (nextCount == next.length) {
+                next = Arrays.copyOf(next, nextCount + 1);
+            }
+            next[nextCount++] = ROOT;
+            int[] swap = active;
+            active = next;
+            activeCount = nextCount;
+            next = swap.length >= 16 ? swap : new int[16];
+            if (best != null && best.edits() == 0) {
+                return best;
+            }
+        }
+        return best;
+    }
+
+    private Match match(List<String> query, int end, int state, String country) {
+        Listing entry = entries[entryAt[state]];
+        List<String> listed = normalize(entry.name());
+        int start = end - depth[state] + 1;
+        int edits = 0;
+        for (int i = 0; i < listed.size(); i++) {
+            edits += editDistance(query.get(start + i), listed.get(i), 1);
+        }
+        return new Match(entry.name(), entry.listedCountry(country), edits);
+    }
+
+    private int step(int state, int token) {
+        while (true) {
+            int next = transitions.get(key(state, token));
+            if (next >= 0) {
+                return next;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failure[state];
+        }
+    }
+
+    // Listed token ids within one edit of the query token, the exact one first
+    private int[] candidates(String token) {
+        Integer exact = tokenIds.get(token);
+        if (token.length() < fuzzyMinLength) {
+            return exact == null ? new int[0] : new int[]{exact};
+        }
+        int[] found = new int[4];
+        int count = 0;
+        if (exact != null) {
+            found[count++] = exact;
+        }
+        for (int skip = -1; skip < token.length(); skip++) {
+            long hash = hash(token, skip);
+            int index = lowerBound(neighbourhood, hash << HASH_SHIFT);
+            for (; index < neighbourhood.length && neighbourhood[index] >>> HASH_SHIFT == hash; index++) {
+                int id = (int) (neighbourhood[index] & (MAX_TOKENS - 1));
+                if (contains(found, count, id) || editDistance(token, tokens[id], 1) > 1) {
+                    continue;
+                }
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = id;
+            }
+        }
+        return count == found.length ? found : Arrays.copyOf(found, count);
+    }
+
+    static List<String> normalize(String name) {
+        List<String> result = new ArrayList<>(4);
+        if (name == null) {
+            return result;
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= decomposed.length(); i++) {
+            char c = i < decomposed.length() ? decomposed.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                String value = token.toString();
+                if (!HONORIFICS.contains(value)) {
+                    result.add(value);
+                }
+                token.setLength(0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Optimal string alignment distance, or {@code max + 1} as soon as it must exceed {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    // 39-bit FNV-1a of the token with the character at skip left out (-1 keeps all)
+    private static long hash(String token, int skip) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            if (i != skip) {
+                hash ^= token.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash >>> (64 - (63 - HASH_SHIFT));
+    }
+
+    private static long key(int state, int token) {
+        return ((long) state << 32) | token;
+    }
+
+    private static int lowerBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ScreeningIndex build(List<Entry> watchList, int fuzzyMinLength) {
+        Map<String, Integer> tokenIds = new HashMap<>();
+        List<String> tokens = new ArrayList<>();
+        LongIntMap transitions = new LongIntMap(Math.max(16, watchList.size() * 3));
+        IntList entryAt = new IntList();
+        IntList depth = new IntList();
+        // Children per state for the breadth-first pass: first child, next sibling, token
+        IntList firstChild = new IntList();
+        IntList nextSibling = new IntList();
+        IntList childToken = new IntList();
+        entryAt.add(-1);
+        depth.add(0);
+        firstChild.add(-1);
+        nextSibling.add(-1);
+        childToken.add(-1);
+
+        List<Listing> entries = new ArrayList<>();
+        for (Entry entry : watchList) {
+            List<String> pattern = normalize(entry.name());
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = ROOT;
+            for (String token : pattern) {
+                Integer id = tokenIds.get(token);
+                if (id == null) {
+                    if (tokens.size() == MAX_TOKENS) {
+                        throw new IllegalStateException("Watch list has more than " + MAX_TOKENS + " distinct tokens");
+                    }
+                    id = tokens.size();
+                    tokenIds.put(token, id);
+                    tokens.add(token);
+                }
+                int next = transitions.get(key(state, id));
+                if (next < 0) {
+                    next = entryAt.size();
+                    transitions.put(key(state, id), next);
+                    entryAt.add(-1);
+                    depth.add(depth.get(state) + 1);
+                    firstChild.add(-1);
+                    nextSibling.add(firstChild.get(state));
+                    childToken.add(id);
+                    firstChild.set(state, next);
+                }
+                state = next;
+            }
+            String country = entry.country() == null || entry.country().isBlank() ? null : entry.country().strip();
+            if (entryAt.get(state) < 0) {
+                entryAt.set(state, entries.size());
+                entries.add(new Listing(entry.name(), country == null ? null : new ArrayList<>(List.of(country))));
+            } else {
+                // Same name listed again: one listing for every country it was given
+                Listing listing = entries.get(entryAt.get(state));
+                if (country == null) {
+                    entries.set(entryAt.get(state), new Listing(listing.name(), null));
+                } else if (listing.countries() != null && listing.listedCountry(country) == null) {
+                    listing.countries().add(country);
+                }
+            }
+        }
+
+        int states = entryAt.size();
+        int[] failure = new int[states];
+        int[] outputLink = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = ROOT;
+        while (head < tail) {
+            int state = queue[head++];
+            for (int child = firstChild.get(state); child >= 0; child = nextSibling.get(child)) {
+                int token = childToken.get(child);
+                int fallback = ROOT;
+                if (state != ROOT) {
+                    int f = failure[state];
+                    while (true) {
+                        int next = transitions.get(key(f, token));
+                        if (next >= 0) {
+                            fallback = next;
+                            break;
+                        }
+                        if (f == ROOT) {
+                            break;
+                        }
+                        f = failure[f];
+                    }
+                }
+                failure[child] = fallback;
+                outputLink[child] = entryAt.get(fallback) >= 0 ? fallback : outputLink[fallback];
+                queue[tail++] = child;
+            }
+        }
+
+        long[] neighbourhood = new long[tokens.size() * 8];
+        int size = 0;
+        for (int id = 0; id < tokens.size(); id++) {
+            String token = tokens.get(id);
+            if (token.length() < fuzzyMinLength - 1) {
+                continue;
+            }
+            for (int skip = -1; skip < token.length(); skip++) {
+                if (size == neighbourhood.length) {
+                    neighbourhood = Arrays.copyOf(neighbourhood, size * 2);
+                }
+                neighbourhood[size++] = hash(token, skip) << HASH_SHIFT | id;
+            }
+        }
+        neighbourhood = Arrays.copyOf(neighbourhood, size);
+        Arrays.sort(neighbourhood);
+
+        return new ScreeningIndex(tokenIds, tokens.toArray(String[]::new), neighbourhood, fuzzyMinLength, transitions,
+                failure, entryAt.toArray(), outputLink, depth.toArray(), entries.toArray(Listing[]::new));
+    }
+
+    /**
+     * Open-addressing map from non-negative long keys to non-negative ints; -1 when absent.
+     */
+    private static final class LongIntMap {
+
+        private static final long EMPTY = -1;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+                long candidate = keys[index];
+                if (candidate == key) {
+                    return values[index];
+                }
+                if (candidate == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int index = mix(key) & mask;
+            while (keys[index] != EMPTY && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            if (keys[index] == EMPTY) {
+                size++;
+            }
+            keys[index] = key;
+            values[index] = value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9e3779b97f4a7c15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void set(int index, int value) {
+            values[index] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,26 +1,48 @@
-/*
 package com.example.mcp_server;
 
+import com.example.mcp_server.custom.CachingJwtDecoder;
+import com.example.mcp_server.custom.JwtToolRolesResolver;
+import com.example.mcp_server.custom.RefreshingJwkSetSource;
+import com.example.mcp_server.custom.ToolRolesResolver;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+
+/**
+ * OAuth2 resource server: the MCP endpoints and the remaining actuator endpoints need a valid
+ * JWT, verified against the issuer's JWK set. The simulation pages and their API stay open
+ * because users reach them through links handed out in tool responses. With
+ * {@code app.security.jwt.enabled=false} every request is let through.
+ */
 @Configuration
 @EnableWebFluxSecurity
 class SecurityConfig {
 
-    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
-    private String issuerUri;
+    private static final String[] PUBLIC_PATHS = {
+            "/kyc-verification", "/biometric-verification", "/account-opening", "/api/simulation/**",
+            "/heartbeat", "/actuator/health/**", "/actuator/info", "/actuator/prometheus"
+    };
 
     @Bean
+    @ConditionalOnProperty(name = "app.security.jwt.enabled", havingValue = "true", matchIfMissing = true)
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder jwtDecoder) {
         return http
-                .authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers(PUBLIC_PATHS).permitAll()
+                        .anyExchange().authenticated())
                 .oauth2ResourceServer(oAuth2ResourceServerSpec -> oAuth2ResourceServerSpec.jwt(jwt -> jwt.jwtDecoder(jwtDecoder)))
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .cors(ServerHttpSecurity.CorsSpec::disable)
@@ -28,9 +50,42 @@ class SecurityConfig {
     }
 
     @Bean
-    public ReactiveJwtDecoder jwtDecoder() {
-        return NimbusReactiveJwtDecoder.withJwkSetUri(issuerUri).build();
+    @ConditionalOnProperty(name = "app.security.jwt.enabled", havingValue = "false")
+    public SecurityWebFilterChain openFilterChain(ServerHttpSecurity http) {
+        return http
+                .authorizeExchange(exchanges -> exchanges.anyExchange().permitAll())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .cors(ServerHttpSecurity.CorsSpec::disable)
+                .build();
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "app.security.jwt.enabled", havingValue = "true", matchIfMissing = true)
+    public RefreshingJwkSetSource jwkSetSource(WebClient.Builder webClientBuilder,
+                                               @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                                               @Value("${app.security.jwt.jwks-refresh-interval:5m}") Duration refreshInterval,
+                                               @Value("${app.security.jwt.jwks-min-refresh-interval:30s}") Duration minRefreshInterval) {
+        return new RefreshingJwkSetSource(webClientBuilder.build(), jwkSetUri, refreshInterval, minRefreshInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.security.jwt.enabled", havingValue = "true", matchIfMissing = true)
+    public ReactiveJwtDecoder jwtDecoder(RefreshingJwkSetSource jwkSetSource,
+                                         @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:}") String issuer,
+                                         @Value("${app.security.jwt.cache.max-ttl:10m}") Duration cacheMaxTtl,
+                                         @Value("${app.security.jwt.cache.max-entries:10000}") int cacheMaxEntries) {
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withJwkSource(jwkSetSource).build();
+        OAuth2TokenValidator<Jwt> validator = StringUtils.hasText(issuer)
+                ? JwtValidators.createDefaultWithIssuer(issuer)
+                : JwtValidators.createDefault();
+        decoder.setJwtValidator(validator);
+        return new CachingJwtDecoder(decoder, cacheMaxTtl, cacheMaxEntries);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.security.jwt.enabled", havingValue = "true", matchIfMissing = true)
+    public ToolRolesResolver toolRolesResolver(ReactiveJwtDecoder jwtDecoder,
+                                               @Value("${app.security.jwt.roles-claim:roles}") String rolesClaim) {
+        return new JwtToolRolesResolver(jwtDecoder, rolesClaim);
+    }
 }
-*/
@@ -1,5 +1,7 @@
 package com.example.mcp_server;
 
+import com.example.mcp_server.RemittanceLifecycleTracker.Stage;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,28 +9,33 @@ import org.springframework.web.bind.annotation.RequestParam;
 import reactor.core.publisher.Mono;
 
 @Controller
+@RequiredArgsConstructor
 public class SimulationController {
 
+    private final RemittanceLifecycleTracker remittanceLifecycle;
+
     @GetMapping("/kyc-verification")
     public Mono<String> kycVerification(@RequestParam String customerId,
-                                  @RequestParam String transactionId,
+                                  @RequestParam(required = false) String transactionId,
                                   Model model) {
+        String trackedTransactionId = remittanceLifecycle.resolve(transactionId, customerId);
         model.addAttribute("customerId", customerId);
-        model.addAttribute("transactionId", transactionId);
+        model.addAttribute("transactionId", trackedTransactionId);
         model.addAttribute("pageTitle", "KYC Verification");
         model.addAttribute("description", "Complete your Enhanced KYC verification to enable international transfers");
-        return Mono.just( "kyc-verification");
+        return Mono.just(remittanceLifecycle.observe(Stage.KYC_PAGE, trackedTransactionId, customerId, () -> "kyc-verification"));
     }
 
     @GetMapping("/biometric-verification")
     public Mono<String> biometricVerification(@RequestParam String customerId,
                                         @RequestParam(required = false) String transactionId,
                                         Model model) {
+        String trackedTransactionId = remittanceLifecycle.resolve(transactionId, customerId);
         model.addAttribute("customerId", customerId);
-        model.addAttribute("transactionId", transactionId);
+        model.addAttribute("transactionId", trackedTransactionId);
         model.addAttribute("pageTitle", "Biometric Verification");
         model.addAttribute("description", "Complete biometric authentication for high-value transfers");
-        return Mono.just("biometric-verification");
+        return Mono.just(remittanceLifecycle.observe(Stage.BIOMETRIC_PAGE, trackedTransactionId, customerId, () -> "biometric-verification"));
     }
 
     @GetMapping("/account-opening")
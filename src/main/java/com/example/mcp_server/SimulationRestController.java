@@ -1,6 +1,7 @@
 package com.example.mcp_server;
 
 import com.example.mcp_server.EnhancedBankingRecords.SimulationStateResponse;
+import com.example.mcp_server.RemittanceLifecycleTracker.Stage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -14,16 +15,21 @@ import org.springframework.web.bind.annotation.*;
 public class SimulationRestController {
 
     private final BankingService bankingService;
+    private final RemittanceLifecycleTracker remittanceLifecycle;
 
     /**
-     * Called by KYC verification page when user completes KYC process
+     * Called by KYC verification page when user completes KYC process. The transactionId ties the
+     * call to its remittance; without it the customer's latest open remittance is assumed.
      */
     @PostMapping("/kyc-completion/{customerId}")
-    public ResponseEntity<SimulationStateResponse> completeKyc(@PathVariable String customerId) {
+    public ResponseEntity<SimulationStateResponse> completeKyc(@PathVariable String customerId,
+                                                               @RequestParam(required = false) String transactionId) {
         log.info("REST API: KYC completion for customer: {}", customerId);
 
         try {
-            SimulationStateResponse response = bankingService.processKycCompletion(customerId);
+            SimulationStateResponse response = remittanceLifecycle.observe(Stage.KYC_COMPLETION,
+                    remittanceLifecycle.resolve(transactionId, customerId), customerId,
+                    () -> bankingService.processKycCompletion(customerId));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error processing KYC completion", e);
@@ -42,11 +48,14 @@ public class SimulationRestController {
      * Called by biometric verification page when user completes biometric process
      */
     @PostMapping("/biometric-completion/{customerId}")
-    public ResponseEntity<SimulationStateResponse> completeBiometric(@PathVariable String customerId) {
+    public ResponseEntity<SimulationStateResponse> completeBiometric(@PathVariable String customerId,
+                                                                     @RequestParam(required = false) String transactionId) {
         log.info("REST API: Biometric completion for customer: {}", customerId);
 
         try {
-            SimulationStateResponse response = bankingService.processBiometricCompletion(customerId);
+            SimulationStateResponse response = remittanceLifecycle.observe(Stage.BIOMETRIC_COMPLETION,
+                    remittanceLifecycle.resolve(transactionId, customerId), customerId,
+                    () -> bankingService.processBiometricCompletion(customerId));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error processing biometric completion", e);
@@ -71,14 +80,13 @@ public class SimulationRestController {
         log.info("REST API: Account opening completion for customer: {} currency: {}", customerId, currency);
 
         try {
-            // Add currency account to customer
-            // This could be implemented in BankingService as a public method
+            String accountId = bankingService.openCurrencyAccount(customerId, currency);
             SimulationStateResponse response = new SimulationStateResponse(
                     customerId,
                     "ACCOUNT_OPENING",
                     "NO_ACCOUNT",
                     "ACCOUNT_CREATED",
-                    currency + " account successfully created for customer " + customerId
+                    currency + " account " + accountId + " successfully created for customer " + customerId
             );
             return ResponseEntity.ok(response);
         } catch (Exception e) {
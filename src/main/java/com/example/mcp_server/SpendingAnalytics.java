@@ -0,0 +1,212 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Transaction;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spending aggregations over each customer's full transaction history.
+ * <p>
+ * Transactions are stored column by column in primitive arrays: the amount in minor units,
+ * the epoch day and epoch month, and dictionary codes for the category and merchant. An
+ * aggregation is a single pass over those arrays into per-group {@code long} accumulators, with
+ * no per-row objects, boxing or hashing, and the row filter computed without branches so the
+ * loop stays tight. Appends are serialized per customer; a query scans a consistent prefix of
+ * the columns without holding the lock, since rows are never changed once written.
+ */
+@Component
+public class SpendingAnalytics {
+
+    public enum GroupBy {
+        CATEGORY, MERCHANT, MONTH, CATEGORY_MONTH
+    }
+
+    /**
+     * One group's spending (debits, in minor units); fields not grouped by are {@code null}.
+     */
+    public record Group(String category, String merchant, LocalDate month, long spent, int count) {
+    }
+
+    public record Totals(long spent, int count, List<Group> groups) {
+    }
+
+    private final Map<String, Columns> customers = new ConcurrentHashMap<>();
+
+    public void add(String customerId, Transaction transaction) {
+        customers.computeIfAbsent(customerId, id -> new Columns()).add(transaction);
+    }
+
+    /**
+     * Debits dated within {@code [from, to]} (either bound may be {@code null}) grouped as asked,
+     * in group order: categories and merchants as first seen, months ascending.
+     */
+    public Totals aggregate(String customerId, GroupBy groupBy, LocalDate from, LocalDate to) {
+        Columns columns = customers.get(customerId);
+        if (columns == null) {
+            return new Totals(0, 0, List.of());
+        }
+        return columns.snapshot().aggregate(groupBy,
+                from == null ? Integer.MIN_VALUE : (int) from.toEpochDay(),
+                to == null ? Integer.MAX_VALUE : (int) to.toEpochDay());
+    }
+
+    private static int epochMonth(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static final class Columns {
+
+        private final Dictionary categories = new Dictionary("UNCATEGORIZED");
+        private final Dictionary merchants = new Dictionary("UNKNOWN");
+        private long[] amounts = new long[64];
+        private int[] days = new int[64];
+        private int[] months = new int[64];
+        private int[] categoryCodes = new int[64];
+        private int[] merchantCodes = new int[64];
+        private int size;
+        private int firstMonth = Integer.MAX_VALUE;
+        private int lastMonth = Integer.MIN_VALUE;
+
+        private synchronized void add(Transaction transaction) {
+            if (size == amounts.length) {
+                int capacity = size * 2;
+                amounts = Arrays.copyOf(amounts, capacity);
+                days = Arrays.copyOf(days, capacity);
+                months = Arrays.copyOf(months, capacity);
+                categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+                merchantCodes = Arrays.copyOf(merchantCodes, capacity);
+            }
+            LocalDate date = transaction.transactionDate().toLocalDate();
+            long amount = Math.abs(Money.toMinor(transaction.amount()));
+            // Debits positive, credits negative: the scans select spending by sign
+            amounts[size] = "CREDIT".equals(transaction.transactionType()) ? -amount : amount;
+            days[size] = (int) date.toEpochDay();
+            months[size] = epochMonth(date);
+            firstMonth = Math.min(firstMonth, months[size]);
+            lastMonth = Math.max(lastMonth, months[size]);
+            categoryCodes[size] = categories.code(transaction.category());
+            merchantCodes[size] = merchants.code(transaction.merchantName());
+            size++;
+        }
+
+        private synchronized Snapshot snapshot() {
+            return new Snapshot(amounts, days, months, categoryCodes, merchantCodes, size, firstMonth, lastMonth,
+                    categories.names(), merchants.names());
+        }
+    }
+
+    private record Snapshot(long[] amounts, int[] days, int[] months, int[] categoryCodes, int[] merchantCodes,
+                            int size, int firstMonth, int lastMonth, String[] categoryNames, String[] merchantNames) {
+
+        private Totals aggregate(GroupBy groupBy, int fromDay, int toDay) {
+            int monthCount = size == 0 ? 1 : lastMonth - firstMonth + 1;
+            int groupCount = switch (groupBy) {
+                case CATEGORY -> categoryNames.length;
+                case MERCHANT -> merchantNames.length;
+                case MONTH -> monthCount;
+                case CATEGORY_MONTH -> categoryNames.length * monthCount;
+            };
+
+            long[] spent = new long[groupCount];
+            int[] counts = new int[groupCount];
+            switch (groupBy) {
+                case CATEGORY -> sumByCode(categoryCodes, fromDay, toDay, spent, counts);
+                case MERCHANT -> sumByCode(merchantCodes, fromDay, toDay, spent, counts);
+                case MONTH -> sumByMonth(fromDay, toDay, spent, counts);
+                case CATEGORY_MONTH -> sumByCodeAndMonth(categoryCodes, monthCount, fromDay, toDay, spent, counts);
+            }
+
+            long totalSpent = 0;
+            int totalCount = 0;
+            List<Group> groups = new ArrayList<>();
+            for (int group = 0; group < groupCount; group++) {
+                if (counts[group] == 0) {
+                    continue;
+                }
+                totalSpent += spent[group];
+                totalCount += counts[group];
+                groups.add(switch (groupBy) {
+                    case CATEGORY -> new Group(categoryNames[group], null, null, spent[group], counts[group]);
+                    case MERCHANT -> new Group(null, merchantNames[group], null, spent[group], counts[group]);
+                    case MONTH -> new Group(null, null, month(firstMonth + group), spent[group], counts[group]);
+                    case CATEGORY_MONTH -> new Group(categoryNames[group / monthCount], null,
+                            month(firstMonth + group % monthCount), spent[group], counts[group]);
+                });
+            }
+            return new Totals(totalSpent, totalCount, groups);
+        }
+
+        // 1 for a debit dated within the range, 0 otherwise, without branching
+        private static int selected(long amount, int day, int fromDay, int toDay) {
+            return (day >= fromDay) & (day <= toDay) & (amount > 0) ? 1 : 0;
+        }
+
+        private void sumByCode(int[] codes, int fromDay, int toDay, long[] spent, int[] counts) {
+            for (int i = 0; i < size; i++) {
+                int selected = selected(amounts[i], days[i], fromDay, toDay);
+                spent[codes[i]] += amounts[i] * selected;
+                counts[codes[i]] += selected;
+            }
+        }
+
+        private void sumByMonth(int fromDay, int toDay, long[] spent, int[] counts) {
+            for (int i = 0; i < size; i++) {
+                int selected = selected(amounts[i], days[i], fromDay, toDay);
+                int group = months[i] - firstMonth;
+                spent[group] += amounts[i] * selected;
+                counts[group] += selected;
+            }
+        }
+
+        private void sumByCodeAndMonth(int[] codes, int monthCount, int fromDay, int toDay, long[] spent, int[] counts) {
+            for (int i = 0; i < size; i++) {
+                int selected = selected(amounts[i], days[i], fromDay, toDay);
+                int group = codes[i] * monthCount + months[i] - firstMonth;
+                spent[group] += amounts[i] * selected;
+                counts[group] += selected;
+            }
+        }
+
+        private static LocalDate month(int epochMonth) {
+            return LocalDate.of(epochMonth / 12, epochMonth % 12 + 1, 1);
+        }
+    }
+
+    // Dense codes for repeated strings, in first-seen order
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final String missing;
+        private String[] names = new String[16];
+
+        private Dictionary(String missing) {
+            this.missing = missing;
+        }
+
+        private int code(String name) {
+            String key = name == null ? missing : name;
+            Integer existing = codes.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            int code = codes.size();
+            if (code == names.length) {
+                names = Arrays.copyOf(names, code * 2);
+            }
+            names[code] = key;
+            codes.put(key, code);
+            return code;
+        }
+
+        private String[] names() {
+            return Arrays.copyOf(names, codes.size());
+        }
+    }
+}
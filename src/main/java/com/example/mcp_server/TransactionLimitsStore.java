@@ -0,0 +1,197 @@
+package com.example.mcp_server;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Daily, monthly and yearly transfer limits per customer, in AED minor units.
+ * <p>
+ * Each period's usage is one {@code long} packing the period it belongs to (epoch day, month
+ * or year) above the amount used, so checking a transfer is a constant-time read and
+ * consuming it a CAS per period, with no locks. Nothing resets counters on a schedule: a
+ * counter whose period has passed simply reads as zero and is overwritten by the next
+ * transfer. The limit applied depends on the customer's KYC level.
+ */
+@Component
+public class TransactionLimitsStore {
+
+    public static final String CURRENCY = "AED";
+
+    public enum Period {
+        DAILY, MONTHLY, YEARLY;
+
+        int index(LocalDate date) {
+            return switch (this) {
+                case DAILY -> (int) date.toEpochDay();
+                case MONTHLY -> date.getYear() * 12 + date.getMonthValue() - 1;
+                case YEARLY -> date.getYear();
+            };
+        }
+
+        LocalDate resetDate(LocalDate date) {
+            return switch (this) {
+                case DAILY -> date.plusDays(1);
+                case MONTHLY -> date.with(TemporalAdjusters.firstDayOfNextMonth());
+                case YEARLY -> date.with(TemporalAdjusters.firstDayOfNextYear());
+            };
+        }
+    }
+
+    /**
+     * Usage of one period; {@code used} and {@code limit} are in AED minor units.
+     */
+    public record LimitUsage(Period period, long used, long limit, LocalDate resetDate) {
+
+        public long remaining() {
+            return Math.max(0, limit - used);
+        }
+    }
+
+    private static final Period[] PERIODS = Period.values();
+    private static final int USAGE_BITS = 44;
+    private static final long USAGE_MASK = (1L << USAGE_BITS) - 1;
+
+    private final Map<String, AtomicLongArray> usage = new ConcurrentHashMap<>();
+    private final long[] basicLimits;
+    private final long[] enhancedLimits;
+    private final Clock clock;
+
+    @Autowired
+    public TransactionLimitsStore(@Value("${app.remittance.limits.basic.daily:5000}") BigDecimal basicDaily,
+                                  @Value("${app.remittance.limits.basic.monthly:20000}") BigDecimal basicMonthly,
+                                  @Value("${app.remittance.limits.basic.yearly:100000}") BigDecimal basicYearly,
+                                  @Value("${app.remittance.limits.enhanced.daily:25000}") BigDecimal enhancedDaily,
+                                  @Value("${app.remittance.limits.enhanced.monthly:100000}") BigDecimal enhancedMonthly,
+                                  @Value("${app.remittance.limits.enhanced.yearly:500000}") BigDecimal enhancedYearly) {
+        this(new long[]{Money.toMinor(basicDaily), Money.toMinor(basicMonthly), Money.toMinor(basicYearly)},
+                new long[]{Money.toMinor(enhancedDaily), Money.toMinor(enhancedMonthly), Money.toMinor(enhancedYearly)},
+                Clock.systemDefaultZone());
+    }
+
+    TransactionLimitsStore(long[] basicLimits, long[] enhancedLimits, Clock clock) {
+        this.basicLimits = validated(basicLimits);
+        this.enhancedLimits = validated(enhancedLimits);
+        this.clock = clock;
+    }
+
+    /**
+     * The first period whose limit {@code amount} would exceed, or {@code null} if it fits.
+     * Does not consume anything.
+     */
+    public LimitUsage check(String customerId, String kycLevel, long amount) {
+        LocalDate today = LocalDate.now(clock);
+        long[] limits = limits(kycLevel);
+        AtomicLongArray counters = usage.get(customerId);
+        for (Period period : PERIODS) {
+            long used = counters == null ? 0 : used(counters.get(period.ordinal()), period.index(today));
+            if (used + amount > limits[period.ordinal()]) {
+                return new LimitUsage(period, used, limits[period.ordinal()], period.resetDate(today));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds {@code amount} to every period if all of them stay within their limits; otherwise
+     * changes nothing and returns the period that would be exceeded.
+     */
+    public LimitUsage tryConsume(String customerId, String kycLevel, long amount) {
+        LocalDate today = LocalDate.now(clock);
+        long[] limits = limits(kycLevel);
+        AtomicLongArray counters = usage.computeIfAbsent(customerId, id -> new AtomicLongArray(PERIODS.length));
+        for (Period period : PERIODS) {
+            int slot = period.ordinal();
+            int index = period.index(today);
+            while (true) {
+                long current = counters.get(slot);
+                long used = used(current, index);
+                if (used + amount > limits[slot]) {
+                    // Undo the periods already taken
+                    for (int taken = 0; taken < slot; taken++) {
+                        release(counters, taken, PERIODS[taken].index(today), amount);
+                    }
+                    return new LimitUsage(period, used, limits[slot], period.resetDate(today));
+                }
+                if (counters.compareAndSet(slot, current, pack(index, used + amount))) {
+                    break;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gives back {@code amount} consumed today, e.g. when the transfer it was consumed for
+     * could not be posted.
+     */
+    public void release(String customerId, long amount) {
+        LocalDate today = LocalDate.now(clock);
+        AtomicLongArray counters = usage.get(customerId);
+        if (counters == null) {
+            return;
+        }
+        for (Period period : PERIODS) {
+            release(counters, period.ordinal(), period.index(today), amount);
+        }
+    }
+
+    public List<LimitUsage> usage(String customerId, String kycLevel) {
+        LocalDate today = LocalDate.now(clock);
+        long[] limits = limits(kycLevel);
+        AtomicLongArray counters = usage.get(customerId);
+        List<LimitUsage> result = new ArrayList<>(PERIODS.length);
+        for (Period period : PERIODS) {
+            long used = counters == null ? 0 : used(counters.get(period.ordinal()), period.index(today));
+            result.add(new LimitUsage(period, used, limits[period.ordinal()], period.resetDate(today)));
+        }
+        return result;
+    }
+
+    private long[] limits(String kycLevel) {
+        return "ENHANCED".equals(kycLevel) ? enhancedLimits : basicLimits;
+    }
+
+    private static long[] validated(long[] limits) {
+        if (limits.length != PERIODS.length) {
+            throw new IllegalArgumentException("Expected daily, monthly and yearly limits");
+        }
+        for (long limit : limits) {
+            if (limit < 0 || limit > USAGE_MASK) {
+                throw new IllegalArgumentException("Transaction limit out of range: " + limit);
+            }
+        }
+        return limits.clone();
+    }
+
+    private static void release(AtomicLongArray counters, int slot, int index, long amount) {
+        while (true) {
+            long current = counters.get(slot);
+            if ((int) (current >>> USAGE_BITS) != index) {
+                return; // the period rolled over meanwhile
+            }
+            long used = current & USAGE_MASK;
+            if (counters.compareAndSet(slot, current, pack(index, Math.max(0, used - amount)))) {
+                return;
+            }
+        }
+    }
+
+    private static long used(long packed, int index) {
+        return (int) (packed >>> USAGE_BITS) == index ? packed & USAGE_MASK : 0;
+    }
+
+    private static long pack(int index, long used) {
+        return ((long) index << USAGE_BITS) | used;
+    }
+}
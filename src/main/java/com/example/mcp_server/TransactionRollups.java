@@ -0,0 +1,177 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Transaction;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rolling daily transaction buckets per account and category.
+ * <p>
+ * Each account keeps a ring of {@link #HORIZON_DAYS} daily slots in flat primitive arrays
+ * (one row per category) that is updated on ingest. A window summary sums at most one slot
+ * per day in the window, independent of how many transactions the account has seen.
+ */
+@Component
+public class TransactionRollups {
+
+    static final int HORIZON_DAYS = 366;
+
+    public record CategoryTotals(long debits, long credits, int count) {
+    }
+
+    public record WindowTotals(long debits, long credits, int count, Map<String, CategoryTotals> categories) {
+    }
+
+    private final Map<String, AccountRollup> accounts = new ConcurrentHashMap<>();
+
+    public void record(Transaction transaction) {
+        accounts.computeIfAbsent(transaction.accountId(), id -> new AccountRollup())
+                .add(transaction);
+    }
+
+    /**
+     * Most recent activity day across the given accounts, or {@code null} if none has activity.
+     */
+    public LocalDate latestActivity(Collection<String> accountIds) {
+        int latest = Integer.MIN_VALUE;
+        for (String accountId : accountIds) {
+            AccountRollup rollup = accounts.get(accountId);
+            if (rollup != null) {
+                latest = Math.max(latest, rollup.latestDay());
+            }
+        }
+        return latest == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(latest);
+    }
+
+    /**
+     * Sums the buckets of the given accounts for every day in {@code [from, to]}. Days that have
+     * already rotated out of the ring contribute nothing.
+     */
+    public WindowTotals window(Collection<String> accountIds, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        if (toDay - fromDay >= HORIZON_DAYS) {
+            fromDay = toDay - HORIZON_DAYS + 1;
+        }
+
+        Map<String, long[]> byCategory = new HashMap<>();
+        for (String accountId : accountIds) {
+            AccountRollup rollup = accounts.get(accountId);
+            if (rollup != null) {
+                rollup.sum(fromDay, toDay, byCategory);
+            }
+        }
+
+        long debits = 0;
+        long credits = 0;
+        int count = 0;
+        Map<String, CategoryTotals> categories = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : byCategory.entrySet()) {
+            long[] totals = entry.getValue();
+            debits += totals[0];
+            credits += totals[1];
+            count += (int) totals[2];
+            categories.put(entry.getKey(), new CategoryTotals(totals[0], totals[1], (int) totals[2]));
+        }
+        return new WindowTotals(debits, credits, count, categories);
+    }
+
+    private static final class AccountRollup {
+
+        private final Map<String, Integer> categoryIndex = new HashMap<>();
+        private String[] categoryNames = new String[8];
+        private final int[] slotDay = new int[HORIZON_DAYS];
+
+        // Row-major: category * HORIZON_DAYS + slot
+        private long[] debits = new long[8 * HORIZON_DAYS];
+        private long[] credits = new long[8 * HORIZON_DAYS];
+        private int[] counts = new int[8 * HORIZON_DAYS];
+        private int latestDay = Integer.MIN_VALUE;
+
+        AccountRollup() {
+            Arrays.fill(slotDay, Integer.MIN_VALUE);
+        }
+
+        private synchronized int latestDay() {
+            return latestDay;
+        }
+
+        private synchronized void add(Transaction transaction) {
+            int day = (int) transaction.transactionDate().toLocalDate().toEpochDay();
+            if (latestDay != Integer.MIN_VALUE && day <= latestDay - HORIZON_DAYS) {
+                return; // older than the ring can hold
+            }
+            latestDay = Math.max(latestDay, day);
+
+            int slot = Math.floorMod(day, HORIZON_DAYS);
+            if (slotDay[slot] != day) {
+                slotDay[slot] = day;
+                for (int category = 0; category < categoryIndex.size(); category++) {
+                    int index = category * HORIZON_DAYS + slot;
+                    debits[index] = 0;
+                    credits[index] = 0;
+                    counts[index] = 0;
+                }
+            }
+
+            int index = category(transaction.category()) * HORIZON_DAYS + slot;
+            long amount = Math.abs(Money.toMinor(transaction.amount()));
+            if ("CREDIT".equals(transaction.transactionType())) {
+                credits[index] += amount;
+            } else {
+                debits[index] += amount;
+            }
+            counts[index]++;
+        }
+
+        private synchronized void sum(int fromDay, int toDay, Map<String, long[]> byCategory) {
+            int categories = categoryIndex.size();
+            for (int category = 0; category < categories; category++) {
+                int row = category * HORIZON_DAYS;
+                long debitTotal = 0;
+                long creditTotal = 0;
+                long countTotal = 0;
+                for (int day = fromDay; day <= toDay; day++) {
+                    int slot = Math.floorMod(day, HORIZON_DAYS);
+                    if (slotDay[slot] == day) {
+                        debitTotal += debits[row + slot];
+                        creditTotal += credits[row + slot];
+                        countTotal += counts[row + slot];
+                    }
+                }
+                if (countTotal > 0) {
+                    long[] totals = byCategory.computeIfAbsent(categoryNames[category], c -> new long[3]);
+                    totals[0] += debitTotal;
+                    totals[1] += creditTotal;
+                    totals[2] += countTotal;
+                }
+            }
+        }
+
+        private int category(String name) {
+            String key = name == null ? "UNCATEGORIZED" : name;
+            Integer existing = categoryIndex.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            int index = categoryIndex.size();
+            if (index == categoryNames.length) {
+                int capacity = categoryNames.length * 2;
+                categoryNames = Arrays.copyOf(categoryNames, capacity);
+                debits = Arrays.copyOf(debits, capacity * HORIZON_DAYS);
+                credits = Arrays.copyOf(credits, capacity * HORIZON_DAYS);
+                counts = Arrays.copyOf(counts, capacity * HORIZON_DAYS);
+            }
+            categoryNames[index] = key;
+            categoryIndex.put(key, index);
+            return index;
+        }
+    }
+}
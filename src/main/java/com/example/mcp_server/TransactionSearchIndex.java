@@ -0,0 +1,189 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Transaction;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Full-text search over each customer's transactions.
+ * <p>
+ * Every transaction gets a document number in the order it was added, and the lower-cased
+ * words of its merchant name, description, category and merchant category point to it through
+ * an inverted index: a sorted term dictionary whose posting lists are the document numbers,
+ * delta-encoded as variable-length integers in a growable byte array. Adding a transaction
+ * only appends to the posting lists of its own words. A query word matches every term it is a
+ * prefix of, so "carref" finds "carrefour"; all query words must match. Dates are kept in a
+ * parallel epoch-day column, so a date range is a primitive comparison per matching document.
+ */
+@Component
+public class TransactionSearchIndex {
+
+    /**
+     * The first {@code limit} matches, newest first, with totals (AED minor units) over all of them.
+     */
+    public record Result(List<Transaction> transactions, int totalMatches, long debits, long credits) {
+    }
+
+    private final Map<String, CustomerIndex> customers = new ConcurrentHashMap<>();
+
+    public void add(String customerId, Transaction transaction) {
+        customers.computeIfAbsent(customerId, id -> new CustomerIndex()).add(transaction);
+    }
+
+    /**
+     * The customer's transactions matching every word of {@code query} and dated within
+     * {@code [from, to]} (either bound may be {@code null}).
+     */
+    public Result search(String customerId, String query, LocalDate from, LocalDate to, int limit) {
+        CustomerIndex index = customers.get(customerId);
+        List<String> words = tokens(query);
+        if (index == null || words.isEmpty()) {
+            return new Result(List.of(), 0, 0, 0);
+        }
+        int fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+        return index.search(words, fromDay, toDay, limit);
+    }
+
+    // Lower-cased runs of letters and digits, without duplicates
+    static List<String> tokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private static final class CustomerIndex {
+
+        private final NavigableMap<String, PostingList> terms = new TreeMap<>();
+        private Transaction[] documents = new Transaction[16];
+        private int[] days = new int[16];
+        private int size;
+
+        private synchronized void add(Transaction transaction) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                days = Arrays.copyOf(days, size * 2);
+            }
+            int document = size++;
+            documents[document] = transaction;
+            days[document] = (int) transaction.transactionDate().toLocalDate().toEpochDay();
+
+            Set<String> words = new LinkedHashSet<>();
+            words.addAll(tokens(transaction.merchantName()));
+            words.addAll(tokens(transaction.description()));
+            words.addAll(tokens(transaction.category()));
+            words.addAll(tokens(transaction.merchantCategory()));
+            for (String word : words) {
+                terms.computeIfAbsent(word, w -> new PostingList()).add(document);
+            }
+        }
+
+        private synchronized Result search(List<String> words, int fromDay, int toDay, int limit) {
+            // One bit per document; each query word narrows the set
+            long[] matches = null;
+            for (String word : words) {
+                long[] wordMatches = new long[(size + 63) >>> 6];
+                for (PostingList postings : terms.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                    postings.addTo(wordMatches);
+                }
+                if (matches == null) {
+                    matches = wordMatches;
+                } else {
+                    for (int i = 0; i < matches.length; i++) {
+                        matches[i] &= wordMatches[i];
+                    }
+                }
+            }
+
+            List<Transaction> found = new ArrayList<>();
+            long debits = 0;
+            long credits = 0;
+            for (int word = 0; word < matches.length; word++) {
+                long bits = matches[word];
+                while (bits != 0) {
+                    int document = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (days[document] < fromDay || days[document] > toDay) {
+                        continue;
+                    }
+                    Transaction transaction = documents[document];
+                    long amount = Math.abs(Money.toMinor(transaction.amount()));
+                    if ("CREDIT".equals(transaction.transactionType())) {
+                        credits += amount;
+                    } else {
+                        debits += amount;
+                    }
+                    found.add(transaction);
+                }
+            }
+            int totalMatches = found.size();
+            List<Transaction> newest = found.stream()
+                    .sorted(Comparator.comparing(Transaction::transactionDate).reversed())
+                    .limit(limit)
+                    .toList();
+            return new Result(newest, totalMatches, debits, credits);
+        }
+    }
+
+    // Ascending document numbers as varint-encoded gaps
+    private static final class PostingList {
+
+        private byte[] bytes = new byte[8];
+        private int length;
+        private int last = -1;
+
+        private void add(int document) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int gap = document - last;
+            last = document;
+            while ((gap & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+        }
+
+        private void addTo(long[] bitSet) {
+            int document = -1;
+            int position = 0;
+            while (position < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                document += gap;
+                bitSet[document >>> 6] |= 1L << document;
+            }
+        }
+    }
+}
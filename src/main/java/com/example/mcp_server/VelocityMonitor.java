@@ -0,0 +1,302 @@
+package com.example.mcp_server;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Velocity rules on remittance initiation: how many transfers, and how much in AED, a customer
+ * sends, or a recipient account receives, over the last minute, hour and day.
+ * <p>
+ * Each customer and recipient has one {@link SlidingWindows}: for every window a ring of
+ * buckets in primitive arrays plus running totals, so recording a transfer and reading all
+ * six figures costs a few array writes (buckets that slid out of a window are subtracted as
+ * the ring advances). That is a fixed ~1.5 KB per active key, and the key maps are capped at
+ * {@code max-tracked}, idle keys going first.
+ * <p>
+ * A rule is {@code app.remittance.velocity.<customer|recipient>.<count|amount>.<1m|1h|24h>};
+ * {@code 0} disables it. With {@code action: FLAG} a breach is counted in
+ * {@code remittance.velocity.breaches} and logged when the key first crosses the threshold,
+ * and the transfer continues; with {@code BLOCK} the initiation is rejected.
+ */
+@Component
+@Slf4j
+public class VelocityMonitor {
+
+    static final String BREACHES = "remittance.velocity.breaches";
+
+    public enum Scope {
+        CUSTOMER, RECIPIENT
+    }
+
+    public enum Window {
+        // Bucket size and bucket count; a window covers between (buckets - 1) and buckets buckets
+        MINUTE("1m", TimeUnit.SECONDS.toNanos(5), 12),
+        HOUR("1h", TimeUnit.MINUTES.toNanos(1), 60),
+        DAY("24h", TimeUnit.HOURS.toNanos(1), 24);
+
+        private final String label;
+        private final long bucketNanos;
+        private final int buckets;
+
+        Window(String label, long bucketNanos, int buckets) {
+            this.label = label;
+            this.bucketNanos = bucketNanos;
+            this.buckets = buckets;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public enum Measure {
+        COUNT, AMOUNT
+    }
+
+    public enum Action {
+        FLAG, BLOCK
+    }
+
+    /**
+     * A rule exceeded by a transfer; amounts are in AED minor units.
+     */
+    public record Breach(Scope scope, Window window, Measure measure, long observed, long limit) {
+
+        public String describe() {
+            String what = measure == Measure.COUNT
+                    ? observed + " transfers (limit " + limit + ")"
+                    : String.format("AED %,.2f (limit AED %,.2f)", Money.fromMinor(observed), Money.fromMinor(limit));
+            return (scope == Scope.CUSTOMER ? "Customer" : "Recipient") + " velocity over " + window.label() + ": " + what;
+        }
+    }
+
+    private static final Scope[] SCOPES = Scope.values();
+    private static final Window[] WINDOWS = Window.values();
+    private static final Measure[] MEASURES = Measure.values();
+    private static final long DAY_NANOS = TimeUnit.DAYS.toNanos(1);
+
+    private final boolean enabled;
+    private final Action action;
+    private final int maxTracked;
+    // [scope][window][measure]; 0 = no rule
+    private final long[][][] limits = new long[SCOPES.length][WINDOWS.length][MEASURES.length];
+    private final Counter[][][] breachCounters = new Counter[SCOPES.length][WINDOWS.length][MEASURES.length];
+    private final Map<String, SlidingWindows>[] windows;
+    private final long epoch = System.nanoTime();
+
+    @SuppressWarnings("unchecked")
+    public VelocityMonitor(Environment environment, MeterRegistry meterRegistry) {
+        this.enabled = environment.getProperty("app.remittance.velocity.enabled", Boolean.class, true);
+        this.action = environment.getProperty("app.remittance.velocity.action", Action.class, Action.FLAG);
+        this.maxTracked = environment.getProperty("app.remittance.velocity.max-tracked", Integer.class, 10_000);
+        this.windows = new Map[SCOPES.length];
+        for (Scope scope : SCOPES) {
+            windows[scope.ordinal()] = new ConcurrentHashMap<>();
+            for (Window window : WINDOWS) {
+                for (Measure measure : MEASURES) {
+                    String key = "app.remittance.velocity." + scope.name().toLowerCase() + "." + measure.name().toLowerCase()
+                            + "." + window.label();
+                    limit(scope, window, measure, measure == Measure.COUNT
+                            ? environment.getProperty(key, Long.class, 0L)
+                            : Money.toMinor(environment.getProperty(key, BigDecimal.class)));
+                    breachCounters[scope.ordinal()][window.ordinal()][measure.ordinal()] = Counter.builder(BREACHES)
+                            .description("Remittance initiations that exceeded a velocity rule")
+                            .tags("scope", scope.name(), "window", window.label(), "measure", measure.name())
+                            .register(meterRegistry);
+                }
+            }
+        }
+    }
+
+    void limit(Scope scope, Window window, Measure measure, long limit) {
+        limits[scope.ordinal()][window.ordinal()][measure.ordinal()] = limit;
+    }
+
+    /**
+     * Records an initiated transfer of {@code amount} (AED minor units) and evaluates every
+     * rule. Returns the breach that blocks it, or {@code null} if it may continue.
+     */
+    public Breach recordInitiation(String customerId, String recipient, long amount) {
+        return recordInitiation(customerId, recipient, amount, now());
+    }
+
+    // The monitor's clock, for callers that may need to withdraw what they record
+    long now() {
+        return System.nanoTime() - epoch;
+    }
+
+    Breach recordInitiation(String customerId, String recipient, long amount, long nowNanos) {
+        if (!enabled) {
+            return null;
+        }
+        Breach customer = record(Scope.CUSTOMER, customerId, amount, nowNanos);
+        Breach recipientBreach = recipient == null ? null : record(Scope.RECIPIENT, recipient, amount, nowNanos);
+        if (action != Action.BLOCK) {
+            return null;
+        }
+        return customer != null ? customer : recipientBreach;
+    }
+
+    /**
+     * Takes back a transfer recorded at {@code atNanos} that was not sent, from every window
+     * that still holds it.
+     */
+    void withdrawInitiation(String customerId, String recipient, long amount, long atNanos) {
+        if (!enabled) {
+            return;
+        }
+        withdraw(Scope.CUSTOMER, customerId, amount, atNanos);
+        if (recipient != null) {
+            withdraw(Scope.RECIPIENT, recipient, amount, atNanos);
+        }
+    }
+
+    private void withdraw(Scope scope, String key, long amount, long atNanos) {
+        SlidingWindows sliding = windows[scope.ordinal()].get(key);
+        if (sliding != null) {
+            sliding.remove(atNanos, amount);
+        }
+    }
+
+    private Breach record(Scope scope, String key, long amount, long nowNanos) {
+        Map<String, SlidingWindows> byKey = windows[scope.ordinal()];
+        SlidingWindows sliding = byKey.get(key);
+        if (sliding == null) {
+            if (byKey.size() >= maxTracked) {
+                evict(byKey, nowNanos);
+            }
+            sliding = byKey.computeIfAbsent(key, k -> new SlidingWindows());
+        }
+        long[] totals = new long[WINDOWS.length * MEASURES.length];
+        sliding.add(nowNanos, amount, totals);
+
+        Breach first = null;
+        long[][] scopeLimits = limits[scope.ordinal()];
+        for (Window window : WINDOWS) {
+            for (Measure measure : MEASURES) {
+                long limit = scopeLimits[window.ordinal()][measure.ordinal()];
+                long observed = totals[window.ordinal() * MEASURES.length + measure.ordinal()];
+                if (limit <= 0 || observed <= limit) {
+                    continue;
+                }
+                Breach breach = new Breach(scope, window, measure, observed, limit);
+                breachCounters[scope.ordinal()][window.ordinal()][measure.ordinal()].increment();
+                // Log the crossing, not every transfer while over the threshold
+                if (observed - (measure == Measure.COUNT ? 1 : amount) <= limit) {
+                    log.warn("{} {}: {}", scope, key, breach.describe());
+                }
+                if (first == null) {
+                    first = breach;
+                }
+            }
+        }
+        return first;
+    }
+
+    // Drops keys without activity for a day, then the least recently active tenth if still full
+    private void evict(Map<String, SlidingWindows> byKey, long nowNanos) {
+        byKey.values().removeIf(sliding -> nowNanos - sliding.lastSeenNanos > DAY_NANOS);
+        int excess = byKey.size() - maxTracked + Math.max(1, maxTracked / 10);
+        if (excess > 0) {
+            byKey.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastSeenNanos))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(byKey::remove);
+        }
+    }
+
+    int tracked(Scope scope) {
+        return windows[scope.ordinal()].size();
+    }
+
+    /**
+     * Bucketed counts and sums for every {@link Window} of one key, in flat primitive arrays.
+     */
+    static final class SlidingWindows {
+
+        private static final int[] OFFSETS = new int[WINDOWS.length];
+        private static final int SLOTS;
+
+        static {
+            int offset = 0;
+            for (Window window : WINDOWS) {
+                OFFSETS[window.ordinal()] = offset;
+                offset += window.buckets;
+            }
+            SLOTS = offset;
+        }
+
+        private final long[] counts = new long[SLOTS];
+        private final long[] sums = new long[SLOTS];
+        private final long[] totalCounts = new long[WINDOWS.length];
+        private final long[] totalSums = new long[WINDOWS.length];
+        // Index of the newest bucket of each window
+        private final long[] heads = new long[WINDOWS.length];
+        private volatile long lastSeenNanos;
+
+        /**
+         * Adds one transfer and writes each window's count and sum, after it, into {@code totals}.
+         */
+        synchronized void add(long nowNanos, long amount, long[] totals) {
+            lastSeenNanos = nowNanos;
+            for (Window window : WINDOWS) {
+                int w = window.ordinal();
+                long bucket = nowNanos / window.bucketNanos;
+                advance(w, window.buckets, bucket);
+                int slot = OFFSETS[w] + (int) (bucket % window.buckets);
+                counts[slot]++;
+                sums[slot] += amount;
+                totalCounts[w]++;
+                totalSums[w] += amount;
+                totals[w * 2] = totalCounts[w];
+                totals[w * 2 + 1] = totalSums[w];
+            }
+        }
+
+        /**
+         * Removes one transfer added at {@code atNanos} from each window whose bucket still holds it.
+         */
+        synchronized void remove(long atNanos, long amount) {
+            for (Window window : WINDOWS) {
+                int w = window.ordinal();
+                long bucket = atNanos / window.bucketNanos;
+                int slot = OFFSETS[w] + (int) (bucket % window.buckets);
+                // Nothing to remove once the bucket has slid out, or if the key was evicted since
+                if (bucket > heads[w] || bucket <= heads[w] - window.buckets || counts[slot] == 0) {
+                    continue;
+                }
+                counts[slot]--;
+                sums[slot] -= amount;
+                totalCounts[w]--;
+                totalSums[w] -= amount;
+            }
+        }
+
+        // Clears the buckets between the previous head and the new one; at most one full lap
+        private void advance(int w, int buckets, long bucket) {
+            long head = heads[w];
+            if (bucket <= head) {
+                return;
+            }
+            for (long i = Math.max(head + 1, bucket - buckets + 1); i <= bucket; i++) {
+                int slot = OFFSETS[w] + (int) (i % buckets);
+                totalCounts[w] -= counts[slot];
+                totalSums[w] -= sums[slot];
+                counts[slot] = 0;
+                sums[slot] = 0;
+            }
+            heads[w] = bucket;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.mcp_server.custom;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ReactiveJwtDecoder} that remembers tokens it has already verified.
+ * <p>
+ * An MCP client sends the same bearer token with every message, so after the first request the
+ * signature check and claim validation of the delegate are skipped until the token expires
+ * (or {@code maxTtl}, whichever comes first). Entries are keyed by a 128-bit prefix of the
+ * token's SHA-256 rather than the token itself. Failures are never cached.
+ */
+public class CachingJwtDecoder implements ReactiveJwtDecoder {
+
+    private record TokenKey(long high, long low) {
+    }
+
+    private record CachedJwt(Jwt jwt, Instant expiresAt) {
+    }
+
+    private static final MessageDigest SHA_256;
+
+    static {
+        try {
+            SHA_256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final ReactiveJwtDecoder delegate;
+    private final long maxTtlMillis;
+    private final int maxEntries;
+    private final Map<TokenKey, CachedJwt> cache = new ConcurrentHashMap<>();
+
+    public CachingJwtDecoder(ReactiveJwtDecoder delegate, Duration maxTtl, int maxEntries) {
+        this.delegate = delegate;
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        TokenKey key = key(token);
+        CachedJwt cached = cache.get(key);
+        Instant now = Instant.now();
+        if (cached != null) {
+            if (now.isBefore(cached.expiresAt())) {
+                return Mono.just(cached.jwt());
+            }
+            cache.remove(key, cached);
+        }
+        return delegate.decode(token).doOnNext(jwt -> remember(key, jwt, now));
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private void remember(TokenKey key, Jwt jwt, Instant now) {
+        Instant expiresAt = now.plusMillis(maxTtlMillis);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = jwt.getExpiresAt();
+        }
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(entry -> !now.isBefore(entry.expiresAt()));
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(key, new CachedJwt(jwt, expiresAt));
+    }
+
+    private static TokenKey key(String token) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenKey(hash.getLong(), hash.getLong());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.mcp_server.custom;
+
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Roles from a bearer token's {@code rolesClaim} (a list of strings), granted until the
+ * token's {@code exp}. Invalid or expired tokens grant no roles.
+ */
+public class JwtToolRolesResolver implements ToolRolesResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ReactiveJwtDecoder jwtDecoder;
+    private final String rolesClaim;
+
+    public JwtToolRolesResolver(ReactiveJwtDecoder jwtDecoder, String rolesClaim) {
+        this.jwtDecoder = jwtDecoder;
+        this.rolesClaim = rolesClaim;
+    }
+
+    @Override
+    public Mono<Grant> resolve(String credentials) {
+        if (!credentials.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return Mono.just(Grant.of(Set.of()));
+        }
+        return jwtDecoder.decode(credentials.substring(BEARER_PREFIX.length()).trim())
+                .map(jwt -> {
+                    List<String> roles = jwt.getClaimAsStringList(rolesClaim);
+                    return new Grant(roles == null ? Set.of() : Set.copyOf(roles), jwt.getExpiresAt());
+                })
+                .onErrorResume(JwtException.class, e -> Mono.just(Grant.of(Set.of())));
+    }
+}
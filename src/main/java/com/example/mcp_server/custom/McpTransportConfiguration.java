@@ -0,0 +1,54 @@
+package com.example.mcp_server.custom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.json.jackson.JacksonMcpJsonMapper;
+import io.modelcontextprotocol.server.transport.WebFluxSseServerTransportProvider;
+import org.springframework.ai.mcp.server.common.autoconfigure.properties.McpServerSseProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.Map;
+
+/**
+ * The WebFlux SSE transport as Spring AI would configure it from {@code spring.ai.mcp.server.*},
+ * except that responses are encoded by a {@link ToolCatalogJsonMapper} and each message's
+ * {@code Authorization} header is passed to tool calls in the transport context. Defining the
+ * transport here turns off the auto-configured one, router function included.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(McpServerSseProperties.class)
+public class McpTransportConfiguration {
+
+    @Bean
+    public WebFluxSseServerTransportProvider webFluxTransport(@Qualifier("mcpServerObjectMapper") ObjectMapper objectMapper,
+                                                              McpServerSseProperties properties) {
+        return WebFluxSseServerTransportProvider.builder()
+                .jsonMapper(new ToolCatalogJsonMapper(new JacksonMcpJsonMapper(objectMapper)))
+                .basePath(properties.getBaseUrl())
+                .messageEndpoint(properties.getSseMessageEndpoint())
+                .sseEndpoint(properties.getSseEndpoint())
+                .keepAliveInterval(properties.getKeepAliveInterval())
+                .contextExtractor(McpTransportConfiguration::credentials)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<?> webfluxSseServerRouterFunction(WebFluxSseServerTransportProvider webFluxTransport) {
+        return webFluxTransport.getRouterFunction();
+    }
+
+    // Each message request's Authorization header, for ToolAuthorizationFilter
+    private static McpTransportContext credentials(ServerRequest request) {
+        String authorization = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        return authorization == null ? McpTransportContext.EMPTY
+                : McpTransportContext.create(Map.of(ToolAuthorizationFilter.CREDENTIALS_KEY, authorization));
+    }
+}
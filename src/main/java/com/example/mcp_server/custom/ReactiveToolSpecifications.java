@@ -0,0 +1,272 @@
+package com.example.mcp_server.custom;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.support.ToolDefinitions;
+import org.springframework.ai.util.json.JsonParser;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Builds MCP async tool specifications straight from {@link Tool}-annotated methods.
+ * <p>
+ * Unlike {@code MethodToolCallbackProvider}, which only knows synchronous callbacks, methods
+ * returning {@link Mono} or {@link Flux} are subscribed to without ever blocking the calling
+ * (Netty event-loop) thread. Plain synchronous methods are still supported, but their
+ * invocation is moved onto the supplied tool scheduler. Each tool can be given its own
+ * concurrency limit; calls beyond it queue without holding a thread. Cross-cutting concerns
+ * plug in as {@link ToolInvocationFilter}s wrapped around every call.
+ */
+@Slf4j
+public final class ReactiveToolSpecifications {
+
+    private ReactiveToolSpecifications() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final List<Object> toolObjects = new ArrayList<>();
+        private Scheduler scheduler;
+        private ToIntFunction<String> concurrencyLimits = toolName -> 0;
+        private final List<ToolInvocationFilter> filters = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder toolObjects(Object... toolObjects) {
+            this.toolObjects.addAll(Arrays.asList(toolObjects));
+            return this;
+        }
+
+        public Builder scheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Maximum number of concurrent invocations per tool name; zero or less means unlimited.
+         */
+        public Builder concurrencyLimits(ToIntFunction<String> concurrencyLimits) {
+            this.concurrencyLimits = concurrencyLimits;
+            return this;
+        }
+
+        /**
+         * Filters applied to every call, outermost first.
+         */
+        public Builder filters(List<? extends ToolInvocationFilter> filters) {
+            this.filters.addAll(filters);
+            return this;
+        }
+
+        public List<AsyncToolSpecification> build() {
+            Assert.notNull(scheduler, "scheduler cannot be null");
+            List<AsyncToolSpecification> specifications = new ArrayList<>();
+            for (Object toolObject : toolObjects) {
+                Class<?> type = ClassUtils.getUserClass(toolObject);
+                for (Method method : ReflectionUtils.getDeclaredMethods(type)) {
+                    if (AnnotationUtils.findAnnotation(method, Tool.class) != null) {
+                        specifications.add(new ReactiveToolMethod(toolObject, method, scheduler, concurrencyLimits, filters).specification());
+                    }
+                }
+            }
+            log.info("Registered {} reactive tool specifications", specifications.size());
+            return specifications;
+        }
+    }
+
+    private static final class ReactiveToolMethod {
+
+        private static final ObjectMapper OBJECT_MAPPER = JsonParser.getObjectMapper();
+
+        private final Object target;
+        private final Method method;
+        private final Parameter[] parameters;
+        private final JavaType[] parameterTypes;
+        private final boolean reactive;
+        private final Scheduler scheduler;
+        private final ToolDefinition definition;
+        private final ToolBulkhead bulkhead;
+        private final Method statusAccessor;
+        private final ToolInvocationFilter.Chain chain;
+
+        private ReactiveToolMethod(Object target, Method method, Scheduler scheduler, ToIntFunction<String> concurrencyLimits,
+                                   List<ToolInvocationFilter> filters) {
+            ReflectionUtils.makeAccessible(method);
+            this.target = target;
+            this.method = method;
+            this.parameters = method.getParameters();
+            this.parameterTypes = parameterTypes(parameters);
+            this.reactive = Publisher.class.isAssignableFrom(method.getReturnType());
+            this.scheduler = scheduler;
+            this.definition = ToolDefinitions.from(method);
+            int maxConcurrency = concurrencyLimits.applyAsInt(definition.name());
+            this.bulkhead = maxConcurrency > 0 ? new ToolBulkhead(maxConcurrency) : null;
+            this.statusAccessor = statusAccessor(method);
+
+            ToolInvocationFilter.Chain chain = this::execute;
+            for (int i = filters.size() - 1; i >= 0; i--) {
+                ToolInvocationFilter filter = filters.get(i).forTool(method);
+                if (filter == null) {
+                    continue;
+                }
+                ToolInvocationFilter.Chain next = chain;
+                chain = invocation -> filter.filter(invocation, next);
+            }
+            this.chain = chain;
+        }
+
+        private AsyncToolSpecification specification() {
+            McpSchema.Tool tool = McpSchema.Tool.builder()
+                    .name(definition.name())
+                    .description(definition.description())
+                    .inputSchema(McpJsonMapper.getDefault(), definition.inputSchema())
+                    .build();
+            return AsyncToolSpecification.builder()
+                    .tool(tool)
+                    .callHandler(this::call)
+                    .build();
+        }
+
+        private Mono<CallToolResult> call(McpAsyncServerExchange exchange, CallToolRequest request) {
+            return chain.proceed(new ToolInvocation(definition.name(), exchange, request.arguments()));
+        }
+
+        private Mono<CallToolResult> execute(ToolInvocation invocation) {
+            return bulkhead == null ? invoke(invocation) : bulkhead.limit(invoke(invocation));
+        }
+
+        private Mono<CallToolResult> invoke(ToolInvocation invocation) {
+            return Mono.defer(() -> {
+                        Object[] arguments = resolveArguments(invocation.exchange(), invocation.arguments());
+                        if (reactive) {
+                            return toMono(ReflectionUtils.invokeMethod(method, target, arguments));
+                        }
+                        // Synchronous tool: keep whatever it does off the caller's thread
+                        return Mono.fromCallable(() -> ReflectionUtils.invokeMethod(method, target, arguments))
+                                .subscribeOn(scheduler);
+                    })
+                    .map(value -> {
+                        invocation.resultStatus(resultStatus(value));
+                        return success(value);
+                    })
+                    .switchIfEmpty(Mono.fromSupplier(() -> success(null)))
+                    .onErrorResume(Exception.class, e -> {
+                        log.error("Tool {} failed", definition.name(), e);
+                        return Mono.just(CallToolResult.builder().addTextContent(String.valueOf(e.getMessage())).isError(true).build());
+                    });
+        }
+
+        private Object[] resolveArguments(McpAsyncServerExchange exchange, Map<String, Object> input) {
+            Object[] arguments = new Object[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                Parameter parameter = parameters[i];
+                if (ToolContext.class.isAssignableFrom(parameter.getType())) {
+                    Map<String, Object> context = new HashMap<>();
+                    if (exchange != null) {
+                        context.put(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY, exchange);
+                    }
+                    arguments[i] = new ToolContext(context);
+                    continue;
+                }
+                Object raw = input == null ? null : input.get(parameter.getName());
+                arguments[i] = raw == null ? null
+                        : OBJECT_MAPPER.convertValue(raw, parameterTypes[i]);
+            }
+            return arguments;
+        }
+
+        /**
+         * Resolves each parameter's type and builds its deserializer up front: Jackson creates
+         * deserializers under a lock, which must not be taken on an event-loop thread.
+         */
+        private static JavaType[] parameterTypes(Parameter[] parameters) {
+            JavaType[] types = new JavaType[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                if (ToolContext.class.isAssignableFrom(parameters[i].getType())) {
+                    continue;
+                }
+                types[i] = OBJECT_MAPPER.constructType(parameters[i].getParameterizedType());
+                OBJECT_MAPPER.readerFor(types[i]);
+            }
+            return types;
+        }
+
+        /**
+         * Accessor of the {@code status} component when the tool returns a record that has one.
+         */
+        private static Method statusAccessor(Method method) {
+            ResolvableType returnType = ResolvableType.forMethodReturnType(method);
+            Class<?> resultType = Publisher.class.isAssignableFrom(method.getReturnType())
+                    ? returnType.getGeneric(0).resolve()
+                    : returnType.resolve();
+            if (resultType == null || !resultType.isRecord()) {
+                return null;
+            }
+            for (RecordComponent component : resultType.getRecordComponents()) {
+                if ("status".equals(component.getName()) && component.getType() == String.class) {
+                    Method accessor = component.getAccessor();
+                    ReflectionUtils.makeAccessible(accessor);
+                    return accessor;
+                }
+            }
+            return null;
+        }
+
+        private String resultStatus(Object value) {
+            if (statusAccessor == null || !statusAccessor.getDeclaringClass().isInstance(value)) {
+                return null;
+            }
+            return (String) ReflectionUtils.invokeMethod(statusAccessor, value);
+        }
+
+        private static Mono<?> toMono(Object result) {
+            if (result instanceof Mono<?> mono) {
+                return mono;
+            }
+            if (result instanceof Flux<?> flux) {
+                return flux.collectList();
+            }
+            if (result instanceof Publisher<?> publisher) {
+                return Flux.from(publisher).collectList();
+            }
+            return Mono.justOrEmpty(result);
+        }
+
+        private static CallToolResult success(Object value) {
+            return CallToolResult.builder().addTextContent(JsonParser.toJson(value)).isError(false).build();
+        }
+    }
+}
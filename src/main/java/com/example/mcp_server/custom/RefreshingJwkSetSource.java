@@ -0,0 +1,125 @@
+package com.example.mcp_server.custom;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * JWK source for {@code NimbusReactiveJwtDecoder} that keeps the issuer's key set in memory.
+ * <p>
+ * The set is fetched when the application starts and refreshed in the background every
+ * {@code refreshInterval}, so token verification never waits for the network. A token signed
+ * with a key that is not in the set (the issuer rotated keys since the last refresh) triggers
+ * one immediate refresh, at most once per {@code minRefreshInterval}; concurrent requests share
+ * that fetch.
+ */
+@Slf4j
+public class RefreshingJwkSetSource implements Function<SignedJWT, Flux<JWK>>, SmartLifecycle {
+
+    private record Snapshot(JWKSet keys, long fetchedAtNanos) {
+    }
+
+    private static final Snapshot EMPTY = new Snapshot(new JWKSet(), Long.MIN_VALUE / 2);
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final Duration refreshInterval;
+    private final long minRefreshNanos;
+
+    private volatile Snapshot snapshot = EMPTY;
+    private final AtomicReference<Mono<Snapshot>> inFlight = new AtomicReference<>();
+    private volatile Disposable refresher;
+
+    public RefreshingJwkSetSource(WebClient webClient, String jwkSetUri, Duration refreshInterval, Duration minRefreshInterval) {
+        this.webClient = webClient;
+        this.jwkSetUri = jwkSetUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshNanos = minRefreshInterval.toNanos();
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT jwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        Snapshot current = snapshot;
+        List<JWK> keys = selector.select(current.keys());
+        if (!keys.isEmpty() || System.nanoTime() - current.fetchedAtNanos() < minRefreshNanos) {
+            return Flux.fromIterable(keys);
+        }
+        return refresh().flatMapIterable(refreshed -> selector.select(refreshed.keys()));
+    }
+
+    /**
+     * Fetches the key set, joining a fetch that is already in progress.
+     */
+    Mono<Snapshot> refresh() {
+        Mono<Snapshot> pending = inFlight.get();
+        if (pending != null) {
+            return pending;
+        }
+        Mono<Snapshot> fetch = webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(body -> {
+                    try {
+                        return new Snapshot(JWKSet.parse(body), System.nanoTime());
+                    } catch (ParseException e) {
+                        throw new IllegalStateException("Invalid JWK set from " + jwkSetUri, e);
+                    }
+                })
+                .doOnNext(fetched -> {
+                    snapshot = fetched;
+                    log.debug("Loaded {} signing keys from {}", fetched.keys().size(), jwkSetUri);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to refresh JWK set from {}: {}", jwkSetUri, e.toString());
+                    // Keep the keys we have; retry no sooner than minRefreshInterval
+                    Snapshot stale = new Snapshot(snapshot.keys(), System.nanoTime());
+                    snapshot = stale;
+                    return Mono.just(stale);
+                })
+                .doFinally(signal -> inFlight.set(null))
+                .cache();
+        return inFlight.compareAndSet(null, fetch) ? fetch : refresh();
+    }
+
+    int keyCount() {
+        return snapshot.keys().size();
+    }
+
+    @Override
+    public void start() {
+        refresher = Flux.interval(Duration.ZERO, refreshInterval, Schedulers.parallel())
+                .concatMap(tick -> refresh())
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = refresher;
+        if (current != null) {
+            current.dispose();
+            refresher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return refresher != null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.mcp_server.custom;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Audit trail of every tool call ({@code app.audit.*}); on unless {@code app.audit.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class ToolAuditConfiguration {
+
+    @Bean
+    public ToolAuditLog toolAuditLog(@Value("${app.audit.directory:audit}") Path directory,
+                                     @Value("${app.audit.buffer-size:65536}") int bufferSize,
+                                     @Value("${app.audit.max-file-size:64MB}") DataSize maxFileSize,
+                                     @Value("${app.audit.max-files:30}") int maxFiles,
+                                     @Value("${app.audit.batch-size:4096}") int batchSize,
+                                     @Value("${app.audit.idle-poll:5ms}") Duration idlePoll,
+                                     MeterRegistry meterRegistry) {
+        ToolAuditLog auditLog = new ToolAuditLog(directory, bufferSize, maxFileSize.toBytes(), maxFiles, batchSize,
+                idlePoll.toNanos());
+        FunctionCounter.builder("mcp.audit.events.dropped", auditLog, ToolAuditLog::droppedCount)
+                .description("Audit events dropped because the buffer was full or the write failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("mcp.audit.events.written", auditLog, ToolAuditLog::writtenCount)
+                .register(meterRegistry);
+        Gauge.builder("mcp.audit.backlog", auditLog, ToolAuditLog::backlog)
+                .description("Audit events waiting for the writer")
+                .register(meterRegistry);
+        return auditLog;
+    }
+
+    @Bean
+    public ToolAuditFilter toolAuditFilter(ToolAuditLog toolAuditLog) {
+        return new ToolAuditFilter(toolAuditLog);
+    }
+}
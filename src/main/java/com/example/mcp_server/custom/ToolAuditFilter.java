@@ -0,0 +1,51 @@
+package com.example.mcp_server.custom;
+
+import com.example.mcp_server.custom.ToolAuditLog.AuditEvent;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes one {@link AuditEvent} per tool call to the {@link ToolAuditLog}. Only references and
+ * timestamps are captured here; hashing and encoding happen on the audit writer thread.
+ */
+public class ToolAuditFilter implements ToolInvocationFilter, Ordered {
+
+    public static final int ORDER = ToolMetricsFilter.ORDER + 10;
+
+    private final ToolAuditLog auditLog;
+
+    public ToolAuditFilter(ToolAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<CallToolResult> filter(ToolInvocation invocation, Chain chain) {
+        return Mono.defer(() -> {
+            long timestamp = System.currentTimeMillis();
+            long start = System.nanoTime();
+            return chain.proceed(invocation)
+                    .doOnNext(result -> publish(timestamp, invocation, outcome(invocation, result), start))
+                    .doOnError(error -> publish(timestamp, invocation, ToolMetricsFilter.STATUS_EXCEPTION, start))
+                    .doOnCancel(() -> publish(timestamp, invocation, ToolMetricsFilter.STATUS_CANCELLED, start));
+        });
+    }
+
+    private void publish(long timestamp, ToolInvocation invocation, String outcome, long start) {
+        String sessionId = invocation.exchange() == null ? null : invocation.exchange().sessionId();
+        auditLog.publish(new AuditEvent(timestamp, invocation, sessionId, outcome, System.nanoTime() - start));
+    }
+
+    private static String outcome(ToolInvocation invocation, CallToolResult result) {
+        String status = invocation.resultStatus();
+        if (Boolean.TRUE.equals(result.isError())) {
+            return status == null ? ToolMetricsFilter.STATUS_ERROR : status;
+        }
+        return status == null ? ToolMetricsFilter.STATUS_OK : status;
+    }
+}
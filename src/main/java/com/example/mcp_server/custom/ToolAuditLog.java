@@ -0,0 +1,258 @@
+package com.example.mcp_server.custom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Durable audit trail of tool invocations, written as NDJSON.
+ * <p>
+ * Request threads only capture the event and offer it to an {@link AuditRingBuffer}; if the
+ * ring is full the event is dropped and counted rather than waited for. A single writer
+ * thread drains the ring in batches, derives the expensive fields (arguments hash, JSON
+ * encoding), appends to the current file with one flush per batch and rotates files by size
+ * and by UTC day, keeping the newest {@code maxFiles}.
+ */
+@Slf4j
+public class ToolAuditLog implements SmartLifecycle {
+
+    static final String FILE_PREFIX = "tool-audit-";
+    static final String FILE_SUFFIX = ".ndjson";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+    private static final HexFormat HEX = HexFormat.of();
+
+    record AuditEvent(long timestampMillis, ToolInvocation invocation, String sessionId, String outcome,
+                      long latencyNanos) {
+    }
+
+    private final Path directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final int batchSize;
+    private final long idleParkNanos;
+    private final AuditRingBuffer<AuditEvent> ring;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    // Writer-thread state
+    private final MessageDigest sha256;
+    private final StringBuilder line = new StringBuilder(512);
+    private OutputStream out;
+    private Path currentFile;
+    private LocalDate currentDay;
+    private long currentFileSize;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ToolAuditLog(Path directory, int bufferSize, long maxFileSize, int maxFiles, int batchSize, long idleParkNanos) {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.batchSize = batchSize;
+        this.idleParkNanos = idleParkNanos;
+        this.ring = new AuditRingBuffer<>(bufferSize);
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Non-blocking; returns {@code false} (and counts a drop) when the buffer is full.
+     */
+    boolean publish(AuditEvent event) {
+        if (ring.offer(event)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    public int backlog() {
+        return ring.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("tool-audit-writer").daemon().start(this::run);
+        log.info("Writing tool audit log to {}", directory.toAbsolutePath());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            if (drainBatch() == 0) {
+                LockSupport.parkNanos(idleParkNanos);
+            }
+        }
+        // Shutdown: write whatever is still buffered
+        while (drainBatch() > 0) {
+            // keep draining
+        }
+        closeQuietly();
+    }
+
+    private int drainBatch() {
+        int drained = ring.drain(this::append, batchSize);
+        if (drained > 0 && out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                log.error("Failed to flush tool audit log {}", currentFile, e);
+                closeQuietly();
+            }
+        }
+        return drained;
+    }
+
+    private void append(AuditEvent event) {
+        try {
+            LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(event.timestampMillis()), ZoneOffset.UTC);
+            if (out == null || currentFileSize >= maxFileSize || !day.equals(currentDay)) {
+                rotate(day);
+            }
+            byte[] bytes = encode(event).getBytes(StandardCharsets.UTF_8);
+            out.write(bytes);
+            currentFileSize += bytes.length;
+            written.increment();
+        } catch (IOException e) {
+            log.error("Failed to write tool audit event to {}", currentFile, e);
+            dropped.increment();
+            closeQuietly();
+        }
+    }
+
+    private String encode(AuditEvent event) {
+        ToolInvocation invocation = event.invocation();
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.timestampMillis())).append('"');
+        field("tool", invocation.toolName());
+        field("customerId", invocation.customerId());
+        field("session", event.sessionId());
+        field("argsSha256", argumentsHash(invocation.argumentsJson()));
+        field("outcome", event.outcome());
+        line.append(",\"latencyMicros\":").append(TimeUnit.NANOSECONDS.toMicros(event.latencyNanos()));
+        return line.append("}\n").toString();
+    }
+
+    private void field(String name, String value) {
+        line.append(",\"").append(name).append("\":");
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private String argumentsHash(String argumentsJson) {
+        return HEX.formatHex(sha256.digest(argumentsJson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void rotate(LocalDate day) throws IOException {
+        closeQuietly();
+        Files.createDirectories(directory);
+        currentFile = directory.resolve(FILE_PREFIX + FILE_TIMESTAMP.format(Instant.now()) + FILE_SUFFIX);
+        out = new BufferedOutputStream(Files.newOutputStream(currentFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 256 * 1024);
+        currentDay = day;
+        currentFileSize = Files.size(currentFile);
+        deleteExpiredFiles();
+    }
+
+    private void deleteExpiredFiles() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+        // Timestamped names sort chronologically
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private void closeQuietly() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Failed to close tool audit log {}", currentFile, e);
+        }
+        out = null;
+    }
+}
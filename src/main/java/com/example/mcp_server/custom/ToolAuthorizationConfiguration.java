@@ -0,0 +1,24 @@
+package com.example.mcp_server.custom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * {@link AuthorizedTool} enforcement ({@code app.security.tool-authorization.*}); needs a
+ * {@link ToolRolesResolver} bean that turns the caller's credentials into roles.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.security.tool-authorization.enabled", havingValue = "true")
+public class ToolAuthorizationConfiguration {
+
+    @Bean
+    public ToolAuthorizationFilter toolAuthorizationFilter(ToolRolesResolver toolRolesResolver,
+                                                           @Value("${app.security.tool-authorization.cache-ttl:5m}") Duration cacheTtl,
+                                                           @Value("${app.security.tool-authorization.max-cached-credentials:10000}") int maxCachedCredentials) {
+        return new ToolAuthorizationFilter(toolRolesResolver, cacheTtl, maxCachedCredentials);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.mcp_server.custom;
+
+import com.example.mcp_server.custom.ToolRolesResolver.Grant;
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces {@link AuthorizedTool} roles: the caller must hold every role the tool method lists.
+ * <p>
+ * Required roles are resolved per method when the tool chains are built; tools without the
+ * annotation get no authorization step at all. The roles granted to a set of credentials come
+ * from the {@link ToolRolesResolver} and are cached for {@code ttl}, or until the grant expires
+ * if that is sooner, so a cached call costs a map lookup and a few set probes. Denied calls
+ * return an error result and report the {@value ToolMetricsFilter#STATUS_FORBIDDEN} status to
+ * the metrics and audit filters.
+ */
+public class ToolAuthorizationFilter implements ToolInvocationFilter, Ordered {
+
+    public static final int ORDER = ToolAuditFilter.ORDER + 10;
+
+    /**
+     * Transport context key under which the message request's {@code Authorization} header is kept.
+     */
+    public static final String CREDENTIALS_KEY = "authorization";
+
+    private record CachedRoles(Set<String> roles, long expiresAtNanos) {
+    }
+
+    private final ToolRolesResolver rolesResolver;
+    private final long ttlNanos;
+    private final int maxCachedCredentials;
+    private final Map<String, CachedRoles> cache = new ConcurrentHashMap<>();
+
+    public ToolAuthorizationFilter(ToolRolesResolver rolesResolver, Duration ttl, int maxCachedCredentials) {
+        this.rolesResolver = rolesResolver;
+        this.ttlNanos = ttl.toNanos();
+        this.maxCachedCredentials = maxCachedCredentials;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public ToolInvocationFilter forTool(Method method) {
+        AuthorizedTool authorizedTool = AnnotationUtils.findAnnotation(method, AuthorizedTool.class);
+        if (authorizedTool == null || authorizedTool.value().length == 0) {
+            return null;
+        }
+        String[] required = Arrays.stream(authorizedTool.value()).distinct().toArray(String[]::new);
+        return (invocation, chain) -> authorize(invocation, chain, required);
+    }
+
+    @Override
+    public Mono<CallToolResult> filter(ToolInvocation invocation, Chain chain) {
+        // Only reached through forTool
+        return chain.proceed(invocation);
+    }
+
+    private Mono<CallToolResult> authorize(ToolInvocation invocation, Chain chain, String[] required) {
+        String credentials = credentials(invocation);
+        if (credentials == null) {
+            return deny(invocation, "Tool " + invocation.toolName() + " requires an authenticated caller");
+        }
+        CachedRoles cached = cache.get(credentials);
+        if (cached != null && System.nanoTime() - cached.expiresAtNanos() < 0) {
+            return decide(invocation, chain, required, cached.roles());
+        }
+        return rolesResolver.resolve(credentials)
+                .defaultIfEmpty(Grant.of(Set.of()))
+                .flatMap(grant -> {
+                    remember(credentials, grant);
+                    return decide(invocation, chain, required, grant.roles());
+                });
+    }
+
+    private Mono<CallToolResult> decide(ToolInvocation invocation, Chain chain, String[] required, Set<String> roles) {
+        for (String role : required) {
+            if (!roles.contains(role)) {
+                return deny(invocation, "Tool " + invocation.toolName() + " requires roles " + Arrays.toString(required));
+            }
+        }
+        return chain.proceed(invocation);
+    }
+
+    private static Mono<CallToolResult> deny(ToolInvocation invocation, String message) {
+        invocation.resultStatus(ToolMetricsFilter.STATUS_FORBIDDEN);
+        return Mono.just(CallToolResult.builder().addTextContent(message).isError(true).build());
+    }
+
+    private void remember(String credentials, Grant grant) {
+        long lifetimeNanos = ttlNanos;
+        if (grant.expiresAt() != null) {
+            // An expired grant is not cached, so the next call resolves the credentials again
+            Instant issuedAt = Instant.now();
+            if (!grant.expiresAt().isAfter(issuedAt)) {
+                return;
+            }
+            if (grant.expiresAt().isBefore(issuedAt.plusNanos(ttlNanos))) {
+                lifetimeNanos = Duration.between(issuedAt, grant.expiresAt()).toNanos();
+            }
+        }
+        long now = System.nanoTime();
+        if (cache.size() >= maxCachedCredentials) {
+            cache.values().removeIf(entry -> now - entry.expiresAtNanos() >= 0);
+            if (cache.size() >= maxCachedCredentials) {
+                cache.clear();
+            }
+        }
+        cache.put(credentials, new CachedRoles(Set.copyOf(grant.roles()), now + lifetimeNanos));
+    }
+
+    private static String credentials(ToolInvocation invocation) {
+        if (invocation.exchange() == null) {
+            return null;
+        }
+        McpTransportContext context = invocation.exchange().transportContext();
+        return context == null ? null : (String) context.get(CREDENTIALS_KEY);
+    }
+}
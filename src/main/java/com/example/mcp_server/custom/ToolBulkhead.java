@@ -0,0 +1,94 @@
+package com.example.mcp_server.custom;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking per-tool concurrency limit. Calls over the limit wait in a FIFO queue for a
+ * permit instead of parking a thread, so the limit holds the same way on the event loop,
+ * on boundedElastic and on virtual threads.
+ */
+final class ToolBulkhead {
+
+    private final AtomicInteger available;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    ToolBulkhead(int maxConcurrency) {
+        this.available = new AtomicInteger(maxConcurrency);
+    }
+
+    <T> Mono<T> limit(Mono<T> call) {
+        return Mono.usingWhen(acquire(), permit -> call, permit -> release(), (permit, error) -> release(), permit -> release());
+    }
+
+    private Mono<Boolean> acquire() {
+        return Mono.create(sink -> {
+            if (tryAcquire()) {
+                sink.success(Boolean.TRUE);
+                return;
+            }
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(waiter::cancel);
+            waiters.add(waiter);
+            drain();
+        });
+    }
+
+    private Mono<Void> release() {
+        return Mono.fromRunnable(() -> {
+            available.incrementAndGet();
+            drain();
+        });
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = available.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null || !waiter.grant()) {
+                // Nobody to hand the permit to (queue drained or caller cancelled)
+                available.incrementAndGet();
+                if (waiter == null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final MonoSink<Boolean> sink;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Waiter(MonoSink<Boolean> sink) {
+            this.sink = sink;
+        }
+
+        private boolean grant() {
+            if (done.compareAndSet(false, true)) {
+                sink.success(Boolean.TRUE);
+                return true;
+            }
+            return false;
+        }
+
+        private void cancel() {
+            done.set(true);
+        }
+    }
+}
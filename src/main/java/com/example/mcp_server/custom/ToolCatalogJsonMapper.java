@@ -0,0 +1,101 @@
+package com.example.mcp_server.custom;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse;
+import io.modelcontextprotocol.spec.McpSchema.ListToolsResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * {@link McpJsonMapper} for the server transport that encodes the {@code tools/list} result once
+ * and splices it into every later response.
+ * <p>
+ * The server answers {@code tools/list} with a fresh {@link ListToolsResult} over the same
+ * registered {@link McpSchema.Tool} instances, so the cached JSON is reused for as long as the
+ * result holds exactly those instances; adding or removing a tool re-encodes it on the next
+ * request. Only the request id is serialized per response. Everything else is delegated.
+ */
+public class ToolCatalogJsonMapper implements McpJsonMapper {
+
+    private record EncodedCatalog(List<McpSchema.Tool> tools, String json) {
+    }
+
+    private final McpJsonMapper delegate;
+    private volatile EncodedCatalog catalog;
+
+    public ToolCatalogJsonMapper(McpJsonMapper delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String writeValueAsString(Object value) throws IOException {
+        if (value instanceof JSONRPCResponse response && response.error() == null
+                && response.result() instanceof ListToolsResult result
+                && result.nextCursor() == null && result.meta() == null) {
+            return "{\"jsonrpc\":" + delegate.writeValueAsString(response.jsonrpc())
+                    + ",\"id\":" + delegate.writeValueAsString(response.id())
+                    + ",\"result\":" + encodedCatalog(result.tools()) + "}";
+        }
+        return delegate.writeValueAsString(value);
+    }
+
+    @Override
+    public byte[] writeValueAsBytes(Object value) throws IOException {
+        return writeValueAsString(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String encodedCatalog(List<McpSchema.Tool> tools) throws IOException {
+        EncodedCatalog current = catalog;
+        if (current == null || !sameInstances(current.tools(), tools)) {
+            current = new EncodedCatalog(List.copyOf(tools), delegate.writeValueAsString(new ListToolsResult(tools, null)));
+            catalog = current;
+        }
+        return current.json();
+    }
+
+    private static boolean sameInstances(List<McpSchema.Tool> cached, List<McpSchema.Tool> tools) {
+        if (cached.size() != tools.size()) {
+            return false;
+        }
+        for (int i = 0; i < cached.size(); i++) {
+            if (cached.get(i) != tools.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public <T> T readValue(String content, Class<T> type) throws IOException {
+        return delegate.readValue(content, type);
+    }
+
+    @Override
+    public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+        return delegate.readValue(content, type);
+    }
+
+    @Override
+    public <T> T readValue(String content, TypeRef<T> type) throws IOException {
+        return delegate.readValue(content, type);
+    }
+
+    @Override
+    public <T> T readValue(byte[] content, TypeRef<T> type) throws IOException {
+        return delegate.readValue(content, type);
+    }
+
+    @Override
+    public <T> T convertValue(Object fromValue, Class<T> type) {
+        return delegate.convertValue(fromValue, type);
+    }
+
+    @Override
+    public <T> T convertValue(Object fromValue, TypeRef<T> type) {
+        return delegate.convertValue(fromValue, type);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.mcp_server.custom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Chooses where blocking tool work runs.
+ * <p>
+ * {@code BOUNDED_ELASTIC} (default) uses a dedicated bounded pool of platform threads.
+ * {@code VIRTUAL_THREADS} runs each invocation on its own Java 21 virtual thread, which suits
+ * tools that block on JDBC or legacy core-banking clients; pinning of those virtual threads
+ * to their carrier is reported by {@link VirtualThreadPinningMonitor}.
+ */
+@Configuration
+@Slf4j
+public class ToolExecutionConfiguration {
+
+    public enum ExecutionMode {
+        BOUNDED_ELASTIC,
+        VIRTUAL_THREADS
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler toolScheduler(@Value("${app.tools.execution.mode:BOUNDED_ELASTIC}") ExecutionMode mode,
+                                   @Value("${app.tools.execution.max-threads:64}") int maxThreads,
+                                   @Value("${app.tools.execution.max-queued-tasks:100000}") int maxQueuedTasks) {
+        log.info("Tool execution mode: {}", mode);
+        return switch (mode) {
+            case VIRTUAL_THREADS -> Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("banking-tools-vt-", 0).factory()),
+                    "banking-tools-vt");
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(maxThreads, maxQueuedTasks, "banking-tools");
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tools.execution.mode", havingValue = "VIRTUAL_THREADS")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.tools.execution.pinned-threshold:20ms}") Duration pinnedThreshold) {
+        return new VirtualThreadPinningMonitor(pinnedThreshold);
+    }
+}
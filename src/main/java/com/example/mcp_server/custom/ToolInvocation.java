@@ -0,0 +1,89 @@
+package com.example.mcp_server.custom;
+
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import org.springframework.ai.util.json.JsonParser;
+
+import java.util.Map;
+
+/**
+ * A single tool call as seen by {@link ToolInvocationFilter}s. Derived views such as the JSON
+ * form of the arguments are computed on first use and shared by every filter.
+ */
+public final class ToolInvocation {
+
+    private final String toolName;
+    private final McpAsyncServerExchange exchange;
+    private final Map<String, Object> arguments;
+
+    private String argumentsJson;
+    private String customerId;
+    private volatile String resultStatus;
+
+    ToolInvocation(String toolName, McpAsyncServerExchange exchange, Map<String, Object> arguments) {
+        this.toolName = toolName;
+        this.exchange = exchange;
+        this.arguments = arguments == null ? Map.of() : arguments;
+    }
+
+    public String toolName() {
+        return toolName;
+    }
+
+    /**
+     * The MCP session exchange, or {@code null} when the tool is invoked outside a session.
+     */
+    public McpAsyncServerExchange exchange() {
+        return exchange;
+    }
+
+    public Map<String, Object> arguments() {
+        return arguments;
+    }
+
+    public String argumentsJson() {
+        String json = argumentsJson;
+        if (json == null) {
+            json = JsonParser.toJson(arguments);
+            argumentsJson = json;
+        }
+        return json;
+    }
+
+    /**
+     * The {@code customerId} argument, looked up at the top level and inside request objects,
+     * or {@code null} if the tool takes none.
+     */
+    public String customerId() {
+        String id = customerId;
+        if (id == null) {
+            id = findCustomerId(arguments);
+            customerId = id;
+        }
+        return id;
+    }
+
+    /**
+     * The {@code status} reported by the tool's response record (for example {@code SUCCESS} or
+     * {@code FAILURE}), or {@code null} until the tool has returned or if it reports none.
+     */
+    public String resultStatus() {
+        return resultStatus;
+    }
+
+    void resultStatus(String resultStatus) {
+        this.resultStatus = resultStatus;
+    }
+
+    private static String findCustomerId(Map<String, Object> arguments) {
+        Object direct = arguments.get("customerId");
+        if (direct != null) {
+            return direct.toString();
+        }
+        for (Object value : arguments.values()) {
+            if (value instanceof Map<?, ?> nested && nested.get("customerId") != null) {
+                return nested.get("customerId").toString();
+            }
+        }
+        return null;
+    }
+}
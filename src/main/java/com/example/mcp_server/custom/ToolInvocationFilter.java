@@ -0,0 +1,32 @@
+package com.example.mcp_server.custom;
+
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+
+/**
+ * Cross-cutting step around every tool call built by {@link ReactiveToolSpecifications}.
+ * Filters run in the order they are supplied and must stay non-blocking: they are subscribed
+ * on the transport's event-loop thread.
+ */
+@FunctionalInterface
+public interface ToolInvocationFilter {
+
+    Mono<CallToolResult> filter(ToolInvocation invocation, Chain chain);
+
+    /**
+     * Called once per tool when its chain is built, so per-tool configuration is resolved at
+     * startup rather than on every call. Returns the filter to use for {@code method}, or
+     * {@code null} to leave it out of that tool's chain.
+     */
+    default ToolInvocationFilter forTool(Method method) {
+        return this;
+    }
+
+    @FunctionalInterface
+    interface Chain {
+
+        Mono<CallToolResult> proceed(ToolInvocation invocation);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.mcp_server.custom;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Micrometer instrumentation for every tool call:
+ * <ul>
+ *     <li>{@code mcp.tool.calls} timer tagged by tool and status, with p50/p99/p999 and a
+ *     percentile histogram for server-side aggregation</li>
+ *     <li>{@code mcp.tool.in.flight} gauge per tool</li>
+ *     <li>{@code mcp.tool.errors} counter tagged by tool and status</li>
+ *     <li>{@code mcp.tool.payload.size} summary of request and response sizes in bytes</li>
+ * </ul>
+ * Meters are created on the first call of each tool/status pair and looked up from a map
+ * afterwards, so a call costs two clock reads and a few adder increments.
+ */
+@Component
+public class ToolMetricsFilter implements ToolInvocationFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    static final String CALLS = "mcp.tool.calls";
+    static final String IN_FLIGHT = "mcp.tool.in.flight";
+    static final String ERRORS = "mcp.tool.errors";
+    static final String PAYLOAD_SIZE = "mcp.tool.payload.size";
+
+    // Status tag values for calls that did not produce a regular tool response
+    static final String STATUS_OK = "OK";
+    static final String STATUS_ERROR = "ERROR";
+    static final String STATUS_EXCEPTION = "EXCEPTION";
+    static final String STATUS_CANCELLED = "CANCELLED";
+    static final String STATUS_FORBIDDEN = "FORBIDDEN";
+    static final String STATUS_RATE_LIMITED = "RATE_LIMITED";
+
+    private final MeterRegistry registry;
+    private final Map<String, ToolMeters> meters = new ConcurrentHashMap<>();
+
+    public ToolMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<CallToolResult> filter(ToolInvocation invocation, Chain chain) {
+        return Mono.defer(() -> {
+            ToolMeters tool = meters(invocation.toolName());
+            tool.requestSize.record(utf8Length(invocation.argumentsJson()));
+            tool.inFlight.increment();
+            long start = System.nanoTime();
+            return chain.proceed(invocation)
+                    .doOnNext(result -> {
+                        tool.record(status(invocation, result), System.nanoTime() - start);
+                        tool.responseSize.record(responseSize(result));
+                    })
+                    .doOnError(error -> tool.record(STATUS_EXCEPTION, System.nanoTime() - start))
+                    .doOnCancel(() -> tool.record(STATUS_CANCELLED, System.nanoTime() - start))
+                    .doFinally(signal -> tool.inFlight.decrement());
+        });
+    }
+
+    private ToolMeters meters(String toolName) {
+        ToolMeters tool = meters.get(toolName);
+        return tool != null ? tool : meters.computeIfAbsent(toolName, ToolMeters::new);
+    }
+
+    private static String status(ToolInvocation invocation, CallToolResult result) {
+        String status = invocation.resultStatus();
+        if (Boolean.TRUE.equals(result.isError())) {
+            // Filters that short-circuit a call (e.g. authorization) set their own status
+            return status == null ? STATUS_ERROR : status;
+        }
+        return status == null ? STATUS_OK : status;
+    }
+
+    private static long responseSize(CallToolResult result) {
+        long size = 0;
+        for (McpSchema.Content content : result.content()) {
+            if (content instanceof McpSchema.TextContent text) {
+                size += utf8Length(text.text());
+            }
+        }
+        return size;
+    }
+
+    // Encoded size without allocating the byte array
+    private static long utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private final class ToolMeters {
+
+        private final String toolName;
+        private final LongAdder inFlight = new LongAdder();
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+        private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+        private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+
+        private ToolMeters(String toolName) {
+            this.toolName = toolName;
+            Gauge.builder(IN_FLIGHT, inFlight, LongAdder::sum)
+                    .description("Tool calls currently in progress")
+                    .tag("tool", toolName)
+                    .register(registry);
+            this.requestSize = payloadSize("request");
+            this.responseSize = payloadSize("response");
+        }
+
+        private void record(String status, long nanos) {
+            Timer timer = timers.get(status);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(status, this::timer);
+            }
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            if (isError(status)) {
+                Counter counter = errors.get(status);
+                if (counter == null) {
+                    counter = errors.computeIfAbsent(status, this::errorCounter);
+                }
+                counter.increment();
+            }
+        }
+
+        private Timer timer(String status) {
+            return Timer.builder(CALLS)
+                    .description("Tool call latency")
+                    .tags("tool", toolName, "status", status)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(120))
+                    .register(registry);
+        }
+
+        private Counter errorCounter(String status) {
+            return Counter.builder(ERRORS)
+                    .description("Tool calls that failed or reported a failure status")
+                    .tags("tool", toolName, "status", status)
+                    .register(registry);
+        }
+
+        private DistributionSummary payloadSize(String direction) {
+            return DistributionSummary.builder(PAYLOAD_SIZE)
+                    .description("Serialized tool arguments and results")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tags("tool", toolName, "direction", direction)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+        }
+    }
+
+    private static boolean isError(String status) {
+        return switch (status) {
+            case STATUS_ERROR, STATUS_EXCEPTION, STATUS_FORBIDDEN, STATUS_RATE_LIMITED, "FAILURE", "FAILED" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.mcp_server.custom;
+
+import com.example.mcp_server.custom.ToolRateLimiter.Limit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Per-customer tool rate limits ({@code app.tools.rate-limit.*}).
+ * {@code limits.<toolName>.requests/period/burst} override {@code limits.default}; a tool whose
+ * {@code requests} resolve to {@code 0} is not limited.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tools.rate-limit.enabled", havingValue = "true")
+public class ToolRateLimitConfiguration {
+
+    private static final String LIMITS = "app.tools.rate-limit.limits.";
+
+    @Bean
+    public ToolRateLimiter toolRateLimiter(@Value("${app.tools.rate-limit.eviction-interval:1m}") Duration evictionInterval) {
+        return new ToolRateLimiter(evictionInterval);
+    }
+
+    @Bean
+    public ToolRateLimitFilter toolRateLimitFilter(ToolRateLimiter toolRateLimiter, Environment environment) {
+        return new ToolRateLimitFilter(toolRateLimiter, tool -> limit(environment, tool));
+    }
+
+    private static Limit limit(Environment environment, String tool) {
+        long requests = environment.getProperty(LIMITS + tool + ".requests", Long.class,
+                environment.getProperty(LIMITS + "default.requests", Long.class, 0L));
+        if (requests <= 0) {
+            return null;
+        }
+        Duration period = environment.getProperty(LIMITS + tool + ".period", Duration.class,
+                environment.getProperty(LIMITS + "default.period", Duration.class, Duration.ofMinutes(1)));
+        int burst = environment.getProperty(LIMITS + tool + ".burst", Integer.class,
+                environment.getProperty(LIMITS + "default.burst", Integer.class, 1));
+        return new Limit(requests, period, burst);
+    }
+}
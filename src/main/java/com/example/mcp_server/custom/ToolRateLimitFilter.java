@@ -0,0 +1,88 @@
+package com.example.mcp_server.custom;
+
+import com.example.mcp_server.custom.ToolRateLimiter.Limit;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.springframework.ai.tool.support.ToolUtils;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Rate-limits each tool per caller with a {@link ToolRateLimiter}.
+ * <p>
+ * The caller is the {@code customerId} argument, or the MCP session for tools that take none,
+ * so one runaway agent loop exhausts only its own customer's budget. Limits are resolved per
+ * tool when the chains are built; a tool without a limit gets no rate-limiting step. Rejected
+ * calls return an error result carrying {@code retryAfterSeconds} (also in {@code _meta} as
+ * {@code retryAfterMillis}) and report the {@value ToolMetricsFilter#STATUS_RATE_LIMITED}
+ * status. Runs after authorization, so denied calls do not spend a customer's tokens.
+ */
+public class ToolRateLimitFilter implements ToolInvocationFilter, Ordered {
+
+    public static final int ORDER = ToolAuthorizationFilter.ORDER + 10;
+
+    static final String RETRY_AFTER_MILLIS = "retryAfterMillis";
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final ToolRateLimiter rateLimiter;
+    private final Function<String, Limit> limits;
+
+    /**
+     * @param limits the limit for a tool name, or {@code null} for none
+     */
+    public ToolRateLimitFilter(ToolRateLimiter rateLimiter, Function<String, Limit> limits) {
+        this.rateLimiter = rateLimiter;
+        this.limits = limits;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public ToolInvocationFilter forTool(Method method) {
+        String toolName = ToolUtils.getToolName(method);
+        Limit limit = limits.apply(toolName);
+        if (limit == null) {
+            return null;
+        }
+        return (invocation, chain) -> limit(invocation, chain, limit);
+    }
+
+    @Override
+    public Mono<CallToolResult> filter(ToolInvocation invocation, Chain chain) {
+        // Only reached through forTool
+        return chain.proceed(invocation);
+    }
+
+    private Mono<CallToolResult> limit(ToolInvocation invocation, Chain chain, Limit limit) {
+        long waitNanos = rateLimiter.tryAcquire(invocation.toolName(), caller(invocation), limit);
+        if (waitNanos == 0) {
+            return chain.proceed(invocation);
+        }
+        invocation.resultStatus(ToolMetricsFilter.STATUS_RATE_LIMITED);
+        long retryAfterMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        long retryAfterSeconds = (retryAfterMillis + 999) / 1000;
+        String message = "{\"status\":\"" + ToolMetricsFilter.STATUS_RATE_LIMITED
+                + "\",\"message\":\"Too many " + invocation.toolName() + " calls, retry after " + retryAfterSeconds + "s\""
+                + ",\"retryAfterSeconds\":" + retryAfterSeconds + "}";
+        return Mono.just(new CallToolResult(List.of(new McpSchema.TextContent(message)), true, null,
+                Map.of(RETRY_AFTER_MILLIS, retryAfterMillis)));
+    }
+
+    private static String caller(ToolInvocation invocation) {
+        String customerId = invocation.customerId();
+        if (customerId != null) {
+            return customerId;
+        }
+        return invocation.exchange() == null ? ANONYMOUS : invocation.exchange().sessionId();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.mcp_server.custom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per tool and caller, kept lock-free.
+ * <p>
+ * Each bucket is a single {@code long}, the theoretical arrival time of the next call (the
+ * GCRA form of a token bucket): a call is admitted when that time is no further ahead of now
+ * than the burst allowance, and pushes it forward by one emission interval with a CAS. A
+ * bucket whose arrival time has passed is full and therefore indistinguishable from a new one;
+ * a background sweep marks such buckets evicted (with the same CAS, so a concurrent caller
+ * either wins the race or retries on a fresh bucket) and removes them, which keeps the map
+ * proportional to the callers active within roughly one period.
+ */
+@Slf4j
+public class ToolRateLimiter implements SmartLifecycle {
+
+    /**
+     * {@code requests} calls per {@code period}, of which up to {@code burst} may arrive at once.
+     */
+    public record Limit(long requests, Duration period, int burst) {
+
+        public Limit {
+            if (requests <= 0 || period.isNegative() || period.isZero() || burst <= 0) {
+                throw new IllegalArgumentException("Invalid rate limit: " + requests + "/" + period + ", burst " + burst);
+            }
+        }
+
+        long emissionIntervalNanos() {
+            return Math.max(1, period.toNanos() / requests);
+        }
+    }
+
+    private record BucketKey(String tool, String caller) {
+    }
+
+    // Arrival times are measured from the limiter's creation, so they are never negative
+    private static final long EVICTED = -1;
+
+    private final long epoch = System.nanoTime();
+    private final Map<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Duration evictionInterval;
+
+    private volatile Disposable sweeper;
+
+    public ToolRateLimiter(Duration evictionInterval) {
+        this.evictionInterval = evictionInterval;
+    }
+
+    /**
+     * Takes one token from the {@code (tool, caller)} bucket.
+     *
+     * @return {@code 0} if the call is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String tool, String caller, Limit limit) {
+        long interval = limit.emissionIntervalNanos();
+        long tolerance = interval * (limit.burst() - 1);
+        BucketKey key = new BucketKey(tool, caller);
+        while (true) {
+            long now = now();
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            long arrival = bucket.get();
+            if (arrival == EVICTED) {
+                buckets.remove(key, bucket);
+                continue;
+            }
+            long start = Math.max(arrival, now);
+            long ahead = start - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (bucket.compareAndSet(arrival, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that have refilled completely; returns how many were removed.
+     */
+    int evictIdle() {
+        long now = now();
+        int evicted = 0;
+        for (Map.Entry<BucketKey, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            long arrival = bucket.get();
+            if (arrival != EVICTED && arrival <= now && bucket.compareAndSet(arrival, EVICTED)) {
+                buckets.remove(entry.getKey(), bucket);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private long now() {
+        return System.nanoTime() - epoch;
+    }
+
+    @Override
+    public void start() {
+        sweeper = Flux.interval(evictionInterval, evictionInterval, Schedulers.parallel())
+                .subscribe(tick -> {
+                    int evicted = evictIdle();
+                    log.debug("Evicted {} idle rate-limit buckets, {} remain", evicted, buckets.size());
+                });
+    }
+
+    @Override
+    public void stop() {
+        Disposable subscription = sweeper;
+        if (subscription != null) {
+            subscription.dispose();
+            sweeper = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sweeper != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.mcp_server.custom;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Maps the credentials a tool call arrived with (the raw {@code Authorization} header of the
+ * MCP message request) to the roles they grant. Called by {@link ToolAuthorizationFilter} only
+ * when it has no cached answer for those credentials.
+ */
+@FunctionalInterface
+public interface ToolRolesResolver {
+
+    /**
+     * Roles granted until {@code expiresAt}, or for as long as the cache keeps them when it is
+     * {@code null}.
+     */
+    record Grant(Set<String> roles, Instant expiresAt) {
+
+        public static Grant of(Set<String> roles) {
+            return new Grant(roles, null);
+        }
+    }
+
+    /**
+     * The grant; empty, or without roles, when the credentials are invalid or grant none.
+     */
+    Mono<Grant> resolve(String credentials);
+}
@@ -0,0 +1,44 @@
+package com.example.mcp_server.custom;
+
+import org.reactivestreams.Publisher;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * Native-image hints for the tool objects given to {@link ReactiveToolSpecifications}.
+ * <p>
+ * The specifications find {@link Tool} methods reflectively, invoke them reflectively and bind
+ * their arguments and results with Jackson, so each tool method needs an invocation hint and
+ * its parameter and (unwrapped) result types need binding hints.
+ */
+public final class ToolRuntimeHints {
+
+    private static final BindingReflectionHintsRegistrar BINDING = new BindingReflectionHintsRegistrar();
+
+    private ToolRuntimeHints() {
+    }
+
+    public static void registerToolObject(RuntimeHints hints, Class<?> toolClass) {
+        ReflectionUtils.doWithMethods(toolClass, method -> {
+            hints.reflection().registerMethod(method, ExecutableMode.INVOKE);
+            for (Type parameterType : method.getGenericParameterTypes()) {
+                BINDING.registerReflectionHints(hints.reflection(), parameterType);
+            }
+            BINDING.registerReflectionHints(hints.reflection(), resultType(method));
+        }, method -> method.isAnnotationPresent(Tool.class));
+    }
+
+    private static Type resultType(Method method) {
+        ResolvableType returnType = ResolvableType.forMethodReturnType(method);
+        return Publisher.class.isAssignableFrom(method.getReturnType())
+                ? returnType.getGeneric(0).getType()
+                : returnType.getType();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.mcp_server;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankingRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    BankingRuntimeHintsTests() {
+        new BankingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void toolMethodsAreInvocableAndTheirRecordsBindable() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onMethod(BankingService.class.getMethod("initiateRemittance",
+                        EnhancedBankingRecords.InitiateRemittanceRequest.class, ToolContext.class)).invoke())
+                .accepts(hints);
+        // Nested inside the response rather than a tool parameter or result
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onMethod(EnhancedBankingRecords.RemittanceTransaction.class.getMethod("transactionId")).invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onMethod(RemittanceHistoryStore.HistoryLine.class.getDeclaredMethod("transaction")).invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("templates/kyc-verification.html")).accepts(hints);
+    }
+}
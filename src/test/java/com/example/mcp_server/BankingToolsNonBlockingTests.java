@@ -0,0 +1,104 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.custom.ToolAuthorizationFilter;
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every tool is invoked from a Reactor non-blocking thread, the same class of thread as the
+ * Netty event loop. BlockHound (installed for all tests by blockhound-junit-platform) turns
+ * any blocking call made on that thread into a {@link BlockingOperationError}. Calls carry a
+ * bearer token from {@link JwtIssuerStub}, so token verification runs on that thread too.
+ */
+@SpringBootTest
+class BankingToolsNonBlockingTests {
+
+    private static final Map<String, Map<String, Object>> SAMPLE_ARGUMENTS = Map.ofEntries(
+            Map.entry("getAccounts", Map.of("accountsRequest", Map.of("customerId", "Aman"))),
+            Map.entry("getBalanceByAccount", Map.of("balanceByAccountRequest", Map.of("accountId", "ACC001"))),
+            Map.entry("getTransactions", Map.of("transactionsRequest", Map.of("accountId", "ACC001"))),
+            Map.entry("getCustomerProfile", Map.of("customerProfileRequest", Map.of("customerId", "Aman"))),
+            Map.entry("getLoans", Map.of("loansRequest", Map.of("customerId", "Aman"))),
+            Map.entry("getLoanPaymentSchedule", Map.of("loanPaymentScheduleRequest", Map.of("loanId", "LOAN001"), "numberOfPayments", 3)),
+            Map.entry("getCreditCardDetails", Map.of("creditCardDetailsRequest", Map.of("accountId", "ACC003"))),
+            Map.entry("getFinancialOverview", Map.of("customerId", "Sarah")),
+            Map.entry("getInvestmentPortfolio", Map.of("investmentPortfolioRequest", Map.of("customerId", "Aman"))),
+            Map.entry("getSpendingBreakdown", Map.of("request", Map.of("customerId", "Aman", "days", 30))),
+            Map.entry("searchTransactions", Map.of("request", Map.of("customerId", "Aman", "query", "carrefour"))),
+            Map.entry("analyzeSpending", Map.of("request", Map.of("customerId", "Aman", "groupBy", "CATEGORY_MONTH"))),
+            Map.entry("checkPendingTransaction", Map.of("transactionId", "REM0")),
+            Map.entry("initiateRemittance", Map.of("request", Map.of(
+                    "customerId", "Sarah", "fromAccountId", "ACC004", "recipientName", "Jane Doe",
+                    "recipientCountry", "UAE", "recipientBank", "ENBD", "recipientAccountNumber", "AE070331234567890123456",
+                    "amount", 1000, "currency", "AED", "purpose", "Family Support", "relationship", "Sister"))),
+            Map.entry("completeRemittance", Map.of("request", Map.of("transactionId", "REM0", "customerId", "Sarah"))),
+            Map.entry("submitBulkRemittance", Map.of("request", Map.of(
+                    "customerId", "Sarah", "fromAccountId", "ACC005", "transfers", List.of(Map.of(
+                            "recipientName", "Jane Doe", "recipientCountry", "UAE", "recipientBank", "ENBD",
+                            "recipientAccountNumber", "AE070331234567890123456", "amount", 10, "currency", "AED"))))),
+            Map.entry("checkCurrencyAccount", Map.of("request", Map.of("customerId", "Sarah", "currency", "USD"))),
+            Map.entry("convertCurrency", Map.of("request", Map.of(
+                    "customerId", "Sarah", "fromCurrency", "AED", "toCurrency", "USD", "amount", 100))),
+            Map.entry("getRemittanceHistory", Map.of("request", Map.of("customerId", "Aman"))),
+            Map.entry("getCustomerLimits", Map.of("request", Map.of("customerId", "Sarah")))
+    );
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @Autowired
+    @Qualifier("bankingTools")
+    private List<AsyncToolSpecification> bankingTools;
+
+    @Test
+    void everyBankingToolIsReactive() {
+        assertThat(bankingTools).extracting(tool -> tool.tool().name())
+                .containsExactlyInAnyOrderElementsOf(SAMPLE_ARGUMENTS.keySet());
+    }
+
+    @Test
+    void toolCallsNeverBlockTheCallingThread() {
+        McpAsyncServerExchange exchange = new McpAsyncServerExchange("session", null, null, null,
+                McpTransportContext.create(Map.of(ToolAuthorizationFilter.CREDENTIALS_KEY, JwtIssuerStub.get().bearer("Sarah"))));
+        for (AsyncToolSpecification tool : bankingTools) {
+            String name = tool.tool().name();
+            StepVerifier.create(tool.callHandler()
+                            .apply(exchange, new CallToolRequest(name, SAMPLE_ARGUMENTS.get(name)))
+                            .subscribeOn(Schedulers.parallel()))
+                    .assertNext(result -> assertThat(result.isError()).as(name).isFalse())
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    void blockingOnANonBlockingThreadIsDetected() {
+        StepVerifier.create(Mono.fromCallable(() -> {
+                            Thread.sleep(1);
+                            return "";
+                        })
+                        .subscribeOn(Schedulers.parallel()))
+                .expectError(BlockingOperationError.class)
+                .verify(Duration.ofSeconds(5));
+    }
+}
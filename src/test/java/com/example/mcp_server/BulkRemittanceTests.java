@@ -0,0 +1,132 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.EnhancedBankingRecords.BulkRemittanceLineResult;
+import com.example.mcp_server.EnhancedBankingRecords.BulkRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.BulkRemittanceResponse;
+import com.example.mcp_server.EnhancedBankingRecords.BulkRemittanceTransfer;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceHistoryRequest;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceHistoryResponse;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceTransaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BulkRemittanceTests {
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private Ledger ledger;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void acceptedTransfersArePostedAsOneJournalWithPerLineResults() {
+        long balanceBefore = ledger.balance("ACC005");
+        long versionBefore = ledger.snapshot("ACC005").version();
+        double velocityBreachesBefore = customerCountBreaches();
+        LocalDateTime submittedFrom = LocalDateTime.now();
+        List<BulkRemittanceTransfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            transfers.add(transfer("Employee " + i, "UAE", "20"));
+        }
+        transfers.add(transfer("Viktor Blackwood", "Russia", "20"));
+        transfers.add(transfer("Nobody", "UAE", "-5"));
+        transfers.add(transfer("Overseas Supplier", "India", "100", "USD"));
+
+        BulkRemittanceResponse response = submit("Sarah", "ACC005", transfers);
+
+        assertThat(response.status()).isEqualTo("PARTIAL");
+        assertThat(response.acceptedCount()).isEqualTo(51);
+        assertThat(response.rejectedCount()).isEqualTo(2);
+        assertThat(response.lines()).extracting(BulkRemittanceLineResult::line).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 53).boxed().toList());
+        assertThat(response.lines().get(50).status()).isEqualTo("COMPLIANCE_REVIEW");
+        assertThat(response.lines().get(51).status()).isEqualTo("INVALID");
+        assertThat(response.lines().get(52).status()).isEqualTo("PROCESSING");
+        assertThat(response.lines().get(52).fees()).isEqualByComparingTo("0.50");
+
+        // 50 x (20.00 + 0.16) AED, plus 100 USD = 367.50 AED and 0.50 USD = 1.84 AED in fees
+        assertThat(response.totalFees()).isEqualByComparingTo("9.84");
+        assertThat(response.amountDebited()).isEqualByComparingTo("1377.34");
+        assertThat(ledger.balance("ACC005")).isEqualTo(balanceBefore - 1377_34);
+        assertThat(ledger.snapshot("ACC005").version()).isEqualTo(versionBefore + 1);
+        // Every line is an initiation for the velocity rules (flagged, not blocked, by default)
+        assertThat(customerCountBreaches()).isGreaterThanOrEqualTo(velocityBreachesBefore + 51 - 5);
+
+        RemittanceHistoryResponse history = bankingService.getRemittanceHistory(new RemittanceHistoryRequest(
+                "Sarah", submittedFrom, null, "PROCESSING", 10, null), null).block();
+        assertThat(history.totalCount()).isEqualTo(51);
+        assertThat(history.nextPageToken()).isNotNull();
+        assertThat(history.transactions()).hasSize(10)
+                .extracting(RemittanceTransaction::referenceNumber).containsOnly(response.referenceNumber());
+    }
+
+    @Test
+    void linesNeedingVerificationOrOverTheLimitAreRejected() {
+        // Aman is BASIC: no international transfers, nothing above AED 15,000, AED 5,000 a day
+        BulkRemittanceResponse response = submit("Aman", "ACC002", List.of(
+                transfer("Ravi Bhatt", "India", "100"),
+                transfer("Car Dealer", "UAE", "16000"),
+                transfer("Landlord", "UAE", "3000"),
+                transfer("Gym", "UAE", "3000"),
+                transfer("Grocer", "UAE", "1000")));
+
+        assertThat(response.lines()).extracting(BulkRemittanceLineResult::status).containsExactly(
+                "KYC_REQUIRED", "TOKEN_ELEVATION_REQUIRED", "PROCESSING", "LIMIT_EXCEEDED", "PROCESSING");
+        assertThat(response.acceptedCount()).isEqualTo(2);
+
+        assertThat(submit("Aman", "ACC002", List.of(transfer("Landlord", "UAE", "3000"))).status()).isEqualTo("FAILED");
+        assertThat(submit("Aman", "ACC999", List.of(transfer("Landlord", "UAE", "1"))).message()).contains("ACC999");
+        assertThat(submit("Aman", "ACC002", List.of()).status()).isEqualTo("FAILED");
+    }
+
+    @Test
+    void batchesOnlyLeaveTheCustomersOwnAedAccounts() {
+        long balanceBefore = ledger.balance("ACC004");
+        assertThat(submit("Aman", "ACC004", List.of(transfer("Landlord", "UAE", "10"))).status()).isEqualTo("FAILED");
+        assertThat(ledger.balance("ACC004")).isEqualTo(balanceBefore);
+
+        BulkRemittanceResponse currencyAccount = submit("Sarah", "ACCUSD_Sarah", List.of(transfer("Landlord", "UAE", "10")));
+        assertThat(currencyAccount.status()).isEqualTo("FAILED");
+        assertThat(currencyAccount.message()).contains("ACCUSD_Sarah");
+    }
+
+    private double customerCountBreaches() {
+        return meterRegistry.get(VelocityMonitor.BREACHES)
+                .tags("scope", "CUSTOMER", "window", "1m", "measure", "COUNT")
+                .counter().count();
+    }
+
+    private BulkRemittanceResponse submit(String customerId, String fromAccountId, List<BulkRemittanceTransfer> transfers) {
+        return bankingService.submitBulkRemittance(new BulkRemittanceRequest(customerId, fromAccountId, transfers), null).block();
+    }
+
+    private static BulkRemittanceTransfer transfer(String recipientName, String country, String amount) {
+        return transfer(recipientName, country, amount, "AED");
+    }
+
+    private static BulkRemittanceTransfer transfer(String recipientName, String country, String amount, String currency) {
+        return new BulkRemittanceTransfer(recipientName, country, "Bank", "ACCT-" + recipientName.replace(' ', '-'),
+                new BigDecimal(amount), currency, "Salary", "Employee");
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.SearchTransactionsRequest;
+import com.example.mcp_server.BankingRecords.SpendingAnalyticsRequest;
+import com.example.mcp_server.BankingRecords.SpendingGroup;
+import com.example.mcp_server.BankingRecords.TransactionSummary;
+import com.example.mcp_server.EnhancedBankingRecords.CheckCurrencyAccountRequest;
+import com.example.mcp_server.EnhancedBankingRecords.CurrencyConversionRequest;
+import com.example.mcp_server.EnhancedBankingRecords.CurrencyConversionResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CurrencyConversionTests {
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private Ledger ledger;
+
+    @Autowired
+    private FinancialAggregateStore financialAggregates;
+
+    @Test
+    void conversionMovesFundsBetweenTheCustomersCurrencyAccounts() {
+        String aed = bankingService.openCurrencyAccount("Fatima", "AED");
+        String usd = bankingService.openCurrencyAccount("Fatima", "USD");
+        long aedBefore = ledger.balance(aed);
+        long usdBefore = ledger.balance(usd);
+
+        CurrencyConversionResponse response = convert("Fatima", "USD", "AED", "100");
+
+        assertThat(response.status()).isEqualTo("COMPLETED");
+        assertThat(response.fees()).isEqualByComparingTo("0.50");
+        assertThat(response.convertedAmount()).isEqualByComparingTo("365.66"); // 99.50 * 3.675
+        assertThat(ledger.balance(usd)).isEqualTo(usdBefore - 100_00);
+        assertThat(ledger.balance(aed)).isEqualTo(aedBefore + 365_66);
+        assertThat(bankingService.checkCurrencyAccount(new CheckCurrencyAccountRequest("Fatima", "USD"), null).block().balance())
+                .isEqualByComparingTo(Money.fromMinor(usdBefore - 100_00));
+
+        CurrencyConversionResponse rejected = convert("Fatima", "USD", "AED", "1000000");
+        assertThat(rejected.status()).isEqualTo("FAILED");
+        assertThat(rejected.message()).startsWith("Insufficient funds in USD account");
+        assertThat(ledger.balance(usd)).isEqualTo(usdBefore - 100_00);
+
+        assertThat(convert("Omar", "AED", "USD", "10").message()).isEqualTo("Customer does not have required currency accounts");
+    }
+
+    @Test
+    void conversionsAreNeitherIncomeNorSpending() {
+        TransactionSummary flowBefore = financialAggregates.get("Sarah").transactionSummary();
+        BigDecimal assetsBefore = financialAggregates.get("Sarah").financialMetrics().totalAssets();
+
+        CurrencyConversionResponse response = convert("Sarah", "USD", "AED", "100");
+        assertThat(response.status()).isEqualTo("COMPLETED");
+
+        assertThat(financialAggregates.get("Sarah").transactionSummary()).isEqualTo(flowBefore);
+        // Only the fee leaves: 100.00 USD out at 3.675, 365.66 AED in
+        assertThat(financialAggregates.get("Sarah").financialMetrics().totalAssets())
+                .isEqualByComparingTo(assetsBefore.subtract(new BigDecimal("1.84")));
+        assertThat(bankingService.analyzeSpending(new SpendingAnalyticsRequest("Sarah", "CATEGORY", null, null), null)
+                .block().groups()).extracting(SpendingGroup::category).doesNotContain("CURRENCY_EXCHANGE");
+        assertThat(bankingService.searchTransactions(new SearchTransactionsRequest("Sarah", "currency exchange", null, null, null), null)
+                .block().transactions()).filteredOn(transaction -> transaction.transactionId().equals(response.transactionId()))
+                .extracting(BankingRecords.Transaction::transactionType).containsExactlyInAnyOrder("DEBIT", "CREDIT");
+    }
+
+    @Test
+    void concurrentConversionsNeverCreateOrLoseMoney() {
+        List<String> customers = List.of("Conv1", "Conv2", "Conv3", "Conv4");
+        for (String customer : customers) {
+            bankingService.openCurrencyAccount(customer, "EUR");
+            bankingService.openCurrencyAccount(customer, "GBP");
+        }
+        // Funded from the EUR position so every EUR account starts with 1,000.00
+        for (String customer : customers) {
+            ledger.post("FUND-" + customer, "Funding", List.of(
+                    Ledger.Leg.debit(ledger.houseAccount(Ledger.FX_POSITION, "EUR"), 1_000_00),
+                    Ledger.Leg.credit("ACCEUR_" + customer, 1_000_00)));
+        }
+        long eurTotal = eurTotal(customers);
+
+        // 400 conversions of 10.00 per customer: more than the balance allows, in both directions
+        List<CurrencyConversionResponse> responses = Flux.range(0, 1600)
+                .flatMap(i -> i % 4 == 3
+                        ? bankingService.convertCurrency(request(customers.get(i % 4), "GBP", "EUR", "5"), null)
+                        : bankingService.convertCurrency(request(customers.get(i % 4), "EUR", "GBP", "10"), null), 64)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        assertThat(responses).extracting(CurrencyConversionResponse::status).contains("COMPLETED", "FAILED");
+        assertThat(eurTotal(customers)).isEqualTo(eurTotal);
+        for (String customer : customers) {
+            assertThat(ledger.snapshot("ACCEUR_" + customer).available()).isNotNegative();
+            assertThat(ledger.snapshot("ACCGBP_" + customer).available()).isNotNegative();
+        }
+        long gbp = ledger.balance(ledger.houseAccount(Ledger.FX_POSITION, "GBP"))
+                + ledger.balance(ledger.houseAccount(Ledger.FEE_INCOME, "GBP"));
+        for (String customer : customers) {
+            gbp += ledger.balance("ACCGBP_" + customer);
+        }
+        assertThat(gbp).isZero();
+    }
+
+    private long eurTotal(List<String> customers) {
+        long total = ledger.balance(ledger.houseAccount(Ledger.FX_POSITION, "EUR"))
+                + ledger.balance(ledger.houseAccount(Ledger.FEE_INCOME, "EUR"));
+        for (String customer : customers) {
+            total += ledger.balance("ACCEUR_" + customer);
+        }
+        return total;
+    }
+
+    private CurrencyConversionResponse convert(String customerId, String from, String to, String amount) {
+        return bankingService.convertCurrency(request(customerId, from, to, amount), null).block();
+    }
+
+    private static CurrencyConversionRequest request(String customerId, String from, String to, String amount) {
+        return new CurrencyConversionRequest(customerId, null, null, from, to, new BigDecimal(amount));
+    }
+}
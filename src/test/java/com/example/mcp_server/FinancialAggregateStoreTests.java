@@ -0,0 +1,104 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.FinancialMetrics;
+import com.example.mcp_server.BankingRecords.Transaction;
+import com.example.mcp_server.BankingRecords.TransactionSummary;
+import com.example.mcp_server.BankingRecords.UpcomingPayments;
+import com.example.mcp_server.FinancialAggregateStore.FinancialAggregate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FinancialAggregateStoreTests {
+
+    private final FinancialAggregateStore store = new FinancialAggregateStore(new TransactionRollups());
+
+    @Test
+    void balanceLoanAndTransactionUpdatesArePublishedAsDeltas() {
+        store.updateMonthlyIncome("Aman", new BigDecimal("20000.00"));
+        store.updateDepositBalance("Aman", "ACC001", new BigDecimal("10000.00"));
+        store.updateDepositBalance("Aman", "ACC002", new BigDecimal("5000.00"));
+        store.updateDepositBalance("Aman", "ACC001", new BigDecimal("9000.00"));
+        store.updateCreditBalance("Aman", "ACC003", new BigDecimal("1000.00"));
+        store.updateLoanBalance("Aman", "LOAN001", new BigDecimal("100000.00"));
+        store.updateLoanBalance("Aman", "LOAN001", new BigDecimal("99000.00"));
+        store.updateUpcomingPayment("Aman", "LOAN001", LocalDate.of(2024, 6, 15), "Home Loan Payment", new BigDecimal("2000.00"));
+        store.updateUpcomingPayment("Aman", "ACC003", LocalDate.of(2024, 6, 5), "Credit Card Minimum Payment", new BigDecimal("100.00"));
+
+        store.recordTransaction("Aman", transaction("TXN1", "DEBIT", "-200.00", "GROCERIES", "POSTED", LocalDateTime.of(2024, 5, 29, 18, 0)));
+        store.recordTransaction("Aman", transaction("TXN2", "CREDIT", "20000.00", "SALARY", "POSTED", LocalDateTime.of(2024, 5, 28, 9, 0)));
+        store.recordTransaction("Aman", transaction("TXN3", "DEBIT", "-30.00", "SHOPPING", "PENDING", LocalDateTime.of(2024, 5, 20, 12, 0)));
+        store.recordTransaction("Aman", transaction("TXN4", "DEBIT", "-50.00", "DINING", "POSTED", LocalDateTime.of(2024, 4, 30, 20, 0)));
+        // Outside the 30 days ending on the latest activity
+        store.recordTransaction("Aman", transaction("TXN5", "DEBIT", "-999.00", "GROCERIES", "POSTED", LocalDateTime.of(2024, 4, 29, 20, 0)));
+
+        FinancialAggregate aggregate = store.get("Aman");
+
+        TransactionSummary summary = aggregate.transactionSummary();
+        assertThat(summary.totalDebits30Days()).isEqualByComparingTo("280.00");
+        assertThat(summary.totalCredits30Days()).isEqualByComparingTo("20000.00");
+        assertThat(summary.netCashFlow30Days()).isEqualByComparingTo("19720.00");
+        assertThat(summary.topSpendingCategory()).isEqualTo("GROCERIES");
+        assertThat(summary.topCategoryAmount()).isEqualByComparingTo("200.00");
+        assertThat(summary.pendingTransactionCount()).isEqualTo(1);
+        assertThat(summary.pendingAmount()).isEqualByComparingTo("30.00");
+
+        assertThat(aggregate.financialMetrics().totalAssets()).isEqualByComparingTo("14000.00");
+        FinancialMetrics metrics = aggregate.financialMetrics(new BigDecimal("6000.00"));
+        assertThat(metrics.totalAssets()).isEqualByComparingTo("20000.00");
+        assertThat(metrics.totalLiabilities()).isEqualByComparingTo("100000.00");
+        assertThat(metrics.netWorth()).isEqualByComparingTo("-80000.00");
+        assertThat(metrics.monthlyIncome()).isEqualByComparingTo("20000.00");
+        assertThat(metrics.monthlyExpenses()).isEqualByComparingTo("280.00");
+        assertThat(metrics.debtToIncomeRatio()).isEqualByComparingTo("5.0");
+        assertThat(metrics.liquidityRatio()).isEqualByComparingTo("50.0");
+        assertThat(metrics.overallFinancialHealth()).isEqualTo("EXCELLENT");
+
+        UpcomingPayments upcoming = aggregate.upcomingPayments();
+        assertThat(upcoming.dueDates()).containsExactly("2024-06-05", "2024-06-15");
+        assertThat(upcoming.descriptions()).containsExactly("Credit Card Minimum Payment", "Home Loan Payment");
+        assertThat(upcoming.totalUpcoming30Days()).isEqualByComparingTo("2100.00");
+
+        store.updateUpcomingPayment("Aman", "LOAN001", LocalDate.of(2024, 7, 15), "Home Loan Payment", new BigDecimal("2500.00"));
+        assertThat(store.get("Aman").upcomingPayments().totalUpcoming30Days()).isEqualByComparingTo("2600.00");
+        assertThat(store.get("Aman").upcomingPayments().dueDates()).containsExactly("2024-06-05", "2024-07-15");
+        assertThat(store.get("Sarah")).isNull();
+    }
+
+    @Test
+    void pendingTransactionsStopCountingOnceTheySettle() {
+        store.recordTransaction("Aman", transaction("TXN1", "DEBIT", "-30.00", "SHOPPING", "PENDING", LocalDateTime.of(2024, 5, 20, 12, 0)));
+        store.recordTransaction("Aman", transaction("TXN2", "DEBIT", "-70.00", "DINING", "PENDING", LocalDateTime.of(2024, 5, 21, 12, 0)));
+        // Replaced while still pending
+        store.recordTransaction("Aman", transaction("TXN1", "DEBIT", "-35.00", "SHOPPING", "PENDING", LocalDateTime.of(2024, 5, 20, 12, 0)));
+        assertThat(store.get("Aman").transactionSummary().pendingTransactionCount()).isEqualTo(2);
+        assertThat(store.get("Aman").transactionSummary().pendingAmount()).isEqualByComparingTo("105.00");
+
+        store.recordTransaction("Aman", transaction("TXN1", "DEBIT", "-35.00", "SHOPPING", "POSTED", LocalDateTime.of(2024, 5, 20, 12, 0)));
+        TransactionSummary summary = store.get("Aman").transactionSummary();
+        assertThat(summary.pendingTransactionCount()).isEqualTo(1);
+        assertThat(summary.pendingAmount()).isEqualByComparingTo("70.00");
+        // Counted in the window once, when it was first seen
+        assertThat(summary.totalDebits30Days()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void transactionsInOtherCurrenciesAreRejected() {
+        Transaction dollars = new Transaction("TXN1", "ACC001", "DEBIT", new BigDecimal("-10.00"), "USD", "Purchase",
+                "Merchant", "SHOPPING", LocalDateTime.of(2024, 5, 20, 12, 0), LocalDateTime.of(2024, 5, 20, 12, 0),
+                "POSTED", "REF", BigDecimal.ZERO, "CARD", "Dubai", "MCC5411", "AUTH", BigDecimal.ONE);
+        assertThatThrownBy(() -> store.recordTransaction("Aman", dollars)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(store.get("Aman")).isNull();
+    }
+
+    private static Transaction transaction(String id, String type, String amount, String category, String status,
+                                           LocalDateTime date) {
+        return new Transaction(id, "ACC001", type, new BigDecimal(amount), "AED", "Purchase", "Merchant", category,
+                date, date, status, "REF", BigDecimal.ZERO, "CARD", "Dubai", "MCC5411", "AUTH", BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.FinancialOverview;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class FinancialOverviewTests {
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private PortfolioValuation portfolioValuation;
+
+    @Test
+    void priceTicksReachTheMetricsWithTheInvestmentSummary() {
+        FinancialOverview before = overview("Aman");
+        BigDecimal price = portfolioValuation.price("EMIRATES.DFM");
+        portfolioValuation.updatePrice("EMIRATES.DFM", price.add(BigDecimal.ONE));
+        try {
+            FinancialOverview after = overview("Aman");
+
+            // Aman holds 500 shares
+            BigDecimal revaluation = after.investments().totalPortfolioValue()
+                    .subtract(before.investments().totalPortfolioValue());
+            assertThat(revaluation).isEqualByComparingTo("500.00");
+            assertThat(after.financialMetrics().totalAssets())
+                    .isEqualByComparingTo(before.financialMetrics().totalAssets().add(revaluation));
+            assertThat(after.financialMetrics().netWorth())
+                    .isEqualByComparingTo(before.financialMetrics().netWorth().add(revaluation));
+        } finally {
+            portfolioValuation.updatePrice("EMIRATES.DFM", price);
+        }
+    }
+
+    private FinancialOverview overview(String customerId) {
+        return bankingService.getFinancialOverview(customerId, null).block().financialOverview();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.mcp_server;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The MCP and actuator endpoints only answer requests with a token signed by the configured
+ * issuer, while the verification pages stay reachable from the links in tool responses.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class JwtSecurityTests {
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveJwtDecoder jwtDecoder;
+
+    @Test
+    void protectedEndpointsRequireAValidToken() {
+        JwtIssuerStub issuer = JwtIssuerStub.get();
+
+        webTestClient.get().uri("/sse").exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri("/actuator/remittances")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri("/actuator/remittances")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + issuer.token("ops", Duration.ofMinutes(-5)))
+                .exchange().expectStatus().isUnauthorized();
+
+        webTestClient.get().uri("/actuator/remittances")
+                .header(HttpHeaders.AUTHORIZATION, issuer.bearer("ops"))
+                .exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void verificationPagesArePublic() {
+        webTestClient.get().uri("/account-opening?customerId=Sarah&currency=USD").exchange().expectStatus().isOk();
+        webTestClient.get().uri("/api/simulation/health").exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void verifiedTokensAreServedFromTheCache() {
+        String token = JwtIssuerStub.get().token("Aman", BankingService.ROLE_ACCOUNTS_READ);
+
+        Jwt first = jwtDecoder.decode(token).block(Duration.ofSeconds(5));
+        Jwt second = jwtDecoder.decode(token).block(Duration.ofSeconds(5));
+
+        assertThat(first.getSubject()).isEqualTo("Aman");
+        assertThat(first.getClaimAsStringList("roles")).containsExactly(BankingService.ROLE_ACCOUNTS_READ);
+        assertThat(second).isSameAs(first);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.mcp_server;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Blocking calls on the event loop that are known and accepted, so end-to-end tests can run
+ * under BlockHound:
+ * <ul>
+ *     <li>Thymeleaf initializes its engine and reads templates from the classpath while
+ *     rendering; outside of development templates are cached, so this happens once.</li>
+ *     <li>The MCP transport assigns session ids with {@code UUID.randomUUID()}, which reads the
+ *     non-blocking {@code /dev/urandom} through {@code SecureRandom}.</li>
+ * </ul>
+ */
+public class KnownBlockingCallsIntegration implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        builder.allowBlockingCallsInside("org.thymeleaf.TemplateEngine", "initialize");
+        builder.allowBlockingCallsInside("org.thymeleaf.templateparser.markup.AbstractMarkupTemplateParser", "parse");
+        builder.allowBlockingCallsInside("java.util.UUID", "randomUUID");
+    }
+}
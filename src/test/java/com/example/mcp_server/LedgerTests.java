@@ -0,0 +1,210 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.Ledger.AccountBalance;
+import com.example.mcp_server.Ledger.Entry;
+import com.example.mcp_server.Ledger.Leg;
+import com.example.mcp_server.Ledger.Shortfall;
+import com.example.mcp_server.Ledger.Side;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class LedgerTests {
+
+    private static final Instant NOW = Instant.parse("2026-01-31T12:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Ledger ledger = new Ledger(100_000, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void journalPostsBalancedEntriesWithPerAccountSequences() {
+        ledger.openAccount("ACC004", "AED", 1_100_00, 100_00, 0);
+
+        assertThat(ledger.post("REM1", "Remittance", remittance("ACC004", 400_00, 3_20))).isNull();
+        assertThat(ledger.post("REM2", "Remittance", remittance("ACC004", 100_00, 80))).isNull();
+
+        assertThat(ledger.snapshot("ACC004")).isEqualTo(new AccountBalance(2, 596_00, 100_00, NOW));
+        assertThat(ledger.snapshot("ACC004").available()).isEqualTo(496_00);
+        assertThat(ledger.balance(Ledger.REMITTANCE_CLEARING)).isEqualTo(500_00);
+        assertThat(ledger.balance(Ledger.FEE_INCOME)).isEqualTo(4_00);
+        List<Entry> entries = ledger.entries("ACC004");
+        assertThat(entries).extracting(Entry::sequence).containsExactly(1L, 2L);
+        assertThat(entries.get(0)).isEqualTo(new Entry(1, "REM1", "Remittance", Side.DEBIT, 403_20, 696_80, NOW));
+        assertThat(ledger.snapshot(Ledger.FEE_INCOME).version()).isEqualTo(2);
+        assertThat(ledger.entries(Ledger.FEE_INCOME)).isEmpty();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> ledger.post("BAD", "Unbalanced",
+                List.of(Leg.debit("ACC004", 10_00), Leg.credit(Ledger.FEE_INCOME, 9_00))));
+        assertThatIllegalArgumentException().isThrownBy(() -> ledger.post("BAD", "Unknown account",
+                List.of(Leg.debit("ACC999", 10_00), Leg.credit(Ledger.FEE_INCOME, 10_00))));
+        assertThat(ledger.entries("ACC004")).hasSize(2);
+        assertThat(ledger.snapshot("ACC999")).isNull();
+
+        // Each currency balances on its own
+        ledger.openAccount("ACCUSD_Sarah", "USD", 100_00, 0, 0);
+        String usdPosition = ledger.houseAccount(Ledger.FX_POSITION, "USD");
+        assertThatIllegalArgumentException().isThrownBy(() -> ledger.post("BAD", "Cross-currency",
+                List.of(Leg.debit("ACCUSD_Sarah", 10_00), Leg.credit("ACC004", 10_00))));
+        assertThat(ledger.post("FX1", "Conversion", List.of(Leg.debit("ACCUSD_Sarah", 10_00), Leg.credit(usdPosition, 10_00),
+                Leg.debit(Ledger.FX_POSITION, 36_75), Leg.credit("ACC004", 36_75)))).isNull();
+        assertThat(ledger.balance("ACCUSD_Sarah")).isEqualTo(90_00);
+        assertThat(ledger.balance("ACC004")).isEqualTo(632_75);
+        assertThat(ledger.balance(usdPosition) + ledger.balance("ACCUSD_Sarah")).isEqualTo(100_00);
+    }
+
+    @Test
+    void journalThatWouldBreachTheFloorIsRejected() {
+        ledger.openAccount("ACC001", "AED", 100_00, 0, 50_00);
+        ledger.openAccount("ACC002", "AED", 10_00, 0, 0);
+
+        Shortfall shortfall = ledger.post("REM1", "Remittance", remittance("ACC001", 150_00, 1_20));
+        assertThat(shortfall).isEqualTo(new Shortfall("ACC001", "AED", 150_00, 151_20));
+        assertThat(ledger.snapshot("ACC001").version()).isZero();
+        assertThat(ledger.snapshot(Ledger.FEE_INCOME).version()).isZero();
+
+        // ACC001 is claimed first and released untouched when ACC002's debit fails
+        shortfall = ledger.post("SPLIT", "Split payment", List.of(Leg.debit("ACC001", 20_00), Leg.debit("ACC002", 20_00),
+                Leg.credit(Ledger.REMITTANCE_CLEARING, 40_00)));
+        assertThat(shortfall.accountId()).isEqualTo("ACC002");
+        assertThat(ledger.snapshot("ACC001")).isEqualTo(new AccountBalance(0, 100_00, 0, null));
+        assertThat(ledger.entries("ACC001")).isEmpty();
+        assertThat(ledger.balance(Ledger.REMITTANCE_CLEARING)).isZero();
+        assertThat(meterRegistry.counter(Ledger.REJECTED).count()).isEqualTo(2);
+
+        // Down to the overdraft limit is fine
+        assertThat(ledger.post("REM2", "Remittance", remittance("ACC001", 148_80, 1_20))).isNull();
+        assertThat(ledger.balance("ACC001")).isEqualTo(-50_00);
+    }
+
+    @Test
+    void concurrentTransfersAlwaysReconcile() throws InterruptedException {
+        int accounts = 6;
+        int threads = 8;
+        int perThread = 25_000;
+        long opening = 500_00;
+        for (int a = 0; a < accounts; a++) {
+            ledger.openAccount("ACC" + a, "AED", opening, 0, 0);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> violation = new AtomicReference<>();
+        AtomicLong rejected = new AtomicLong();
+        // Reads never see a balance below its floor or a version going backwards
+        Thread reader = Thread.ofPlatform().start(() -> {
+            long[] versions = new long[accounts];
+            while (running.get()) {
+                for (int a = 0; a < accounts; a++) {
+                    AccountBalance balance = ledger.snapshot("ACC" + a);
+                    if (balance.available() < 0 || balance.version() < versions[a]) {
+                        violation.compareAndSet(null, "ACC" + a + " " + balance);
+                    }
+                    versions[a] = balance.version();
+                }
+            }
+        });
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perThread; i++) {
+                    String from = "ACC" + random.nextInt(accounts);
+                    String to = "ACC" + random.nextInt(accounts);
+                    long amount = 2_00 + random.nextInt(200_00);
+                    List<Leg> legs = from.equals(to)
+                            ? remittance(from, amount, 1_00)
+                            : List.of(Leg.debit(from, amount), Leg.credit(to, amount - 1_00), Leg.credit(Ledger.FEE_INCOME, 1_00));
+                    if (ledger.post("T" + i, "Transfer", legs) != null) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(120, TimeUnit.SECONDS)).isTrue();
+        running.set(false);
+        reader.join();
+
+        assertThat(violation.get()).isNull();
+        assertThat(rejected.get()).isPositive();
+        long total = ledger.balance(Ledger.REMITTANCE_CLEARING) + ledger.balance(Ledger.FEE_INCOME);
+        for (int a = 0; a < accounts; a++) {
+            String accountId = "ACC" + a;
+            AccountBalance balance = ledger.snapshot(accountId);
+            assertThat(balance.available()).isNotNegative();
+            total += balance.current();
+            // Every version has its entry, and replaying them gives the balance
+            List<Entry> entries = ledger.entries(accountId);
+            assertThat(entries).hasSize((int) balance.version());
+            long replayed = opening;
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                assertThat(entry.sequence()).isEqualTo(i + 1);
+                replayed += entry.side() == Side.CREDIT ? entry.amount() : -entry.amount();
+                assertThat(entry.balanceAfter()).isEqualTo(replayed);
+            }
+            assertThat(replayed).isEqualTo(balance.current());
+        }
+        assertThat(total).isEqualTo(accounts * opening);
+        assertThat(meterRegistry.counter(Ledger.REJECTED).count()).isEqualTo(rejected.get());
+    }
+
+    @Test
+    void transferIsNeverSeenHalfPosted() throws InterruptedException {
+        long opening = 1_000_00;
+        ledger.openAccount("ACC1", "AED", opening, 0, 0);
+        ledger.openAccount("ACC2", "AED", opening, 0, 0);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> violation = new AtomicReference<>();
+        AtomicLong checked = new AtomicLong();
+        // If ACC1 didn't move around the read of ACC2, no transfer can be showing on only one of them
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                AccountBalance first = ledger.snapshot("ACC1");
+                AccountBalance second = ledger.snapshot("ACC2");
+                if (ledger.snapshot("ACC1").version() == first.version()) {
+                    checked.incrementAndGet();
+                    if (first.current() + second.current() != 2 * opening) {
+                        violation.compareAndSet(null, first + " " + second);
+                    }
+                }
+            }
+        });
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 50_000; i++) {
+                    boolean forward = random.nextBoolean();
+                    long amount = 1_00 + random.nextInt(50_00);
+                    ledger.post("T" + i, "Transfer", List.of(Leg.debit(forward ? "ACC1" : "ACC2", amount),
+                            Leg.credit(forward ? "ACC2" : "ACC1", amount)));
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(120, TimeUnit.SECONDS)).isTrue();
+        running.set(false);
+        reader.join();
+
+        assertThat(violation.get()).isNull();
+        assertThat(checked.get()).isPositive();
+        assertThat(ledger.balance("ACC1") + ledger.balance("ACC2")).isEqualTo(2 * opening);
+    }
+
+    private static List<Leg> remittance(String from, long amount, long fees) {
+        return List.of(Leg.debit(from, amount + fees), Leg.credit(Ledger.REMITTANCE_CLEARING, amount),
+                Leg.credit(Ledger.FEE_INCOME, fees));
+    }
+}
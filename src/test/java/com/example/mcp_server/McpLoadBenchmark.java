@@ -0,0 +1,219 @@
+package com.example.mcp_server;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.WebFluxSseClientTransport;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.util.json.JsonParser;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the MCP server over the SSE transport, entirely on localhost.
+ * <p>
+ * Starts the application on a random port, opens {@code load.sessions} MCP client sessions and
+ * drives a closed-loop mix of tool calls at each concurrency level in {@code load.concurrency},
+ * printing a throughput curve with HdrHistogram latencies per level. A remittance flow is an
+ * {@code initiateRemittance} followed by a {@code completeRemittance} and counts as one
+ * operation. Excluded from the default build; run with {@code ./mvnw test -Pbenchmark
+ * -Dtest=McpLoadBenchmark}. Tunables (system properties):
+ * <ul>
+ *     <li>{@code load.sessions} (16)</li>
+ *     <li>{@code load.concurrency} in-flight operations per step ("1,8,32,128")</li>
+ *     <li>{@code load.remittance-percent} share of remittance flows, the rest are reads (20)</li>
+ *     <li>{@code load.warmup-seconds} (5) and {@code load.step-seconds} (10)</li>
+ * </ul>
+ * Sessions authenticate with a {@link JwtIssuerStub} token; add
+ * {@code -Dapp.security.jwt.enabled=false} for the unauthenticated baseline. Per-customer rate
+ * limits are off and transfer limits raised, since every session works on the same five customers.
+ */
+@Tag("benchmark")
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.tools.rate-limit.enabled=false", "app.remittance.limits.enhanced.daily=1000000000",
+                "app.remittance.limits.enhanced.monthly=1000000000", "app.remittance.limits.enhanced.yearly=1000000000"})
+class McpLoadBenchmark {
+
+    private static final int SESSIONS = Integer.getInteger("load.sessions", 16);
+    private static final int[] CONCURRENCY = Arrays.stream(System.getProperty("load.concurrency", "1,8,32,128").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim()))
+            .toArray();
+    private static final int REMITTANCE_PERCENT = Integer.getInteger("load.remittance-percent", 20);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 5));
+    private static final Duration STEP = Duration.ofSeconds(Integer.getInteger("load.step-seconds", 10));
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static final List<String> CUSTOMERS = List.of("Aman", "Sarah", "Ahmed", "Fatima", "Omar");
+    private static final List<String> ACCOUNTS = List.of("ACC001", "ACC002", "ACC003", "ACC004", "ACC005");
+
+    private record StepResult(int concurrency, double operationsPerSecond, long errors, Histogram reads, Histogram remittances) {
+    }
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final List<McpAsyncClient> clients = new ArrayList<>();
+
+    @BeforeEach
+    void openSessions() {
+        String bearer = JwtIssuerStub.get().bearer("load");
+        for (int i = 0; i < SESSIONS; i++) {
+            WebFluxSseClientTransport transport = WebFluxSseClientTransport.builder(WebClient.builder()
+                    .baseUrl("http://localhost:" + port)
+                    .defaultHeader(HttpHeaders.AUTHORIZATION, bearer)).build();
+            McpAsyncClient client = McpClient.async(transport)
+                    .requestTimeout(Duration.ofSeconds(60))
+                    .build();
+            client.initialize().block(Duration.ofSeconds(30));
+            clients.add(client);
+        }
+    }
+
+    @AfterEach
+    void closeSessions() {
+        Flux.fromIterable(clients)
+                .flatMap(McpAsyncClient::closeGracefully)
+                .blockLast(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void throughputCurve() {
+        runStep(Math.max(1, CONCURRENCY[CONCURRENCY.length - 1] / 2), WARMUP);
+
+        List<StepResult> results = new ArrayList<>();
+        for (int concurrency : CONCURRENCY) {
+            results.add(runStep(concurrency, STEP));
+        }
+
+        StringBuilder report = new StringBuilder(String.format(
+                "%nMCP load test: %d sessions, %d%% remittance flows, %ds per step%n", SESSIONS, REMITTANCE_PERCENT, STEP.toSeconds()));
+        report.append(String.format("%11s %10s %7s | %-44s | %-44s%n", "concurrency", "ops/s", "errors",
+                "reads p50/p90/p99/p99.9/max (ms)", "remittance flows p50/p90/p99/p99.9/max (ms)"));
+        for (StepResult result : results) {
+            report.append(String.format("%11d %10.1f %7d | %-44s | %-44s%n", result.concurrency(), result.operationsPerSecond(),
+                    result.errors(), percentiles(result.reads()), percentiles(result.remittances())));
+        }
+        log.info(report.toString());
+
+        assertThat(results).allSatisfy(result -> assertThat(result.operationsPerSecond()).isPositive());
+    }
+
+    private StepResult runStep(int concurrency, Duration duration) {
+        Recorder reads = new Recorder(MAX_LATENCY_NANOS, 3);
+        Recorder remittances = new Recorder(MAX_LATENCY_NANOS, 3);
+        LongAdder operations = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        Flux.range(0, concurrency)
+                .flatMap(worker -> {
+                    McpAsyncClient client = clients.get(worker % clients.size());
+                    return Mono.defer(() -> {
+                                boolean remittance = ThreadLocalRandom.current().nextInt(100) < REMITTANCE_PERCENT;
+                                long operationStart = System.nanoTime();
+                                return (remittance ? remittanceFlow(client) : read(client))
+                                        .doOnNext(ok -> {
+                                            (remittance ? remittances : reads).recordValue(
+                                                    Math.min(System.nanoTime() - operationStart, MAX_LATENCY_NANOS));
+                                            operations.increment();
+                                            if (!ok) {
+                                                errors.increment();
+                                            }
+                                        })
+                                        .onErrorResume(error -> {
+                                            errors.increment();
+                                            return Mono.just(false);
+                                        });
+                            })
+                            .repeat(() -> System.nanoTime() < deadline);
+                }, concurrency)
+                .blockLast();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new StepResult(concurrency, operations.sum() / seconds, errors.sum(),
+                reads.getIntervalHistogram(), remittances.getIntervalHistogram());
+    }
+
+    private Mono<Boolean> read(McpAsyncClient client) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String customerId = CUSTOMERS.get(random.nextInt(CUSTOMERS.size()));
+        String accountId = ACCOUNTS.get(random.nextInt(ACCOUNTS.size()));
+        CallToolRequest request = switch (random.nextInt(5)) {
+            case 0 -> new CallToolRequest("getAccounts", Map.of("accountsRequest", Map.of("customerId", customerId)));
+            case 1 -> new CallToolRequest("getBalanceByAccount", Map.of("balanceByAccountRequest", Map.of("accountId", accountId)));
+            case 2 -> new CallToolRequest("getTransactions", Map.of("transactionsRequest", Map.of("accountId", accountId)));
+            case 3 -> new CallToolRequest("getFinancialOverview", Map.of("customerId", customerId));
+            default -> new CallToolRequest("getSpendingBreakdown", Map.of("request", Map.of("customerId", customerId, "days", 30)));
+        };
+        return client.callTool(request).map(result -> !Boolean.TRUE.equals(result.isError()));
+    }
+
+    // Domestic transfer within the biometric threshold for an ENHANCED customer: validates
+    // straight away, so the completion executes it. Small enough that the ledger balance of
+    // ACC004 lasts for the whole run
+    private Mono<Boolean> remittanceFlow(McpAsyncClient client) {
+        CallToolRequest initiate = new CallToolRequest("initiateRemittance", Map.of("request", Map.of(
+                "customerId", "Sarah", "fromAccountId", "ACC004", "recipientName", "Jane Doe",
+                "recipientCountry", "UAE", "recipientBank", "ENBD", "recipientAccountNumber", "AE070331234567890123456",
+                "amount", 1, "currency", "AED", "purpose", "Family Support", "relationship", "Sister")));
+        return client.callTool(initiate)
+                .flatMap(validation -> {
+                    String transactionId = String.valueOf(field(validation, "transactionId"));
+                    return client.callTool(new CallToolRequest("completeRemittance", Map.of("request",
+                            Map.of("transactionId", transactionId, "customerId", "Sarah"))));
+                })
+                .map(result -> !Boolean.TRUE.equals(result.isError()));
+    }
+
+    private static Object field(CallToolResult result, String name) {
+        String json = ((TextContent) result.content().get(0)).text();
+        return JsonParser.fromJson(json, Map.class).get(name);
+    }
+
+    private static String percentiles(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "-";
+        }
+        return String.format("%.2f/%.2f/%.2f/%.2f/%.2f",
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Investment;
+import com.example.mcp_server.PortfolioValuation.Position;
+import com.example.mcp_server.PortfolioValuation.Totals;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PortfolioValuationTests {
+
+    private final PortfolioValuation valuation = new PortfolioValuation();
+
+    @Test
+    void ticksRevalueOnlyThePortfoliosHoldingTheInstrument() {
+        valuation.listInstrument("EMIRATES.DFM", new BigDecimal("15.75"));
+        valuation.listInstrument("UAEGB29", new BigDecimal("1020.50"));
+        valuation.listInstrument("EMAAR.DFM", new BigDecimal("5.25"));
+        valuation.addPosition("Aman", position("INV001", "EMIRATES.DFM", "500", "14.25"));
+        valuation.addPosition("Aman", position("INV004", "UAEGB29", "50", "1000.00"));
+        valuation.addPosition("Sarah", position("INV005", "EMAAR.DFM", "2000", "4.80"));
+
+        Totals aman = valuation.totals("Aman");
+        assertThat(aman.marketValue()).isEqualByComparingTo("58900.00");
+        assertThat(aman.gainLoss()).isEqualByComparingTo("1775.00");
+        assertThat(aman.gainLossPercentage()).isEqualByComparingTo("3.11");
+        assertThat(aman.positions()).isEqualTo(2);
+
+        valuation.updatePrice("EMIRATES.DFM", new BigDecimal("16.1234"));
+
+        assertThat(valuation.totals("Aman").marketValue()).isEqualByComparingTo("59086.70");
+        assertThat(valuation.totals("Sarah").marketValue()).isEqualByComparingTo("10500.00");
+        Investment emiratesNbd = valuation.investments("Aman").get(0);
+        assertThat(emiratesNbd.currentPrice()).isEqualByComparingTo("16.1234");
+        assertThat(emiratesNbd.marketValue()).isEqualByComparingTo("8061.70");
+        assertThat(emiratesNbd.gainLoss()).isEqualByComparingTo("936.70");
+        assertThat(emiratesNbd.gainLossPercentage()).isEqualByComparingTo("13.15");
+
+        assertThat(valuation.totals("Omar").positions()).isZero();
+        assertThatIllegalArgumentException().isThrownBy(() -> valuation.updatePrice("UNKNOWN", BigDecimal.ONE));
+    }
+
+    @Test
+    void runningTotalsMatchAFullRevaluationAfterConcurrentTicks() throws Exception {
+        String[] symbols = new String[20];
+        for (int s = 0; s < symbols.length; s++) {
+            symbols[s] = "SYM" + s;
+            valuation.listInstrument(symbols[s], new BigDecimal("10.00"));
+        }
+        for (int p = 0; p < 200; p++) {
+            for (int h = 0; h < 10; h++) {
+                valuation.addPosition("C" + p, position("INV" + p + "-" + h, symbols[(p + h * 7) % symbols.length],
+                        "12", "9.00"));
+            }
+        }
+
+        List<Thread> feeds = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread feed = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    valuation.updatePrice(symbols[random.nextInt(symbols.length)],
+                            BigDecimal.valueOf(random.nextInt(500, 1_500), 2));
+                }
+            });
+            feeds.add(feed);
+            feed.start();
+        }
+        for (Thread feed : feeds) {
+            feed.join();
+        }
+
+        for (int p = 0; p < 200; p++) {
+            BigDecimal revalued = valuation.investments("C" + p).stream()
+                    .map(Investment::marketValue)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertThat(valuation.totals("C" + p).marketValue()).isEqualByComparingTo(revalued);
+        }
+    }
+
+    private static Position position(String id, String symbol, String quantity, String purchasePrice) {
+        return new Position(id, "STOCK", symbol, symbol, new BigDecimal(quantity), new BigDecimal(purchasePrice),
+                LocalDate.of(2023, 3, 15), "MEDIUM");
+    }
+}
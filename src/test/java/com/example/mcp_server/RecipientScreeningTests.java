@@ -0,0 +1,83 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.ScreeningIndex.Entry;
+import com.example.mcp_server.ScreeningIndex.Match;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipientScreeningTests {
+
+    private final ScreeningIndex index = ScreeningIndex.build(List.of(
+            new Entry("Viktor Blackwood", "Russia"),
+            new Entry("Karim Al-Sayegh Trading", "Syria"),
+            new Entry("Li Wei", null),
+            new Entry("Bogdan Petrenko", "Ukraine")), 4);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void listedNamesAreFoundInsideLongerNamesRegardlessOfCaseAndAccents() {
+        assertThat(index.screen("MR. VIKTOR BLACKWOOD", "Russia")).isEqualTo(new Match("Viktor Blackwood", "Russia", 0));
+        assertThat(index.screen("Ahmad Karim al Sayegh trading est.", null).listedName()).isEqualTo("Karim Al-Sayegh Trading");
+        assertThat(index.screen("Bogdán Petrénko", "Ukraine")).isEqualTo(new Match("Bogdan Petrenko", "Ukraine", 0));
+
+        assertThat(index.screen("Blackwood Viktor", null)).isNull();
+        assertThat(index.screen("Jane Doe", null)).isNull();
+        assertThat(index.screen("", null)).isNull();
+    }
+
+    @Test
+    void longTokensMatchWithinOneEdit() {
+        assertThat(index.screen("Viktr Blackwod", "Russia")).isEqualTo(new Match("Viktor Blackwood", "Russia", 2));
+        assertThat(index.screen("Bogdan Petrneko", "Ukraine")).isEqualTo(new Match("Bogdan Petrenko", "Ukraine", 1));
+        // Two edits in one token is no longer the same name
+        assertThat(index.screen("Viktor Blakcwud", null)).isNull();
+        // Short tokens must match exactly
+        assertThat(index.screen("Li Wei", null)).isNotNull();
+        assertThat(index.screen("Lu Wei", null)).isNull();
+    }
+
+    @Test
+    void namesListedForACountryOnlyMatchRecipientsThere() {
+        ScreeningIndex byCountry = ScreeningIndex.build(List.of(
+                new Entry("Viktor Blackwood", "Russia"),
+                new Entry("Viktor Blackwood", "Belarus"),
+                new Entry("Li Wei", null),
+                new Entry("Li Wei", "China")), 4);
+
+        assertThat(byCountry.screen("Viktor Blackwood", "russia")).isEqualTo(new Match("Viktor Blackwood", "Russia", 0));
+        assertThat(byCountry.screen("Viktor Blackwood", "Belarus")).isEqualTo(new Match("Viktor Blackwood", "Belarus", 0));
+        assertThat(byCountry.screen("Viktor Blackwood", "UK")).isNull();
+        // Listed once without a country, so it matches everywhere
+        assertThat(byCountry.screen("Li Wei", "UK")).isEqualTo(new Match("Li Wei", null, 0));
+    }
+
+    @Test
+    void changedWatchListIsPickedUpOnReload() throws IOException {
+        Path file = directory.resolve("watch-list.txt");
+        Files.writeString(file, "# test list\nViktor Blackwood|Russia\n");
+        RecipientScreening screening = new RecipientScreening(new FileSystemResource(file), Duration.ofMinutes(1), 4);
+        screening.reload();
+        assertThat(screening.screen("Viktor Blackwood", null)).isNotNull();
+        assertThat(screening.screen("Elena Marchetti", null)).isNull();
+
+        Files.writeString(file, "Elena Marchetti\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        screening.reload();
+
+        assertThat(screening.size()).isEqualTo(1);
+        assertThat(screening.screen("Elena Marchetti", null)).isNotNull();
+        assertThat(screening.screen("Viktor Blackwood", null)).isNull();
+    }
+}
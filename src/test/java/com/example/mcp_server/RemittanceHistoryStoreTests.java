@@ -0,0 +1,132 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceTransaction;
+import com.example.mcp_server.RemittanceHistoryStore.Page;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RemittanceHistoryStoreTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Test
+    void pagesThroughDateRangeAndStatusNewestFirst() {
+        RemittanceHistoryStore store = new RemittanceHistoryStore(100_000, "");
+        for (int i = 0; i < 50_000; i++) {
+            store.record("Sarah", transfer("REM" + i, i % 10 == 0 ? "FAILED" : "PROCESSING", START.plusMinutes(i)));
+        }
+        store.record("Aman", transfer("REM-A", "PROCESSING", START));
+
+        // Minutes 1000..1999, of which every tenth failed
+        LocalDateTime from = START.plusMinutes(1000);
+        LocalDateTime to = START.plusMinutes(1999);
+        List<String> failed = new ArrayList<>();
+        String token = null;
+        do {
+            Page page = store.query("Sarah", from, to, "failed", 30, token);
+            assertThat(page.totalCount()).isEqualTo(100);
+            page.transactions().forEach(tx -> failed.add(tx.transactionId()));
+            token = page.nextPageToken();
+        } while (token != null);
+
+        assertThat(failed).hasSize(100).doesNotHaveDuplicates()
+                .startsWith("REM1990", "REM1980").endsWith("REM1000");
+
+        Page all = store.query("Sarah", from, to, null, 5, null);
+        assertThat(all.totalCount()).isEqualTo(1000);
+        assertThat(all.transactions()).extracting(RemittanceTransaction::transactionId)
+                .containsExactly("REM1999", "REM1998", "REM1997", "REM1996", "REM1995");
+        assertThat(store.query("Omar", null, null, null, 5, null).totalCount()).isZero();
+    }
+
+    @Test
+    void recordingAgainMovesTransactionBetweenStatusesAndOldestAreEvicted() {
+        RemittanceHistoryStore store = new RemittanceHistoryStore(3, "");
+        store.record("Sarah", transfer("REM1", "VALIDATED", START));
+        store.record("Sarah", transfer("REM2", "VALIDATED", START.plusMinutes(1)));
+        store.record("Sarah", transfer("REM1", "PROCESSING", START.plusHours(5)));
+
+        assertThat(store.query("Sarah", null, null, "VALIDATED", 10, null).transactions())
+                .extracting(RemittanceTransaction::transactionId).containsExactly("REM2");
+        // Keeps its place from when it was first recorded
+        assertThat(store.query("Sarah", null, START, "PROCESSING", 10, null).transactions())
+                .extracting(RemittanceTransaction::transactionId).containsExactly("REM1");
+        assertThat(store.find("Sarah", "REM1").status()).isEqualTo("PROCESSING");
+
+        store.record("Sarah", transfer("REM3", "PROCESSING", START.plusMinutes(2)));
+        store.record("Sarah", transfer("REM4", "PROCESSING", START.plusMinutes(3)));
+
+        assertThat(store.size("Sarah")).isEqualTo(3);
+        assertThat(store.find("Sarah", "REM1")).isNull();
+        assertThat(store.query("Sarah", null, null, "PROCESSING", 10, null).transactions())
+                .extracting(RemittanceTransaction::transactionId).containsExactly("REM4", "REM3");
+    }
+
+    @Test
+    void historyFileIsReplayedOnStart(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("history/remittances.ndjson");
+        RemittanceHistoryStore store = new RemittanceHistoryStore(100, file.toString());
+        store.start();
+        store.record("Sarah", transfer("REM1", "VALIDATED", START));
+        store.record("Sarah", transfer("REM2", "PROCESSING", START.plusMinutes(1)));
+        store.record("Sarah", transfer("REM1", "PROCESSING", START));
+        store.stop();
+        Files.writeString(file, "{\"customerId\":\"Sarah\",\"transac", StandardOpenOption.APPEND);
+
+        RemittanceHistoryStore restarted = new RemittanceHistoryStore(100, file.toString());
+        restarted.start();
+        try {
+            Page page = restarted.query("Sarah", null, null, "PROCESSING", 10, null);
+            assertThat(page.transactions()).extracting(RemittanceTransaction::transactionId)
+                    .containsExactly("REM2", "REM1");
+            assertThat(page.transactions().get(1)).isEqualTo(transfer("REM1", "PROCESSING", START));
+            // Compacted to the latest line per transaction, without the truncated one
+            assertThat(Files.readAllLines(file)).hasSize(2);
+            restarted.record("Sarah", transfer("REM3", "VALIDATED", START.plusMinutes(2)));
+        } finally {
+            restarted.stop();
+        }
+        assertThat(Files.readAllLines(file)).hasSize(3);
+    }
+
+    @Test
+    void evictedTransactionsAreDroppedFromTheFileOnReplay(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("remittances.ndjson");
+        RemittanceHistoryStore store = new RemittanceHistoryStore(100, file.toString());
+        store.start();
+        for (int i = 1; i <= 5; i++) {
+            store.record("Sarah", transfer("REM" + i, "PROCESSING", START.plusMinutes(i)));
+        }
+        store.stop();
+
+        RemittanceHistoryStore smaller = new RemittanceHistoryStore(2, file.toString());
+        smaller.start();
+        smaller.stop();
+        assertThat(Files.readAllLines(file)).hasSize(2);
+        assertThat(Files.exists(dir.resolve("remittances.ndjson.compacting"))).isFalse();
+
+        RemittanceHistoryStore restarted = new RemittanceHistoryStore(100, file.toString());
+        restarted.start();
+        try {
+            assertThat(restarted.query("Sarah", null, null, null, 10, null).transactions())
+                    .extracting(RemittanceTransaction::transactionId).containsExactly("REM5", "REM4");
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    private static RemittanceTransaction transfer(String id, String status, LocalDateTime initiatedAt) {
+        return new RemittanceTransaction(id, "REF" + id, "Maria Garcia", "Philippines", new BigDecimal("100.00"),
+                "AED", status, new BigDecimal("15.00"), initiatedAt, null, "Family Support");
+    }
+}
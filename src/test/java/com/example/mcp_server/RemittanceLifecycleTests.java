@@ -0,0 +1,96 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.EnhancedBankingRecords.CompleteRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.InitiateRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceExecutionResponse;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceValidationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks one remittance through every hop (tool, verification pages, simulation REST calls)
+ * and reads its timeline and the stage breakdown back from the actuator endpoint.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class RemittanceLifecycleTests {
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private RemittanceLifecycleTracker remittanceLifecycle;
+
+    @Test
+    void everyHopIsCorrelatedByTransactionId() {
+        RemittanceValidationResponse initiated = bankingService.initiateRemittance(new InitiateRemittanceRequest(
+                "Aman", "ACC002", "Ali Hassan", "Egypt", "NBE", "EG380019000500000000263180002",
+                new BigDecimal("20000"), "EGP", "Family Support", "Brother"), null).block();
+        assertThat(initiated.status()).isEqualTo("VERIFICATION_REQUIRED");
+        String transactionId = initiated.transactionId();
+
+        // Without a transactionId the pages and REST calls pick up the customer's open remittance
+        webTestClient.get().uri("/kyc-verification?customerId=Aman")
+                .exchange().expectStatus().isOk()
+                .expectBody(String.class).value(page -> assertThat(page).contains(transactionId));
+        webTestClient.post().uri("/api/simulation/kyc-completion/Aman?transactionId={id}", transactionId)
+                .exchange().expectStatus().isOk();
+        webTestClient.get().uri("/biometric-verification?customerId=Aman&transactionId={id}", transactionId)
+                .exchange().expectStatus().isOk();
+        webTestClient.post().uri("/api/simulation/biometric-completion/Aman")
+                .exchange().expectStatus().isOk();
+
+        RemittanceExecutionResponse completed = bankingService.completeRemittance(
+                new CompleteRemittanceRequest(transactionId, "Aman"), null).block();
+        assertThat(completed.status()).isEqualTo("PROCESSING");
+
+        String bearer = JwtIssuerStub.get().bearer("ops");
+        webTestClient.get().uri("/actuator/remittances/{id}", transactionId)
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.outcome").isEqualTo("PROCESSING")
+                .jsonPath("$.events[*].stage").isEqualTo(List.of(
+                        "INITIATE", "KYC_PAGE", "KYC_COMPLETION", "BIOMETRIC_PAGE", "BIOMETRIC_COMPLETION", "COMPLETE"));
+
+        webTestClient.get().uri("/actuator/remittances")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stageWaits.KYC_COMPLETION.count").isEqualTo(1)
+                .jsonPath("$.timeToComplete.PROCESSING.count").isEqualTo(1);
+    }
+
+    @Test
+    void rejectionAtInitiationEndsTheLifecycle() {
+        int active = remittanceLifecycle.activeCount();
+        RemittanceValidationResponse held = bankingService.initiateRemittance(new InitiateRemittanceRequest(
+                "Sarah", "ACC004", "Viktor Blackwood", "Russia", "VTB", "RU0204452560040702810412345678901",
+                new BigDecimal("100"), "AED", "Services", "Supplier"), null).block();
+
+        assertThat(held.status()).isEqualTo("COMPLIANCE_REVIEW");
+        assertThat(remittanceLifecycle.timeline(held.transactionId()).outcome()).isEqualTo("COMPLIANCE_REVIEW");
+        assertThat(remittanceLifecycle.activeCount()).isEqualTo(active);
+    }
+}
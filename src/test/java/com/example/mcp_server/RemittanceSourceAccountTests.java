@@ -0,0 +1,90 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.AccountSummary;
+import com.example.mcp_server.BankingRecords.FinancialOverview;
+import com.example.mcp_server.BankingRecords.GetBalanceByAccountRequest;
+import com.example.mcp_server.BankingRecords.SearchTransactionsRequest;
+import com.example.mcp_server.BankingRecords.SearchTransactionsResponse;
+import com.example.mcp_server.BankingRecords.SpendingAnalyticsRequest;
+import com.example.mcp_server.BankingRecords.SpendingGroup;
+import com.example.mcp_server.EnhancedBankingRecords.CompleteRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.InitiateRemittanceRequest;
+import com.example.mcp_server.EnhancedBankingRecords.RemittanceValidationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RemittanceSourceAccountTests {
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private Ledger ledger;
+
+    @Test
+    void remittancesOnlyLeaveTheCustomersOwnDepositAccounts() {
+        // Another customer's account, a credit card and the currency accounts used for conversions
+        assertThat(initiate("Aman", "ACC004").status()).isEqualTo("FAILED");
+        assertThat(initiate("Aman", "ACC004").message()).contains("ACC004");
+        assertThat(initiate("Aman", "ACC003").status()).isEqualTo("FAILED");
+        assertThat(initiate("Sarah", "ACCUSD_Sarah").status()).isEqualTo("FAILED");
+        assertThat(initiate("Sarah", "ACCAED_Sarah").status()).isEqualTo("FAILED");
+        assertThat(initiate("Sarah", null).status()).isEqualTo("FAILED");
+
+        long balanceBefore = ledger.balance("ACC004");
+        BigDecimal remittedBefore = remittedToday("Sarah");
+        BigDecimal assetsBefore = overview("Sarah").financialMetrics().totalAssets();
+        RemittanceValidationResponse validated = initiate("Sarah", "ACC004");
+        assertThat(validated.status()).isEqualTo("VALIDATED");
+        assertThat(initiate("Sarah", "ACC004").transactionId()).isNotEqualTo(validated.transactionId());
+        assertThat(bankingService.completeRemittance(new CompleteRemittanceRequest(validated.transactionId(), "Sarah"), null)
+                .block().status()).isEqualTo("PROCESSING");
+        assertThat(ledger.balance("ACC004")).isEqualTo(balanceBefore - 100_80);
+
+        // The overview agrees with getBalanceByAccount
+        FinancialOverview overview = overview("Sarah");
+        AccountSummary summary = overview.accounts().stream()
+                .filter(account -> account.accountId().equals("ACC004")).findFirst().orElseThrow();
+        assertThat(summary.currentBalance()).isEqualByComparingTo(bankingService.getBalanceByAccount(
+                new GetBalanceByAccountRequest("ACC004"), null).block().balance().currentBalance());
+        assertThat(overview.financialMetrics().totalAssets()).isEqualByComparingTo(assetsBefore.subtract(new BigDecimal("100.80")));
+
+        SearchTransactionsResponse found = bankingService.searchTransactions(
+                new SearchTransactionsRequest("Sarah", "supplier remittance", null, null, null), null).block();
+        assertThat(found.transactions()).extracting(BankingRecords.Transaction::transactionId)
+                .contains(validated.transactionId());
+        assertThat(remittedToday("Sarah")).isEqualByComparingTo(remittedBefore.add(new BigDecimal("100.80")));
+    }
+
+    private FinancialOverview overview(String customerId) {
+        return bankingService.getFinancialOverview(customerId, null).block().financialOverview();
+    }
+
+    private BigDecimal remittedToday(String customerId) {
+        return bankingService.analyzeSpending(new SpendingAnalyticsRequest(customerId, "CATEGORY", LocalDate.now(),
+                        LocalDate.now()), null).block().groups().stream()
+                .filter(group -> "REMITTANCE".equals(group.category()))
+                .map(SpendingGroup::totalSpent)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private RemittanceValidationResponse initiate(String customerId, String fromAccountId) {
+        return bankingService.initiateRemittance(new InitiateRemittanceRequest(customerId, fromAccountId, "Supplier LLC",
+                "UAE", "ENBD", "AE070331234567890123456", new BigDecimal("100"), "AED", "Services", "Supplier"), null).block();
+    }
+}
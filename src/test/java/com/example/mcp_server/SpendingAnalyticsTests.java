@@ -0,0 +1,81 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Transaction;
+import com.example.mcp_server.SpendingAnalytics.Group;
+import com.example.mcp_server.SpendingAnalytics.GroupBy;
+import com.example.mcp_server.SpendingAnalytics.Totals;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SpendingAnalyticsTests {
+
+    private final SpendingAnalytics analytics = new SpendingAnalytics();
+
+    @Test
+    void debitsAreGroupedByCategoryMerchantAndMonth() {
+        analytics.add("Aman", transaction("DEBIT", "-100.25", "Carrefour", "GROCERIES", LocalDateTime.of(2024, 4, 30, 18, 0)));
+        analytics.add("Aman", transaction("DEBIT", "-50.75", "Carrefour", "GROCERIES", LocalDateTime.of(2024, 5, 1, 9, 0)));
+        analytics.add("Aman", transaction("DEBIT", "-31.32", "Starbucks", "DINING", LocalDateTime.of(2024, 5, 29, 8, 15)));
+        analytics.add("Aman", transaction("CREDIT", "22000.00", "Employer", "SALARY", LocalDateTime.of(2024, 5, 28, 9, 0)));
+        analytics.add("Aman", transaction("DEBIT", "-12.00", null, null, LocalDateTime.of(2024, 7, 2, 9, 0)));
+        analytics.add("Sarah", transaction("DEBIT", "-999.00", "Carrefour", "GROCERIES", LocalDateTime.of(2024, 5, 1, 9, 0)));
+
+        Totals byCategory = analytics.aggregate("Aman", GroupBy.CATEGORY, null, null);
+        assertThat(byCategory.spent()).isEqualTo(194_32);
+        assertThat(byCategory.count()).isEqualTo(4);
+        assertThat(byCategory.groups()).extracting(Group::category, Group::spent, Group::count).containsExactly(
+                tuple("GROCERIES", 151_00L, 2), tuple("DINING", 31_32L, 1), tuple("UNCATEGORIZED", 12_00L, 1));
+
+        assertThat(analytics.aggregate("Aman", GroupBy.MERCHANT, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31)).groups())
+                .extracting(Group::merchant, Group::spent).containsExactly(
+                        tuple("Carrefour", 50_75L), tuple("Starbucks", 31_32L));
+
+        // June has no spending and is left out
+        assertThat(analytics.aggregate("Aman", GroupBy.MONTH, null, null).groups())
+                .extracting(Group::month, Group::spent).containsExactly(
+                        tuple(LocalDate.of(2024, 4, 1), 100_25L),
+                        tuple(LocalDate.of(2024, 5, 1), 82_07L),
+                        tuple(LocalDate.of(2024, 7, 1), 12_00L));
+
+        assertThat(analytics.aggregate("Aman", GroupBy.CATEGORY_MONTH, null, LocalDate.of(2024, 6, 30)).groups())
+                .extracting(Group::category, Group::month, Group::spent).containsExactly(
+                        tuple("GROCERIES", LocalDate.of(2024, 4, 1), 100_25L),
+                        tuple("GROCERIES", LocalDate.of(2024, 5, 1), 50_75L),
+                        tuple("DINING", LocalDate.of(2024, 5, 1), 31_32L));
+
+        assertThat(analytics.aggregate("Omar", GroupBy.CATEGORY, null, null).groups()).isEmpty();
+    }
+
+    @Test
+    void scansMillionsOfRowsWithoutLosingAnyMinorUnit() {
+        String[] categories = {"GROCERIES", "DINING", "SHOPPING", "TRANSPORT"};
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 12, 0);
+        int rows = 1_000_000;
+        for (int i = 0; i < rows; i++) {
+            analytics.add("Aman", transaction("DEBIT", "-1.01", "Merchant" + (i % 500), categories[i % 4],
+                    start.plusDays(i % 1461)));
+        }
+
+        Totals byMerchant = analytics.aggregate("Aman", GroupBy.MERCHANT, null, null);
+        assertThat(byMerchant.groups()).hasSize(500);
+        assertThat(byMerchant.spent()).isEqualTo(rows * 1_01L);
+
+        // 2021 has 365 of the 1461 days
+        Totals byMonth = analytics.aggregate("Aman", GroupBy.CATEGORY_MONTH,
+                LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31));
+        assertThat(byMonth.groups()).hasSize(4 * 12);
+        assertThat(byMonth.count()).isBetween(rows * 365 / 1461, rows * 365 / 1461 + 365);
+    }
+
+    private static Transaction transaction(String type, String amount, String merchant, String category,
+                                           LocalDateTime date) {
+        return new Transaction("TXN", "ACC001", type, new BigDecimal(amount), "AED", "Purchase", merchant, category,
+                date, date, "POSTED", "REF", BigDecimal.ZERO, "CARD", "Dubai", "MCC5411", "AUTH", BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.CategorySpending;
+import com.example.mcp_server.BankingRecords.GetSpendingBreakdownRequest;
+import com.example.mcp_server.BankingRecords.GetSpendingBreakdownResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SpendingBreakdownTests {
+
+    private static final LocalDate MAY_29 = LocalDate.of(2024, 5, 29);
+
+    @DynamicPropertySource
+    static void issuer(DynamicPropertyRegistry registry) {
+        JwtIssuerStub.register(registry);
+    }
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Test
+    void windowEndsOnTheGivenDateAndIncludesBothEnds() {
+        GetSpendingBreakdownResponse oneDay = breakdown(1, MAY_29);
+        assertThat(oneDay.fromDate()).isEqualTo(MAY_29);
+        assertThat(oneDay.toDate()).isEqualTo(MAY_29);
+        assertThat(oneDay.totalDebits()).isEqualByComparingTo("7381.32");
+        assertThat(oneDay.totalCredits()).isEqualByComparingTo("0");
+        assertThat(oneDay.categories()).extracting(CategorySpending::category).containsExactly("HOUSING", "DINING");
+
+        GetSpendingBreakdownResponse twoDays = breakdown(2, MAY_29);
+        assertThat(twoDays.fromDate()).isEqualTo(LocalDate.of(2024, 5, 28));
+        assertThat(twoDays.totalCredits()).isEqualByComparingTo("22000.00");
+
+        GetSpendingBreakdownResponse dayBefore = breakdown(1, LocalDate.of(2024, 5, 28));
+        assertThat(dayBefore.totalDebits()).isEqualByComparingTo("0");
+        assertThat(dayBefore.totalCredits()).isEqualByComparingTo("22000.00");
+
+        GetSpendingBreakdownResponse beforeAnyActivity = breakdown(30, LocalDate.of(2024, 1, 1));
+        assertThat(beforeAnyActivity.status()).isEqualTo("SUCCESS");
+        assertThat(beforeAnyActivity.categories()).isEmpty();
+    }
+
+    @Test
+    void missingOrInvalidDaysDefaultToThirtyAndLongWindowsAreCappedAtTheHorizon() {
+        for (Integer days : new Integer[]{null, 0, -5}) {
+            GetSpendingBreakdownResponse response = breakdown(days, MAY_29);
+            assertThat(response.fromDate()).isEqualTo(LocalDate.of(2024, 4, 30));
+            assertThat(response.totalDebits()).isEqualByComparingTo("8375.42");
+            assertThat(response.totalCredits()).isEqualByComparingTo("22000.00");
+        }
+
+        GetSpendingBreakdownResponse year = breakdown(10_000, MAY_29);
+        assertThat(year.fromDate()).isEqualTo(MAY_29.minusDays(TransactionRollups.HORIZON_DAYS - 1));
+        assertThat(year.totalDebits()).isEqualByComparingTo("8375.42");
+
+        assertThat(bankingService.getSpendingBreakdown(new GetSpendingBreakdownRequest("Nobody", 30, MAY_29), null)
+                .block().status()).isEqualTo("FAILURE");
+    }
+
+    private GetSpendingBreakdownResponse breakdown(Integer days, LocalDate toDate) {
+        return bankingService.getSpendingBreakdown(new GetSpendingBreakdownRequest("Aman", days, toDate), null).block();
+    }
+}
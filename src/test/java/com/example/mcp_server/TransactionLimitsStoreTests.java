@@ -0,0 +1,99 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.TransactionLimitsStore.LimitUsage;
+import com.example.mcp_server.TransactionLimitsStore.Period;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionLimitsStoreTests {
+
+    private static final long[] BASIC = {500_00, 2_000_00, 10_000_00};
+    private static final long[] ENHANCED = {2_500_00, 10_000_00, 50_000_00};
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-31T12:00:00Z"));
+    private final TransactionLimitsStore store = new TransactionLimitsStore(BASIC, ENHANCED, clock);
+
+    @Test
+    void usageResetsLazilyWhenItsPeriodEnds() {
+        assertThat(store.tryConsume("Sarah", "ENHANCED", 2_000_00)).isNull();
+        LimitUsage daily = store.check("Sarah", "ENHANCED", 1_000_00);
+        assertThat(daily.period()).isEqualTo(Period.DAILY);
+        assertThat(daily.remaining()).isEqualTo(500_00);
+        assertThat(daily.resetDate()).isEqualTo(LocalDate.parse("2026-02-01"));
+        // The same usage is over the BASIC daily limit
+        assertThat(store.check("Sarah", "BASIC", 1).period()).isEqualTo(Period.DAILY);
+
+        clock.instant = Instant.parse("2026-02-01T00:00:00Z");
+        assertThat(store.usage("Sarah", "ENHANCED")).extracting(LimitUsage::used).containsExactly(0L, 0L, 2_000_00L);
+        assertThat(store.check("Sarah", "ENHANCED", 1_000_00)).isNull();
+    }
+
+    @Test
+    void aRejectedTransferConsumesNothing() {
+        clock.instant = Instant.parse("2026-03-01T09:00:00Z");
+        for (int day = 0; day < 4; day++) {
+            assertThat(store.tryConsume("Aman", "BASIC", 500_00)).isNull();
+            clock.instant = clock.instant.plusSeconds(TimeUnit.DAYS.toSeconds(1));
+        }
+
+        LimitUsage monthly = store.tryConsume("Aman", "BASIC", 100);
+        assertThat(monthly.period()).isEqualTo(Period.MONTHLY);
+        assertThat(monthly.resetDate()).isEqualTo(LocalDate.parse("2026-04-01"));
+        assertThat(store.usage("Aman", "BASIC")).extracting(LimitUsage::used).containsExactly(0L, 2_000_00L, 2_000_00L);
+    }
+
+    @Test
+    void concurrentTransfersNeverExceedTheLimit() throws InterruptedException {
+        AtomicInteger accepted = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (store.tryConsume("Fatima", "ENHANCED", 100) == null) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(accepted).hasValue(2_500);
+        assertThat(store.usage("Fatima", "ENHANCED").get(0).used()).isEqualTo(2_500_00L);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Transaction;
+import com.example.mcp_server.TransactionRollups.CategoryTotals;
+import com.example.mcp_server.TransactionRollups.WindowTotals;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionRollupsTests {
+
+    private static final int HORIZON = TransactionRollups.HORIZON_DAYS;
+
+    private final TransactionRollups rollups = new TransactionRollups();
+
+    @Test
+    void windowsSumAcrossTheEndOfTheRing() {
+        // Day 0 of the ring sits in the middle of this ten-day run
+        LocalDate start = LocalDate.ofEpochDay(366L * 60 - 5);
+        for (int i = 0; i < 10; i++) {
+            rollups.record(transaction("ACC001", "DEBIT", "-1.00", "DINING", start.plusDays(i)));
+            rollups.record(transaction("ACC001", "CREDIT", "100.00", "SALARY", start.plusDays(i)));
+        }
+        rollups.record(transaction("ACC002", "DEBIT", "-5.00", "DINING", start.plusDays(4)));
+
+        WindowTotals window = rollups.window(List.of("ACC001", "ACC002"), start.plusDays(2), start.plusDays(7));
+        assertThat(window.debits()).isEqualTo(6 * 1_00 + 5_00);
+        assertThat(window.credits()).isEqualTo(6 * 100_00);
+        assertThat(window.count()).isEqualTo(13);
+        assertThat(window.categories()).containsEntry("DINING", new CategoryTotals(11_00, 0, 7))
+                .containsEntry("SALARY", new CategoryTotals(0, 600_00, 6));
+        assertThat(rollups.latestActivity(List.of("ACC001", "ACC002"))).isEqualTo(start.plusDays(9));
+        assertThat(rollups.latestActivity(List.of("ACC009"))).isNull();
+    }
+
+    @Test
+    void daysOlderThanTheHorizonRotateOut() {
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < HORIZON; i++) {
+            rollups.record(transaction("ACC001", "DEBIT", i == 0 ? "-10.00" : "-1.00", "GROCERIES", first.plusDays(i)));
+        }
+        LocalDate last = first.plusDays(HORIZON - 1);
+        assertThat(rollups.window(List.of("ACC001"), first, last).debits()).isEqualTo(10_00 + (HORIZON - 1) * 1_00L);
+
+        // The next day reuses the first day's slot
+        rollups.record(transaction("ACC001", "DEBIT", "-2.00", "GROCERIES", last.plusDays(1)));
+        assertThat(rollups.window(List.of("ACC001"), first, first).count()).isZero();
+        assertThat(rollups.window(List.of("ACC001"), first.minusYears(5), last.plusDays(1)).debits())
+                .isEqualTo((HORIZON - 1) * 1_00L + 2_00);
+
+        // Too old for the ring to hold, so ignored rather than written over a live day
+        rollups.record(transaction("ACC001", "DEBIT", "-50.00", "GROCERIES", first));
+        assertThat(rollups.window(List.of("ACC001"), first.plusDays(1), first.plusDays(1)).debits()).isEqualTo(1_00);
+        assertThat(rollups.window(List.of("ACC001"), first, first).count()).isZero();
+    }
+
+    private static Transaction transaction(String accountId, String type, String amount, String category, LocalDate date) {
+        return new Transaction("TXN", accountId, type, new BigDecimal(amount), "AED", "Purchase", "Merchant", category,
+                date.atTime(12, 0), date.atTime(12, 0), "POSTED", "REF", BigDecimal.ZERO, "CARD", "Dubai", "MCC5411",
+                "AUTH", BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.BankingRecords.Transaction;
+import com.example.mcp_server.TransactionSearchIndex.Result;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionSearchIndexTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private final TransactionSearchIndex index = new TransactionSearchIndex();
+
+    @Test
+    void prefixWordsMustAllMatchAndTotalsCoverEveryMatch() {
+        for (int i = 0; i < 1000; i++) {
+            index.add("Aman", i % 2 == 0
+                    ? transaction("TXN" + i, "DEBIT", "-100.25", "Grocery Purchase - CARREFOUR", "Carrefour Hypermarket",
+                    "GROCERIES", "MCC5411", START.plusDays(i))
+                    : transaction("TXN" + i, "DEBIT", "-31.32", "Purchase - STARBUCKS DUBAI MALL", "Starbucks Coffee",
+                    "DINING", "MCC5814", START.plusDays(i)));
+        }
+        index.add("Aman", transaction("REFUND", "CREDIT", "50.00", "Refund - CARREFOUR", "Carrefour Hypermarket",
+                "GROCERIES", "MCC5411", START));
+        index.add("Sarah", transaction("OTHER", "DEBIT", "-10.00", "Carrefour", "Carrefour", "GROCERIES", "MCC5411", START));
+
+        Result carrefour = index.search("Aman", "carref", null, null, 3);
+        assertThat(carrefour.totalMatches()).isEqualTo(501);
+        assertThat(carrefour.debits()).isEqualTo(500 * 100_25L);
+        assertThat(carrefour.credits()).isEqualTo(50_00);
+        assertThat(carrefour.transactions()).extracting(Transaction::transactionId)
+                .containsExactly("TXN998", "TXN996", "TXN994");
+
+        assertThat(index.search("Aman", "Carrefour refund", null, null, 10).transactions())
+                .extracting(Transaction::transactionId).containsExactly("REFUND");
+        assertThat(index.search("Aman", "starbucks groceries", null, null, 10).totalMatches()).isZero();
+        assertThat(index.search("Aman", "mcc58", null, null, 10).totalMatches()).isEqualTo(500);
+        assertThat(index.search("Aman", " -- ", null, null, 10).totalMatches()).isZero();
+        assertThat(index.search("Omar", "carrefour", null, null, 10).totalMatches()).isZero();
+    }
+
+    @Test
+    void dateRangeIsInclusiveAndNewTransactionsAreSearchableImmediately() {
+        for (int i = 0; i < 30; i++) {
+            index.add("Aman", transaction("TXN" + i, "DEBIT", "-20.00", "Purchase - AMAZON.AE", "Amazon", "SHOPPING",
+                    "MCC5399", START.plusDays(i)));
+        }
+        LocalDate from = START.toLocalDate().plusDays(10);
+        LocalDate to = START.toLocalDate().plusDays(19);
+
+        Result january = index.search("Aman", "amazon", from, to, 100);
+        assertThat(january.totalMatches()).isEqualTo(10);
+        assertThat(january.debits()).isEqualTo(10 * 20_00);
+        assertThat(january.transactions().get(0).transactionId()).isEqualTo("TXN19");
+        assertThat(january.transactions().get(9).transactionId()).isEqualTo("TXN10");
+
+        index.add("Aman", transaction("LATE", "DEBIT", "-5.00", "Purchase - AMAZON.AE", "Amazon", "SHOPPING",
+                "MCC5399", START.plusDays(15).plusHours(12)));
+        assertThat(index.search("Aman", "amazon ae", from, to, 1).transactions())
+                .extracting(Transaction::transactionId).containsExactly("TXN19");
+        assertThat(index.search("Aman", "amazon", from, to, 100).totalMatches()).isEqualTo(11);
+    }
+
+    private static Transaction transaction(String id, String type, String amount, String description, String merchant,
+                                           String category, String merchantCategory, LocalDateTime date) {
+        return new Transaction(id, "ACC001", type, new BigDecimal(amount), "AED", description, merchant, category,
+                date, date, "POSTED", "REF" + id, BigDecimal.ZERO, "CARD", "Dubai", merchantCategory, "AUTH" + id,
+                BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.mcp_server;
+
+import com.example.mcp_server.VelocityMonitor.Breach;
+import com.example.mcp_server.VelocityMonitor.Measure;
+import com.example.mcp_server.VelocityMonitor.Scope;
+import com.example.mcp_server.VelocityMonitor.Window;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VelocityMonitorTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private VelocityMonitor monitor(String action, int maxTracked) {
+        return new VelocityMonitor(new MockEnvironment()
+                .withProperty("app.remittance.velocity.action", action)
+                .withProperty("app.remittance.velocity.max-tracked", String.valueOf(maxTracked))
+                .withProperty("app.remittance.velocity.customer.count.1m", "3")
+                .withProperty("app.remittance.velocity.customer.amount.1h", "1000")
+                .withProperty("app.remittance.velocity.recipient.count.24h", "4"), registry);
+    }
+
+    @Test
+    void countsSlideOutOfTheirWindow() {
+        VelocityMonitor monitor = monitor("BLOCK", 100);
+        long now = TimeUnit.HOURS.toNanos(5);
+        for (int i = 0; i < 3; i++) {
+            assertThat(monitor.recordInitiation("Aman", "AE01" + i, 100, now + i * SECOND)).isNull();
+        }
+        Breach breach = monitor.recordInitiation("Aman", "AE04", 100, now + 3 * SECOND);
+        assertThat(breach).isEqualTo(new Breach(Scope.CUSTOMER, Window.MINUTE, Measure.COUNT, 4, 3));
+
+        // A minute later the burst has left the 1m window but still counts towards the hour
+        assertThat(monitor.recordInitiation("Aman", "AE05", 100, now + 70 * SECOND)).isNull();
+        Breach hourly = monitor.recordInitiation("Aman", "AE06", 100_000, now + 71 * SECOND);
+        assertThat(hourly.window()).isEqualTo(Window.HOUR);
+        assertThat(hourly.measure()).isEqualTo(Measure.AMOUNT);
+        assertThat(hourly.observed()).isEqualTo(5 * 100 + 100_000);
+
+        assertThat(monitor.recordInitiation("Aman", "AE07", 100, now + 62 * MINUTE)).isNull();
+        assertThat(registry.get(VelocityMonitor.BREACHES).tags("scope", "CUSTOMER", "window", "1m", "measure", "COUNT")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recipientsAreTrackedAcrossCustomersAndFlagsDoNotBlock() {
+        VelocityMonitor monitor = monitor("FLAG", 100);
+        String[] customers = {"Aman", "Sarah", "Ahmed", "Fatima", "Omar"};
+        for (int i = 0; i < customers.length; i++) {
+            assertThat(monitor.recordInitiation(customers[i], "EG380019000500000000263180002", 100, i * MINUTE)).isNull();
+        }
+        assertThat(registry.get(VelocityMonitor.BREACHES).tags("scope", "RECIPIENT", "window", "24h", "measure", "COUNT")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void withdrawnInitiationsStopCounting() {
+        VelocityMonitor monitor = monitor("BLOCK", 100);
+        long now = TimeUnit.HOURS.toNanos(5);
+        for (int i = 0; i < 3; i++) {
+            assertThat(monitor.recordInitiation("Aman", "AE01", 100, now)).isNull();
+        }
+        monitor.withdrawInitiation("Aman", "AE01", 100, now);
+        assertThat(monitor.recordInitiation("Aman", "AE01", 100, now + SECOND)).isNull();
+        assertThat(monitor.recordInitiation("Aman", "AE01", 100, now + 2 * SECOND).observed()).isEqualTo(4);
+
+        // Later on it only leaves the windows that still hold it
+        assertThat(monitor.recordInitiation("Aman", "AE01", 100, now + 2 * MINUTE))
+                .isEqualTo(new Breach(Scope.RECIPIENT, Window.DAY, Measure.COUNT, 5, 4));
+        monitor.withdrawInitiation("Aman", "AE01", 100, now);
+        assertThat(monitor.recordInitiation("Aman", "AE01", 100, now + 3 * MINUTE).observed()).isEqualTo(5);
+    }
+
+    @Test
+    void trackedKeysAreBounded() {
+        VelocityMonitor monitor = monitor("BLOCK", 10);
+        for (int i = 0; i < 100; i++) {
+            monitor.recordInitiation("customer-" + i, null, 100, i * SECOND);
+        }
+        assertThat(monitor.tracked(Scope.CUSTOMER)).isLessThanOrEqualTo(10);
+        assertThat(monitor.tracked(Scope.RECIPIENT)).isZero();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.mcp_server.custom;
+
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.util.json.JsonParser;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolAuditLogTests {
+
+    record TransferResponse(String customerId, String status) {
+    }
+
+    static class SampleTools {
+
+        @Tool(description = "Moves money")
+        public Mono<TransferResponse> transfer(Map<String, Object> request) {
+            return Mono.just(new TransferResponse(String.valueOf(request.get("customerId")), "SUCCESS"));
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ringBufferDeliversEveryAcceptedElementOnceAndDropsWhenFull() throws InterruptedException {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 100_000;
+        Set<Integer> consumed = new HashSet<>();
+        List<Integer> accepted = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (ring.offer(base + i)) {
+                        accepted.add(base + i);
+                    }
+                }
+                done.countDown();
+            });
+        }
+        while (done.getCount() > 0 || ring.size() > 0) {
+            ring.drain(element -> assertThat(consumed.add(element)).isTrue(), 256);
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(consumed).hasSameSizeAs(accepted).containsAll(accepted);
+
+        AuditRingBuffer<Integer> full = new AuditRingBuffer<>(2);
+        assertThat(full.offer(1)).isTrue();
+        assertThat(full.offer(2)).isTrue();
+        assertThat(full.offer(3)).isFalse();
+    }
+
+    @Test
+    void everyCallIsWrittenAsOneNdjsonLine() throws Exception {
+        ToolAuditLog auditLog = new ToolAuditLog(directory, 1024, 1024 * 1024, 5, 64, 1_000_000);
+        auditLog.start();
+        AsyncToolSpecification transfer = ReactiveToolSpecifications.builder()
+                .toolObjects(new SampleTools())
+                .scheduler(Schedulers.immediate())
+                .filters(List.of(new ToolAuditFilter(auditLog)))
+                .build()
+                .get(0);
+
+        Map<String, Object> arguments = Map.of("request", Map.of("customerId", "Aman", "amount", 10));
+        for (int i = 0; i < 3; i++) {
+            transfer.callHandler().apply(null, new CallToolRequest("transfer", arguments)).block();
+        }
+        auditLog.stop();
+
+        List<String> lines = readAuditLines();
+        assertThat(lines).hasSize(3);
+        String expectedHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(JsonParser.toJson(arguments).getBytes(StandardCharsets.UTF_8)));
+        Map<String, Object> event = JsonParser.fromJson(lines.get(0), Map.class);
+        assertThat(event).containsEntry("tool", "transfer")
+                .containsEntry("customerId", "Aman")
+                .containsEntry("argsSha256", expectedHash)
+                .containsEntry("outcome", "SUCCESS")
+                .containsKeys("ts", "latencyMicros");
+        assertThat(auditLog.droppedCount()).isZero();
+    }
+
+    @Test
+    void filesRotateBySizeAndOnlyTheNewestAreKept() throws Exception {
+        ToolAuditLog auditLog = new ToolAuditLog(directory, 1024, 1, 2, 1, 1_000_000);
+        auditLog.start();
+        for (int i = 0; i < 5; i++) {
+            ToolInvocation invocation = new ToolInvocation("transfer", null, Map.of("customerId", "Aman"));
+            auditLog.publish(new ToolAuditLog.AuditEvent(System.currentTimeMillis(), invocation, null, "SUCCESS", 1000));
+            Thread.sleep(5); // distinct file timestamps
+        }
+        auditLog.stop();
+
+        assertThat(auditFiles()).hasSize(2);
+        assertThat(auditLog.writtenCount()).isEqualTo(5);
+    }
+
+    private List<String> readAuditLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Path file : auditFiles()) {
+            lines.addAll(Files.readAllLines(file));
+        }
+        return lines;
+    }
+
+    private List<Path> auditFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.mcp_server.custom;
+
+import com.example.mcp_server.custom.ToolRolesResolver.Grant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.annotation.Tool;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolAuthorizationFilterTests {
+
+    static class SampleTools {
+
+        @Tool(description = "Public information")
+        public Mono<String> branches() {
+            return Mono.just("Dubai Mall");
+        }
+
+        @Tool(description = "Reads a balance")
+        @AuthorizedTool("ACCOUNTS_READ")
+        public Mono<String> balance() {
+            return Mono.just("1000.00");
+        }
+
+        @Tool(description = "Moves money")
+        @AuthorizedTool({"ACCOUNTS_READ", "PAYMENTS"})
+        public Mono<String> transfer() {
+            return Mono.just("done");
+        }
+    }
+
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private final Map<String, Set<String>> grants = Map.of(
+            "Bearer reader", Set.of("ACCOUNTS_READ"),
+            "Bearer payer", Set.of("ACCOUNTS_READ", "PAYMENTS"));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Map<String, AsyncToolSpecification> tools = ReactiveToolSpecifications.builder()
+            .toolObjects(new SampleTools())
+            .scheduler(Schedulers.immediate())
+            .filters(List.of(new ToolMetricsFilter(registry), new ToolAuthorizationFilter(credentials -> {
+                resolutions.incrementAndGet();
+                if ("Bearer short-lived".equals(credentials)) {
+                    return Mono.just(new Grant(Set.of("ACCOUNTS_READ"), Instant.now().plusMillis(300)));
+                }
+                return Mono.justOrEmpty(grants.get(credentials)).map(Grant::of);
+            }, Duration.ofMinutes(5), 100)))
+            .build()
+            .stream()
+            .collect(Collectors.toMap(tool -> tool.tool().name(), tool -> tool));
+
+    @Test
+    void toolsWithoutAnnotationNeedNoCredentials() {
+        assertThat(call("branches", null).isError()).isNotEqualTo(true);
+        assertThat(resolutions).hasValue(0);
+    }
+
+    @Test
+    void callersNeedEveryRequiredRole() {
+        assertThat(call("balance", "Bearer reader").isError()).isNotEqualTo(true);
+        assertThat(call("transfer", "Bearer reader").isError()).isTrue();
+        assertThat(call("transfer", "Bearer payer").isError()).isNotEqualTo(true);
+        assertThat(call("balance", "Bearer unknown").isError()).isTrue();
+        assertThat(call("balance", null).isError()).isTrue();
+
+        assertThat(registry.get(ToolMetricsFilter.CALLS).tags("tool", "transfer", "status", ToolMetricsFilter.STATUS_FORBIDDEN)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rolesAreResolvedOncePerCredentials() {
+        for (int i = 0; i < 5; i++) {
+            call("balance", "Bearer payer");
+            call("transfer", "Bearer payer");
+        }
+        assertThat(resolutions).hasValue(1);
+    }
+
+    @Test
+    void cachedRolesExpireWithTheGrant() throws InterruptedException {
+        assertThat(call("balance", "Bearer short-lived").isError()).isNotEqualTo(true);
+        assertThat(call("balance", "Bearer short-lived").isError()).isNotEqualTo(true);
+        assertThat(resolutions).hasValue(1);
+
+        Thread.sleep(400);
+        call("balance", "Bearer short-lived");
+        assertThat(resolutions).hasValue(2);
+    }
+
+    private CallToolResult call(String tool, String authorization) {
+        McpTransportContext context = authorization == null ? McpTransportContext.EMPTY
+                : McpTransportContext.create(Map.of(ToolAuthorizationFilter.CREDENTIALS_KEY, authorization));
+        McpAsyncServerExchange exchange = new McpAsyncServerExchange("session-1", null, null, null, context);
+        return tools.get(tool).callHandler().apply(exchange, new CallToolRequest(tool, Map.of())).block();
+    }
+}
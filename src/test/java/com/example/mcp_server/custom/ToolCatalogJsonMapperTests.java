@@ -0,0 +1,55 @@
+package com.example.mcp_server.custom;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse;
+import io.modelcontextprotocol.spec.McpSchema.ListToolsResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolCatalogJsonMapperTests {
+
+    private static final TypeRef<Map<String, Object>> MAP = new TypeRef<>() {
+    };
+
+    private final McpJsonMapper json = McpJsonMapper.getDefault();
+    private final ToolCatalogJsonMapper mapper = new ToolCatalogJsonMapper(json);
+
+    private final List<McpSchema.Tool> tools = new ArrayList<>(List.of(tool("getAccounts"), tool("getBalanceByAccount")));
+
+    @Test
+    void toolsListResponsesMatchThePlainEncodingAndReuseTheCatalog() throws IOException {
+        for (Object id : List.of(1, "request-2")) {
+            JSONRPCResponse response = new JSONRPCResponse(McpSchema.JSONRPC_VERSION, id, new ListToolsResult(List.copyOf(tools), null), null);
+            assertThat(json.readValue(mapper.writeValueAsString(response), MAP))
+                    .isEqualTo(json.readValue(json.writeValueAsString(response), MAP));
+        }
+
+        tools.add(tool("getTransactions"));
+        JSONRPCResponse changed = new JSONRPCResponse(McpSchema.JSONRPC_VERSION, 3, new ListToolsResult(List.copyOf(tools), null), null);
+        assertThat(mapper.writeValueAsString(changed)).contains("getTransactions");
+        assertThat(json.readValue(mapper.writeValueAsString(changed), MAP))
+                .isEqualTo(json.readValue(json.writeValueAsString(changed), MAP));
+    }
+
+    @Test
+    void otherMessagesAreDelegated() throws IOException {
+        JSONRPCResponse response = new JSONRPCResponse(McpSchema.JSONRPC_VERSION, 1, Map.of("ok", true), null);
+        assertThat(mapper.writeValueAsString(response)).isEqualTo(json.writeValueAsString(response));
+    }
+
+    private McpSchema.Tool tool(String name) {
+        return McpSchema.Tool.builder()
+                .name(name)
+                .description("Returns " + name)
+                .inputSchema(json, "{\"type\":\"object\",\"properties\":{\"customerId\":{\"type\":\"string\"}}}")
+                .build();
+    }
+}
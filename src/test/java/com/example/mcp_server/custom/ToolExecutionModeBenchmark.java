@@ -0,0 +1,109 @@
+package com.example.mcp_server.custom;
+
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.annotation.Tool;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the two tool execution modes with 10k concurrent calls to a tool that blocks for
+ * 50 ms, reporting throughput, peak heap growth and peak platform thread count.
+ * <p>
+ * Excluded from the default build; run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+class ToolExecutionModeBenchmark {
+
+    private static final int CALLS = 10_000;
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(50);
+
+    static class SlowTools {
+
+        @Tool(description = "Simulates a blocking core-banking lookup")
+        public String slowLookup(String accountId) throws InterruptedException {
+            Thread.sleep(BACKEND_LATENCY);
+            return accountId;
+        }
+    }
+
+    @Test
+    void boundedElastic() {
+        run("boundedElastic", Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, CALLS, "bench-elastic"));
+    }
+
+    @Test
+    void virtualThreads() {
+        run("virtualThreads", Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "bench-vt"));
+    }
+
+    private void run(String mode, Scheduler scheduler) {
+        AsyncToolSpecification tool = ReactiveToolSpecifications.builder()
+                .toolObjects(new SlowTools())
+                .scheduler(scheduler)
+                .build()
+                .get(0);
+        try {
+            drive(tool, 500); // warm-up
+            System.gc();
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            AtomicLong peakHeap = new AtomicLong(heapBefore);
+            AtomicBoolean sampling = new AtomicBoolean(true);
+            Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+                while (sampling.get()) {
+                    peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    LockSupport.parkNanos(1_000_000);
+                }
+            });
+
+            long start = System.nanoTime();
+            long succeeded = drive(tool, CALLS);
+            long elapsedNanos = System.nanoTime() - start;
+            sampling.set(false);
+            sampler.join();
+
+            log.info("{}: {} calls in {} ms -> {} calls/s, peak heap +{} MB, peak platform threads {}",
+                    mode, CALLS, elapsedNanos / 1_000_000,
+                    Math.round(CALLS / (elapsedNanos / 1e9)),
+                    (peakHeap.get() - heapBefore) / (1024 * 1024),
+                    threads.getPeakThreadCount());
+            assertThat(succeeded).isEqualTo(CALLS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    private long drive(AsyncToolSpecification tool, int calls) {
+        Long succeeded = Flux.range(0, calls)
+                .flatMap(i -> tool.callHandler().apply(null, new CallToolRequest("slowLookup", Map.of("accountId", "ACC" + i))), calls)
+                .filter(result -> !Boolean.TRUE.equals(result.isError()))
+                .map(CallToolResult::content)
+                .count()
+                .block();
+        return succeeded == null ? 0 : succeeded;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.mcp_server.custom;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.annotation.Tool;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolMetricsFilterTests {
+
+    record LookupResponse(String value, String status) {
+    }
+
+    static class SampleTools {
+
+        @Tool(description = "Looks a value up")
+        public Mono<LookupResponse> lookup(String key) {
+            return Mono.just(new LookupResponse(key, "missing".equals(key) ? "FAILURE" : "SUCCESS"));
+        }
+
+        @Tool(description = "Always fails")
+        public String broken() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Map<String, AsyncToolSpecification> tools = ReactiveToolSpecifications.builder()
+            .toolObjects(new SampleTools())
+            .scheduler(Schedulers.immediate())
+            .filters(List.of(new ToolMetricsFilter(registry)))
+            .build()
+            .stream()
+            .collect(Collectors.toMap(tool -> tool.tool().name(), tool -> tool));
+
+    @Test
+    void callsAreTimedByToolAndResponseStatus() {
+        call("lookup", Map.of("key", "a"));
+        call("lookup", Map.of("key", "b"));
+        call("lookup", Map.of("key", "missing"));
+
+        assertThat(registry.get(ToolMetricsFilter.CALLS).tags("tool", "lookup", "status", "SUCCESS").timer().count()).isEqualTo(2);
+        assertThat(registry.get(ToolMetricsFilter.CALLS).tags("tool", "lookup", "status", "FAILURE").timer().count()).isEqualTo(1);
+        assertThat(registry.get(ToolMetricsFilter.ERRORS).tags("tool", "lookup", "status", "FAILURE").counter().count()).isEqualTo(1);
+        assertThat(registry.get(ToolMetricsFilter.IN_FLIGHT).tag("tool", "lookup").gauge().value()).isZero();
+        assertThat(registry.get(ToolMetricsFilter.PAYLOAD_SIZE).tags("tool", "lookup", "direction", "request").summary().totalAmount())
+                .isEqualTo(3 * "{\"key\":\"a\"}".length() + 6);
+    }
+
+    @Test
+    void failingToolsAreCountedAsErrors() {
+        call("broken", Map.of());
+
+        assertThat(registry.get(ToolMetricsFilter.CALLS).tags("tool", "broken", "status", ToolMetricsFilter.STATUS_ERROR).timer().count()).isEqualTo(1);
+        assertThat(registry.get(ToolMetricsFilter.ERRORS).tags("tool", "broken", "status", ToolMetricsFilter.STATUS_ERROR).counter().count()).isEqualTo(1);
+    }
+
+    private void call(String tool, Map<String, Object> arguments) {
+        tools.get(tool).callHandler().apply(null, new CallToolRequest(tool, arguments)).block();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.mcp_server.custom;
+
+import com.example.mcp_server.custom.ToolRateLimiter.Limit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.util.json.JsonParser;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolRateLimitFilterTests {
+
+    static class SampleTools {
+
+        @Tool(description = "Public information")
+        public Mono<String> branches() {
+            return Mono.just("Dubai Mall");
+        }
+
+        @Tool(description = "Moves money")
+        public Mono<String> transfer(String customerId) {
+            return Mono.just("done");
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ToolRateLimiter rateLimiter = new ToolRateLimiter(Duration.ofMinutes(1));
+
+    private final Map<String, AsyncToolSpecification> tools = ReactiveToolSpecifications.builder()
+            .toolObjects(new SampleTools())
+            .scheduler(Schedulers.immediate())
+            .filters(List.of(new ToolMetricsFilter(registry), new ToolRateLimitFilter(rateLimiter,
+                    tool -> tool.equals("transfer") ? new Limit(2, Duration.ofHours(1), 3) : null)))
+            .build()
+            .stream()
+            .collect(Collectors.toMap(tool -> tool.tool().name(), tool -> tool));
+
+    @Test
+    void eachCustomerGetsItsOwnBurstThenARetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(transfer("Aman").isError()).isNotEqualTo(true);
+        }
+        CallToolResult rejected = transfer("Aman");
+        assertThat(rejected.isError()).isTrue();
+        Map<String, Object> body = JsonParser.fromJson(((TextContent) rejected.content().get(0)).text(), Map.class);
+        assertThat(body).containsEntry("status", ToolMetricsFilter.STATUS_RATE_LIMITED);
+        // Two per hour: the next token is about half an hour away
+        assertThat(((Number) body.get("retryAfterSeconds")).longValue()).isBetween(1790L, 1800L);
+        assertThat(((Number) rejected.meta().get(ToolRateLimitFilter.RETRY_AFTER_MILLIS)).longValue())
+                .isBetween(TimeUnit.MINUTES.toMillis(29), TimeUnit.MINUTES.toMillis(30));
+
+        assertThat(transfer("Sarah").isError()).isNotEqualTo(true);
+        for (int i = 0; i < 10; i++) {
+            assertThat(tools.get("branches").callHandler().apply(null, new CallToolRequest("branches", Map.of())).block()
+                    .isError()).isNotEqualTo(true);
+        }
+        assertThat(registry.get(ToolMetricsFilter.CALLS).tags("tool", "transfer", "status", ToolMetricsFilter.STATUS_RATE_LIMITED)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws InterruptedException {
+        Limit limit = new Limit(1, Duration.ofHours(1), 100);
+        AtomicInteger admitted = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (rateLimiter.tryAcquire("transfer", "Aman", limit) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(admitted).hasValue(100);
+    }
+
+    @Test
+    void refilledBucketsAreEvicted() throws InterruptedException {
+        Limit limit = new Limit(1000, Duration.ofSeconds(1), 1);
+        assertThat(rateLimiter.tryAcquire("transfer", "Aman", limit)).isZero();
+        assertThat(rateLimiter.tryAcquire("transfer", "Sarah", new Limit(1, Duration.ofHours(1), 1))).isZero();
+        Thread.sleep(10);
+
+        assertThat(rateLimiter.evictIdle()).isEqualTo(1);
+        assertThat(rateLimiter.size()).isEqualTo(1);
+        // An evicted caller starts again with a full bucket
+        assertThat(rateLimiter.tryAcquire("transfer", "Aman", limit)).isZero();
+    }
+
+    private CallToolResult transfer(String customerId) {
+        return tools.get("transfer").callHandler()
+                .apply(null, new CallToolRequest("transfer", Map.of("customerId", customerId)))
+                .block();
+    }
+}